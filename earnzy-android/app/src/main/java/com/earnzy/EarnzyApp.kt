@@ -0,0 +1,7 @@
+package com.earnzy
+
+import android.app.Application
+import dagger.hilt.android.HiltAndroidApp
+
+@HiltAndroidApp
+class EarnzyApp : Application()
@@ -0,0 +1,22 @@
+package com.earnzy.api
+
+import okhttp3.Interceptor
+import okhttp3.Response
+import javax.inject.Inject
+
+class AuthInterceptor @Inject constructor(
+    private val tokenStore: TokenStore
+) : Interceptor {
+
+    override fun intercept(chain: Interceptor.Chain): Response {
+        val requestBuilder = chain.request().newBuilder()
+
+        val token = tokenStore.current
+        if (token.isNotEmpty()) {
+            requestBuilder.header("Authorization", "Bearer $token")
+        }
+
+        requestBuilder.header("Content-Type", "application/json")
+        return chain.proceed(requestBuilder.build())
+    }
+}
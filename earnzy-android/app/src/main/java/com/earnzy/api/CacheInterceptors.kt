@@ -0,0 +1,83 @@
+package com.earnzy.api
+
+import okhttp3.CacheControl
+import okhttp3.Interceptor
+import okhttp3.Response
+import java.io.IOException
+import java.util.concurrent.TimeUnit
+
+/**
+ * Network interceptor that sets how long a GET response may be served from the
+ * disk cache, per endpoint path. It overrides whatever the server sent. The
+ * ETag / Last-Modified validators are kept, so OkHttp revalidates expired entries
+ * with a conditional request instead of downloading the body again.
+ */
+class CachePolicyInterceptor(
+    private val maxAgeSeconds: Map<String, Int>
+) : Interceptor {
+
+    override fun intercept(chain: Interceptor.Chain): Response {
+        val request = chain.request()
+        val response = chain.proceed(request)
+        if (request.method != "GET" || !response.isSuccessful) return response
+
+        val maxAge = maxAgeSeconds[request.url.encodedPath.trimStart('/')] ?: return response
+        return response.newBuilder()
+            .removeHeader("Pragma")
+            .header("Cache-Control", "private, max-age=$maxAge")
+            .build()
+    }
+}
+
+/**
+ * Serves a cached copy of a GET, however stale, when the network fails or the
+ * server answers 5xx, so lists stay readable offline.
+ */
+class StaleIfErrorInterceptor(
+    private val maxStaleDays: Int
+) : Interceptor {
+
+    override fun intercept(chain: Interceptor.Chain): Response {
+        val request = chain.request()
+        if (request.method != "GET") return chain.proceed(request)
+
+        val response = try {
+            chain.proceed(request)
+        } catch (e: IOException) {
+            return fromCache(chain) ?: throw e
+        }
+        if (response.code < 500) return response
+
+        // OkHttp refuses a second proceed() while this response is open, so keep
+        // a copy of the error body for the case where nothing is cached
+        val errorBody = response.peekBody(MAX_ERROR_BODY_BYTES)
+        response.close()
+        return fromCache(chain) ?: response.newBuilder().body(errorBody).build()
+    }
+
+    private companion object {
+        const val MAX_ERROR_BODY_BYTES = 64L * 1024
+    }
+
+    private fun fromCache(chain: Interceptor.Chain): Response? {
+        val cacheOnly = chain.request().newBuilder()
+            .cacheControl(
+                CacheControl.Builder()
+                    .onlyIfCached()
+                    .maxStale(maxStaleDays, TimeUnit.DAYS)
+                    .build()
+            )
+            .build()
+        val response = try {
+            chain.proceed(cacheOnly)
+        } catch (e: IOException) {
+            return null
+        }
+        // 504 is OkHttp's "not in cache" answer to only-if-cached
+        if (response.code == 504) {
+            response.close()
+            return null
+        }
+        return response
+    }
+}
@@ -0,0 +1,30 @@
+package com.earnzy.api
+
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * The session's bearer token. OkHttp threads read it while the UI writes it,
+ * so it lives in a StateFlow: every read sees the latest write, and screens
+ * can collect [token] to react to sign-in and sign-out.
+ */
+@Singleton
+class TokenStore @Inject constructor() {
+
+    private val _token = MutableStateFlow("")
+    val token: StateFlow<String> = _token.asStateFlow()
+
+    val current: String
+        get() = _token.value
+
+    fun set(token: String) {
+        _token.value = token
+    }
+
+    fun clear() {
+        _token.value = ""
+    }
+}
@@ -0,0 +1,78 @@
+package com.earnzy.data
+
+import com.earnzy.api.EarnzyApiService
+import kotlinx.coroutines.async
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.supervisorScope
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import javax.inject.Inject
+import javax.inject.Singleton
+
+// Holds the last dashboard data for the whole process, so screens coming back
+// into composition show it straight away and only refetch when it is stale.
+@Singleton
+class DashboardRepository @Inject constructor(private val api: EarnzyApiService) {
+
+    private val _user = MutableStateFlow<User?>(null)
+    val user: StateFlow<User?> = _user.asStateFlow()
+
+    private val _balance = MutableStateFlow<BalanceResponse?>(null)
+    val balance: StateFlow<BalanceResponse?> = _balance.asStateFlow()
+
+    private val _tasks = MutableStateFlow<List<Task>>(emptyList())
+    val tasks: StateFlow<List<Task>> = _tasks.asStateFlow()
+
+    private val _offers = MutableStateFlow<List<Offer>>(emptyList())
+    val offers: StateFlow<List<Offer>> = _offers.asStateFlow()
+
+    private val refreshLock = Mutex()
+    private var loadedAt = 0L
+
+    val hasData: Boolean
+        get() = _user.value != null || _balance.value != null
+
+    /**
+     * Loads user, balance, tasks and offers in parallel. A call made while a
+     * refresh is running waits for it instead of starting another.
+     * Returns false only if every request failed.
+     */
+    suspend fun refresh(force: Boolean = false): Boolean = refreshLock.withLock {
+        if (!force && hasData && System.currentTimeMillis() - loadedAt < MAX_AGE_MS) {
+            return@withLock true
+        }
+
+        // One failing endpoint should not cancel the others
+        supervisorScope {
+            val user = async { api.getUser() }
+            val balance = async { api.getBalance() }
+            val tasks = async { api.getTasks() }
+            val offers = async { api.getOffers() }
+
+            val results = listOf(
+                runCatching { _user.value = user.await() },
+                runCatching { _balance.value = balance.await() },
+                runCatching { _tasks.value = tasks.await().tasks },
+                runCatching { _offers.value = offers.await().offers }
+            )
+            val anySucceeded = results.any { it.isSuccess }
+            if (anySucceeded) loadedAt = System.currentTimeMillis()
+            anySucceeded
+        }
+    }
+
+    /** Forgets the signed-in user's data */
+    suspend fun clear() = refreshLock.withLock {
+        _user.value = null
+        _balance.value = null
+        _tasks.value = emptyList()
+        _offers.value = emptyList()
+        loadedAt = 0L
+    }
+
+    companion object {
+        private const val MAX_AGE_MS = 60_000L
+    }
+}
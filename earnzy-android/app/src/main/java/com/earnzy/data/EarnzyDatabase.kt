@@ -0,0 +1,78 @@
+package com.earnzy.data
+
+import androidx.paging.PagingSource
+import androidx.room.Dao
+import androidx.room.Database
+import androidx.room.Entity
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.PrimaryKey
+import androidx.room.Query
+import androidx.room.RoomDatabase
+
+// Cursor to resume a paged list from; null once the server has sent the last page
+@Entity(tableName = "remote_keys")
+data class RemoteKey(
+    @PrimaryKey val list: String,
+    val nextCursor: String?
+)
+
+@Dao
+interface RemoteKeyDao {
+    @Query("SELECT * FROM remote_keys WHERE list = :list")
+    suspend fun get(list: String): RemoteKey?
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun put(key: RemoteKey)
+
+    @Query("DELETE FROM remote_keys")
+    suspend fun clear()
+}
+
+@Dao
+interface TransactionDao {
+    @Query("SELECT * FROM coin_transactions ORDER BY createdAt DESC, id DESC")
+    fun pagingSource(): PagingSource<Int, Transaction>
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertAll(items: List<Transaction>)
+
+    @Query("DELETE FROM coin_transactions")
+    suspend fun clear()
+}
+
+@Dao
+interface RedemptionDao {
+    @Query("SELECT * FROM redemptions ORDER BY requestedAt DESC, id DESC")
+    fun pagingSource(): PagingSource<Int, RedemptionRequest>
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertAll(items: List<RedemptionRequest>)
+
+    @Query("DELETE FROM redemptions")
+    suspend fun clear()
+}
+
+@Dao
+interface ReferralDao {
+    @Query("SELECT * FROM referrals ORDER BY referredAt DESC, uid DESC")
+    fun pagingSource(): PagingSource<Int, ReferralItem>
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertAll(items: List<ReferralItem>)
+
+    @Query("DELETE FROM referrals")
+    suspend fun clear()
+}
+
+@Database(
+    entities = [Transaction::class, RedemptionRequest::class, ReferralItem::class, RemoteKey::class],
+    version = 1,
+    exportSchema = false
+)
+abstract class EarnzyDatabase : RoomDatabase() {
+    abstract fun remoteKeyDao(): RemoteKeyDao
+    abstract fun transactionDao(): TransactionDao
+    abstract fun redemptionDao(): RedemptionDao
+    abstract fun referralDao(): ReferralDao
+}
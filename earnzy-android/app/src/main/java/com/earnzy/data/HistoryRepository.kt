@@ -0,0 +1,134 @@
+package com.earnzy.data
+
+import androidx.paging.ExperimentalPagingApi
+import androidx.paging.LoadType
+import androidx.paging.Pager
+import androidx.paging.PagingConfig
+import androidx.paging.PagingData
+import androidx.paging.PagingSource
+import androidx.paging.PagingState
+import androidx.paging.RemoteMediator
+import androidx.room.withTransaction
+import com.earnzy.api.EarnzyApiService
+import com.squareup.moshi.JsonDataException
+import kotlinx.coroutines.flow.Flow
+import retrofit2.HttpException
+import java.io.IOException
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Coin history, withdrawals and referrals, paged from the local database.
+ * Pages are fetched from the cursor endpoints as the user scrolls, so long
+ * histories are never downloaded in one response.
+ */
+@Singleton
+class HistoryRepository @Inject constructor(
+    private val api: EarnzyApiService,
+    private val db: EarnzyDatabase
+) {
+
+    fun coinHistory(): Flow<PagingData<Transaction>> = pager(
+        CursorRemoteMediator(
+            db, "coin_transactions",
+            fetch = { cursor, limit ->
+                api.getCoinHistory(cursor, limit).let { it.transactions to it.nextCursor }
+            },
+            clear = { db.transactionDao().clear() },
+            insert = { db.transactionDao().insertAll(it) }
+        )
+    ) { db.transactionDao().pagingSource() }
+
+    fun redemptions(): Flow<PagingData<RedemptionRequest>> = pager(
+        CursorRemoteMediator(
+            db, "redemptions",
+            fetch = { cursor, limit ->
+                api.getRedemptionHistory(cursor, limit).let { it.redemptions to it.nextCursor }
+            },
+            clear = { db.redemptionDao().clear() },
+            insert = { db.redemptionDao().insertAll(it) }
+        )
+    ) { db.redemptionDao().pagingSource() }
+
+    fun referrals(): Flow<PagingData<ReferralItem>> = pager(
+        CursorRemoteMediator(
+            db, "referrals",
+            fetch = { cursor, limit ->
+                api.getReferrals(cursor, limit).let { it.referrals to it.nextCursor }
+            },
+            clear = { db.referralDao().clear() },
+            insert = { db.referralDao().insertAll(it) }
+        )
+    ) { db.referralDao().pagingSource() }
+
+    /** Drops every cached page; call on logout so the next account starts empty */
+    suspend fun clear() {
+        db.withTransaction {
+            db.transactionDao().clear()
+            db.redemptionDao().clear()
+            db.referralDao().clear()
+            db.remoteKeyDao().clear()
+        }
+    }
+
+    @OptIn(ExperimentalPagingApi::class)
+    private fun <T : Any> pager(
+        mediator: RemoteMediator<Int, T>,
+        source: () -> PagingSource<Int, T>
+    ): Flow<PagingData<T>> = Pager(
+        config = PagingConfig(pageSize = PAGE_SIZE, prefetchDistance = PAGE_SIZE / 2, enablePlaceholders = false),
+        remoteMediator = mediator,
+        pagingSourceFactory = source
+    ).flow
+
+    companion object {
+        private const val PAGE_SIZE = 30
+    }
+}
+
+/**
+ * Fills one table from a cursor endpoint. A refresh replaces the table with the
+ * first page; appends follow the cursor saved in [RemoteKey] until it runs out.
+ */
+@OptIn(ExperimentalPagingApi::class)
+private class CursorRemoteMediator<T : Any>(
+    private val db: EarnzyDatabase,
+    private val list: String,
+    private val fetch: suspend (cursor: String?, limit: Int) -> Pair<List<T>, String?>,
+    private val clear: suspend () -> Unit,
+    private val insert: suspend (List<T>) -> Unit
+) : RemoteMediator<Int, T>() {
+
+    // Show what is on disk first and refresh behind it
+    override suspend fun initialize(): InitializeAction = InitializeAction.LAUNCH_INITIAL_REFRESH
+
+    override suspend fun load(loadType: LoadType, state: PagingState<Int, T>): MediatorResult {
+        val cursor = when (loadType) {
+            LoadType.REFRESH -> null
+            // Newest items come with a refresh; nothing sits above the first page
+            LoadType.PREPEND -> return MediatorResult.Success(endOfPaginationReached = true)
+            LoadType.APPEND -> {
+                val key = db.remoteKeyDao().get(list)
+                    ?: return MediatorResult.Success(endOfPaginationReached = false)
+                key.nextCursor ?: return MediatorResult.Success(endOfPaginationReached = true)
+            }
+        }
+
+        return try {
+            val (items, nextCursor) = fetch(cursor, state.config.pageSize)
+            db.withTransaction {
+                if (loadType == LoadType.REFRESH) clear()
+                insert(items)
+                db.remoteKeyDao().put(RemoteKey(list, nextCursor))
+            }
+            MediatorResult.Success(endOfPaginationReached = nextCursor == null)
+        } catch (e: IOException) {
+            MediatorResult.Error(e)
+        } catch (e: HttpException) {
+            MediatorResult.Error(e)
+        } catch (e: JsonDataException) {
+            // A page that does not match the model; not an IOException, so caught on its own
+            MediatorResult.Error(e)
+        }
+    }
+}
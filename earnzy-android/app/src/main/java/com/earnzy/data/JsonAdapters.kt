@@ -0,0 +1,68 @@
+package com.earnzy.data
+
+import com.squareup.moshi.JsonAdapter
+import com.squareup.moshi.JsonReader
+import com.squareup.moshi.JsonWriter
+import com.squareup.moshi.Moshi
+import com.squareup.moshi.Types
+import kotlinx.collections.immutable.ImmutableList
+import kotlinx.collections.immutable.ImmutableMap
+import kotlinx.collections.immutable.toImmutableList
+import kotlinx.collections.immutable.toImmutableMap
+import java.lang.reflect.ParameterizedType
+import java.lang.reflect.Type
+
+/**
+ * JSON setup for the API. Every model in this package is annotated with
+ * @JsonClass(generateAdapter = true), so kapt generates a streaming adapter for
+ * it at build time: no reflection, and the Kotlin defaults apply to missing
+ * fields. Numbers sent as 12.0 still read into Int fields. Collections in the
+ * models are ImmutableList/ImmutableMap, which Compose treats as stable.
+ */
+object JsonAdapters {
+
+    val moshi: Moshi = Moshi.Builder()
+        .add(Void::class.java, NothingAdapter)
+        .add(ImmutableCollectionsFactory)
+        .build()
+
+    // ApiResponse<Nothing> asks for an adapter for java.lang.Void; there is never a value to read
+    private object NothingAdapter : JsonAdapter<Void>() {
+        override fun fromJson(reader: JsonReader): Void? {
+            reader.skipValue()
+            return null
+        }
+
+        override fun toJson(writer: JsonWriter, value: Void?) {
+            writer.nullValue()
+        }
+    }
+
+    // Reads an ImmutableList/ImmutableMap through Moshi's own List/Map adapter and freezes the result
+    private object ImmutableCollectionsFactory : JsonAdapter.Factory {
+        override fun create(type: Type, annotations: Set<Annotation>, moshi: Moshi): JsonAdapter<*>? {
+            if (annotations.isNotEmpty() || type !is ParameterizedType) return null
+            val args = type.actualTypeArguments
+            return when (type.rawType) {
+                ImmutableList::class.java -> Frozen(
+                    moshi.adapter<List<Any?>>(Types.newParameterizedType(List::class.java, *args))
+                ) { it.toImmutableList() }
+                ImmutableMap::class.java -> Frozen(
+                    moshi.adapter<Map<Any?, Any?>>(Types.newParameterizedType(Map::class.java, *args))
+                ) { it.toImmutableMap() }
+                else -> null
+            }
+        }
+    }
+
+    private class Frozen<T : Any, F : T>(
+        private val delegate: JsonAdapter<T>,
+        private val freeze: (T) -> F
+    ) : JsonAdapter<F>() {
+        override fun fromJson(reader: JsonReader): F? = delegate.fromJson(reader)?.let(freeze)
+
+        override fun toJson(writer: JsonWriter, value: F?) {
+            delegate.toJson(writer, value)
+        }
+    }
+}
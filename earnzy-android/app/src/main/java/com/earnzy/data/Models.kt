@@ -96,11 +96,3 @@ data class AuthResponse(
     val token: String,
     val user: User
 )
-
-data class OfferWallResponse(
-    val offers: Map<String, List<Offer>>
-)
-
-data class PromoCodesResponse(
-    val promoCodes: List<PromoCode>
-)
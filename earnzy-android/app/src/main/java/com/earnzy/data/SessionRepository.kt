@@ -0,0 +1,50 @@
+package com.earnzy.data
+
+import com.earnzy.api.EarnzyApiService
+import com.earnzy.api.TokenStore
+import com.earnzy.di.IoDispatcher
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.withContext
+import okhttp3.Cache
+import java.io.IOException
+import javax.inject.Inject
+import javax.inject.Singleton
+
+@Singleton
+class SessionRepository @Inject constructor(
+    private val api: EarnzyApiService,
+    private val tokenStore: TokenStore,
+    private val httpCache: Cache,
+    private val dashboard: DashboardRepository,
+    private val history: HistoryRepository,
+    @IoDispatcher private val io: CoroutineDispatcher
+) {
+
+    /**
+     * Signs out on the server, then drops the token and everything cached for
+     * this user so the next account starts clean. The local cleanup runs even
+     * when the server call fails; that error is rethrown afterwards.
+     */
+    suspend fun logout() {
+        try {
+            // Needs the token, so it goes first
+            api.logout()
+        } finally {
+            // Must finish even if the caller was cancelled mid-request
+            withContext(NonCancellable) {
+                tokenStore.clear()
+                dashboard.clear()
+                history.clear()
+                withContext(io) {
+                    try {
+                        // Cached lists carry per-user state such as claimed offers
+                        httpCache.evictAll()
+                    } catch (e: IOException) {
+                        // Entries that could not be deleted expire on their own
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,8 +1,17 @@
 package com.earnzy.data
 
-import com.google.gson.annotations.SerializedName
+import androidx.compose.runtime.Immutable
+import androidx.room.Entity
+import androidx.room.PrimaryKey
+import com.squareup.moshi.JsonClass
+import kotlinx.collections.immutable.ImmutableList
+import kotlinx.collections.immutable.ImmutableMap
+import kotlinx.collections.immutable.persistentListOf
+import kotlinx.collections.immutable.persistentMapOf
 
 // User
+@Immutable
+@JsonClass(generateAdapter = true)
 data class User(
     val uid: String,
     val email: String,
@@ -13,6 +22,8 @@ data class User(
 )
 
 // Task
+@Immutable
+@JsonClass(generateAdapter = true)
 data class Task(
     val id: String,
     val title: String,
@@ -25,6 +36,8 @@ data class Task(
 )
 
 // Offer
+@Immutable
+@JsonClass(generateAdapter = true)
 data class Offer(
     val id: String,
     val title: String,
@@ -37,6 +50,8 @@ data class Offer(
 )
 
 // Promo Code
+@Immutable
+@JsonClass(generateAdapter = true)
 data class PromoCode(
     val id: String,
     val code: String,
@@ -48,43 +63,57 @@ data class PromoCode(
 )
 
 // Referral
+@Immutable
+@JsonClass(generateAdapter = true)
 data class ReferralCode(
     val code: String,
     val deeplink: String,
     val shareUrl: String
 )
 
+@Immutable
+@JsonClass(generateAdapter = true)
 data class ReferralStats(
     val totalReferrals: Int,
     val earnedCoins: Int,
     val activeReferrals: Int,
-    val referrals: List<ReferralItem> = emptyList()
+    val referrals: ImmutableList<ReferralItem> = persistentListOf()
 )
 
+@Immutable
+@Entity(tableName = "referrals")
+@JsonClass(generateAdapter = true)
 data class ReferralItem(
-    val uid: String,
+    @PrimaryKey val uid: String,
     val email: String? = null,
     val bonusCoins: Int = 50,
     val referredAt: String
 )
 
 // Reward/Redemption
+@Immutable
+@JsonClass(generateAdapter = true)
 data class Reward(
     val id: String,
     val name: String,
     val icon: String,
     val minCoins: Int,
-    val rewards: List<RewardItem>
+    val rewards: ImmutableList<RewardItem>
 )
 
+@Immutable
+@JsonClass(generateAdapter = true)
 data class RewardItem(
     val amount: Int? = null,
     val name: String? = null,
     val coins: Int
 )
 
+@Immutable
+@Entity(tableName = "redemptions")
+@JsonClass(generateAdapter = true)
 data class RedemptionRequest(
-    val id: String,
+    @PrimaryKey val id: String,
     val rewardId: String,
     val amount: Int,
     val status: String, // pending, completed, failed
@@ -93,8 +122,11 @@ data class RedemptionRequest(
 )
 
 // Coin History
+@Immutable
+@Entity(tableName = "coin_transactions")
+@JsonClass(generateAdapter = true)
 data class Transaction(
-    val id: String,
+    @PrimaryKey val id: String,
     val type: String, // earn, spend, bonus, referral
     val amount: Int,
     val description: String,
@@ -102,6 +134,7 @@ data class Transaction(
 )
 
 // API Responses
+@JsonClass(generateAdapter = true)
 data class ApiResponse<T>(
     val success: Boolean? = null,
     val data: T? = null,
@@ -109,27 +142,74 @@ data class ApiResponse<T>(
     val message: String? = null
 )
 
+@JsonClass(generateAdapter = true)
 data class AuthResponse(
     val token: String,
     val user: User
 )
 
+@Immutable
+@JsonClass(generateAdapter = true)
 data class BalanceResponse(
     val coins: Int,
     val level: Int,
     val nextLevelCoins: Int
 )
 
+@JsonClass(generateAdapter = true)
 data class TasksResponse(
-    val tasks: List<Task>,
+    val tasks: ImmutableList<Task>,
     val meta: Meta? = null
 )
 
+@JsonClass(generateAdapter = true)
 data class OffersResponse(
-    val offers: List<Offer>,
+    val offers: ImmutableList<Offer>,
     val meta: Meta? = null
 )
 
+@Immutable
+@JsonClass(generateAdapter = true)
+data class OfferWallResponse(
+    val wall: ImmutableMap<String, ImmutableList<Offer>> = persistentMapOf()
+)
+
+@Immutable
+@JsonClass(generateAdapter = true)
+data class PromoCodesResponse(
+    val promoCodes: ImmutableList<PromoCode> = persistentListOf()
+)
+
+@Immutable
+@JsonClass(generateAdapter = true)
+data class RewardsResponse(
+    val rewards: ImmutableList<Reward> = persistentListOf()
+)
+
+@Immutable
+@JsonClass(generateAdapter = true)
+data class RedemptionHistoryResponse(
+    val redemptions: ImmutableList<RedemptionRequest> = persistentListOf(),
+    val nextCursor: String? = null
+)
+
+@Immutable
+@JsonClass(generateAdapter = true)
+data class ReferralListResponse(
+    val referrals: ImmutableList<ReferralItem> = persistentListOf(),
+    val nextCursor: String? = null
+)
+
+@Immutable
+@JsonClass(generateAdapter = true)
+data class CoinHistoryResponse(
+    val transactions: ImmutableList<Transaction> = persistentListOf(),
+    val total: Int = 0,
+    val nextCursor: String? = null
+)
+
+@Immutable
+@JsonClass(generateAdapter = true)
 data class Meta(
     val total: Int? = null,
     val page: Int? = null
@@ -0,0 +1,35 @@
+package com.earnzy.di
+
+import android.content.Context
+import androidx.room.Room
+import com.earnzy.data.EarnzyDatabase
+import dagger.Module
+import dagger.Provides
+import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
+import dagger.hilt.components.SingletonComponent
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Dispatchers
+import javax.inject.Qualifier
+import javax.inject.Singleton
+
+@Qualifier
+@Retention(AnnotationRetention.BINARY)
+annotation class IoDispatcher
+
+@Module
+@InstallIn(SingletonComponent::class)
+object DataModule {
+
+    @Provides
+    @Singleton
+    fun provideDatabase(@ApplicationContext context: Context): EarnzyDatabase =
+        Room.databaseBuilder(context, EarnzyDatabase::class.java, "earnzy.db")
+            // Only holds server data that can be fetched again
+            .fallbackToDestructiveMigration()
+            .build()
+
+    @Provides
+    @IoDispatcher
+    fun provideIoDispatcher(): CoroutineDispatcher = Dispatchers.IO
+}
@@ -0,0 +1,70 @@
+package com.earnzy.di
+
+import android.content.Context
+import com.earnzy.api.AuthInterceptor
+import com.earnzy.api.CachePolicyInterceptor
+import com.earnzy.api.EarnzyApiService
+import com.earnzy.api.StaleIfErrorInterceptor
+import com.earnzy.data.JsonAdapters
+import dagger.Module
+import dagger.Provides
+import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
+import dagger.hilt.components.SingletonComponent
+import okhttp3.Cache
+import okhttp3.OkHttpClient
+import retrofit2.Retrofit
+import retrofit2.converter.moshi.MoshiConverterFactory
+import java.io.File
+import java.util.concurrent.TimeUnit
+import javax.inject.Singleton
+
+@Module
+@InstallIn(SingletonComponent::class)
+object NetworkModule {
+    private const val BASE_URL = "https://api.earnzy.com/"
+    private const val CACHE_SIZE_BYTES = 10L * 1024 * 1024
+    private const val MAX_STALE_DAYS = 7
+
+    // Seconds a cached GET is served without asking the server again.
+    // Anything not listed here is never cached.
+    private val CACHE_MAX_AGE = mapOf(
+        "tasks" to 60,
+        "offers" to 120,
+        "offers/wall/list" to 120,
+        "promos" to 300,
+        "rewards" to 600
+    )
+
+    @Provides
+    @Singleton
+    fun provideHttpCache(@ApplicationContext context: Context): Cache =
+        Cache(File(context.cacheDir, "http"), CACHE_SIZE_BYTES)
+
+    @Provides
+    @Singleton
+    fun provideOkHttpClient(cache: Cache, authInterceptor: AuthInterceptor): OkHttpClient =
+        OkHttpClient.Builder()
+            .cache(cache)
+            .connectTimeout(30, TimeUnit.SECONDS)
+            .readTimeout(30, TimeUnit.SECONDS)
+            .writeTimeout(30, TimeUnit.SECONDS)
+            .addInterceptor(authInterceptor)
+            .addInterceptor(StaleIfErrorInterceptor(MAX_STALE_DAYS))
+            .addNetworkInterceptor(CachePolicyInterceptor(CACHE_MAX_AGE))
+            .build()
+
+    @Provides
+    @Singleton
+    fun provideRetrofit(client: OkHttpClient): Retrofit =
+        Retrofit.Builder()
+            .baseUrl(BASE_URL)
+            .client(client)
+            .addConverterFactory(MoshiConverterFactory.create(JsonAdapters.moshi))
+            .build()
+
+    @Provides
+    @Singleton
+    fun provideApiService(retrofit: Retrofit): EarnzyApiService =
+        retrofit.create(EarnzyApiService::class.java)
+}
@@ -0,0 +1,34 @@
+package com.earnzy.di
+
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.remember
+import androidx.compose.ui.platform.LocalContext
+import com.earnzy.api.EarnzyApiService
+import com.earnzy.data.SessionRepository
+import dagger.hilt.EntryPoint
+import dagger.hilt.InstallIn
+import dagger.hilt.android.EntryPointAccessors
+import dagger.hilt.components.SingletonComponent
+
+/**
+ * Singletons for composables that have no ViewModel of their own yet.
+ * Screens with a ViewModel should take these through its constructor instead.
+ */
+@EntryPoint
+@InstallIn(SingletonComponent::class)
+interface ScreenEntryPoint {
+    fun api(): EarnzyApiService
+    fun session(): SessionRepository
+}
+
+@Composable
+private fun rememberScreenEntryPoint(): ScreenEntryPoint {
+    val context = LocalContext.current.applicationContext
+    return remember(context) { EntryPointAccessors.fromApplication(context, ScreenEntryPoint::class.java) }
+}
+
+@Composable
+fun rememberApi(): EarnzyApiService = rememberScreenEntryPoint().api()
+
+@Composable
+fun rememberSession(): SessionRepository = rememberScreenEntryPoint().session()
@@ -2,23 +2,27 @@ package com.earnzy.ui.adapters
 
 import android.view.LayoutInflater
 import android.view.ViewGroup
+import androidx.paging.PagingDataAdapter
+import androidx.recyclerview.widget.DiffUtil
 import androidx.recyclerview.widget.RecyclerView
+import com.earnzy.data.Transaction
 import com.earnzy.databinding.ItemTransactionBinding
-import com.earnzy.ui.fragments.Transaction
+import com.earnzy.utils.formatCurrency
+import com.earnzy.utils.formatDate
 
-class TransactionAdapter(
-    private var transactions: List<Transaction>
-) : RecyclerView.Adapter<TransactionAdapter.TransactionViewHolder>() {
+class TransactionAdapter :
+    PagingDataAdapter<Transaction, TransactionAdapter.TransactionViewHolder>(DIFF) {
 
     inner class TransactionViewHolder(private val binding: ItemTransactionBinding) :
         RecyclerView.ViewHolder(binding.root) {
         fun bind(transaction: Transaction) {
             binding.apply {
-                transactionTitle.text = transaction.title
-                transactionDate.text = transaction.date
-                transactionAmount.text = "${if (transaction.type == "credit") "+" else "-"}₹${transaction.amount}"
-                
-                if (transaction.type == "debit") {
+                val isDebit = transaction.type == "spend"
+                transactionTitle.text = transaction.description
+                transactionDate.text = transaction.createdAt.formatDate()
+                transactionAmount.text = (if (isDebit) "-" else "+") + transaction.amount.formatCurrency()
+
+                if (isDebit) {
                     transactionAmount.setTextColor(android.graphics.Color.parseColor("#FF6B6B"))
                 } else {
                     transactionAmount.setTextColor(android.graphics.Color.parseColor("#6C5CE7"))
@@ -33,13 +37,13 @@ class TransactionAdapter(
     }
 
     override fun onBindViewHolder(holder: TransactionViewHolder, position: Int) {
-        holder.bind(transactions[position])
+        getItem(position)?.let { holder.bind(it) }
     }
 
-    override fun getItemCount() = transactions.size
-
-    fun updateTransactions(newTransactions: List<Transaction>) {
-        this.transactions = newTransactions
-        notifyDataSetChanged()
+    companion object {
+        private val DIFF = object : DiffUtil.ItemCallback<Transaction>() {
+            override fun areItemsTheSame(oldItem: Transaction, newItem: Transaction) = oldItem.id == newItem.id
+            override fun areContentsTheSame(oldItem: Transaction, newItem: Transaction) = oldItem == newItem
+        }
     }
 }
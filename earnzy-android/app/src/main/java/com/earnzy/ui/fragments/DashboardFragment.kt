@@ -5,15 +5,22 @@ import android.view.LayoutInflater
 import android.view.View
 import android.view.ViewGroup
 import android.view.animation.AnimationUtils
+import androidx.fragment.app.activityViewModels
+import androidx.lifecycle.Lifecycle
 import androidx.lifecycle.lifecycleScope
+import androidx.lifecycle.repeatOnLifecycle
 import com.earnzy.R
-import com.earnzy.api.ApiClient
 import com.earnzy.databinding.FragmentDashboardImprovedBinding
+import com.earnzy.ui.viewmodels.DashboardViewModel
+import dagger.hilt.android.AndroidEntryPoint
 import kotlinx.coroutines.launch
 
+@AndroidEntryPoint
 class DashboardFragment : BaseFragment() {
     private var _binding: FragmentDashboardImprovedBinding? = null
     private val binding get() = _binding!!
+    // Activity-scoped so switching tabs keeps the loaded state
+    private val viewModel: DashboardViewModel by activityViewModels()
 
     override fun onCreateView(
         inflater: LayoutInflater,
@@ -26,24 +33,26 @@ class DashboardFragment : BaseFragment() {
 
     override fun onViewCreated(view: View, savedInstanceState: Bundle?) {
         super.onViewCreated(view, savedInstanceState)
-        showShimmer(true)
+        // No request when the shared data is still fresh
+        viewModel.refresh()
         loadUserData()
         setupClickListeners()
     }
 
     private fun loadUserData() {
         viewLifecycleOwner.lifecycleScope.launch {
-            try {
-                val user = ApiClient.api.getUser()
-                val balance = ApiClient.api.getBalance()
-
-                binding.coinsText.text = "${balance.coins} Coins"
-                updateProgressBar(balance.coins, balance.nextLevelCoins)
-
-                showShimmer(false)
-            } catch (e: Exception) {
-                showShimmer(false)
-                showError("Failed to load data: ${e.message}")
+            viewLifecycleOwner.repeatOnLifecycle(Lifecycle.State.STARTED) {
+                viewModel.uiState.collect { state ->
+                    state.balance?.let { balance ->
+                        binding.coinsText.text = "${balance.coins} Coins"
+                        updateProgressBar(balance.coins, balance.nextLevelCoins)
+                    }
+                    showShimmer(state.loading)
+                    state.error?.let {
+                        showError(it)
+                        viewModel.errorShown()
+                    }
+                }
             }
         }
     }
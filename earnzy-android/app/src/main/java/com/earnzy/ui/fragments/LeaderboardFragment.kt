@@ -8,12 +8,13 @@ import android.view.animation.AnimationUtils
 import androidx.lifecycle.lifecycleScope
 import androidx.recyclerview.widget.LinearLayoutManager
 import com.earnzy.R
-import com.earnzy.api.ApiClient
 import com.earnzy.databinding.FragmentLeaderboardBinding
 import com.earnzy.ui.adapters.LeaderboardAdapter
 import com.earnzy.ui.adapters.LeaderboardEntry
+import dagger.hilt.android.AndroidEntryPoint
 import kotlinx.coroutines.launch
 
+@AndroidEntryPoint
 class LeaderboardFragment : BaseFragment() {
     private var _binding: FragmentLeaderboardBinding? = null
     private val binding get() = _binding!!
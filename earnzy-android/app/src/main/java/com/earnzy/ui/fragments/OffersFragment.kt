@@ -8,16 +8,22 @@ import android.view.animation.AnimationUtils
 import androidx.gridlayout.widget.GridLayout
 import androidx.lifecycle.lifecycleScope
 import com.earnzy.R
-import com.earnzy.api.ApiClient
+import com.earnzy.api.EarnzyApiService
 import com.earnzy.data.Offer
 import com.earnzy.databinding.FragmentOffersBinding
 import com.earnzy.databinding.ItemOfferBinding
+import dagger.hilt.android.AndroidEntryPoint
+import javax.inject.Inject
 import kotlinx.coroutines.launch
 
+@AndroidEntryPoint
 class OffersFragment : BaseFragment() {
     private var _binding: FragmentOffersBinding? = null
     private val binding get() = _binding!!
 
+    @Inject
+    lateinit var api: EarnzyApiService
+
     override fun onCreateView(
         inflater: LayoutInflater,
         container: ViewGroup?,
@@ -36,7 +42,7 @@ class OffersFragment : BaseFragment() {
     private fun loadOffers() {
         viewLifecycleOwner.lifecycleScope.launch {
             try {
-                val wall = ApiClient.api.getOfferWall()
+                val wall = api.getOfferWall().wall
                 displayOffers(wall)
                 showShimmer(false)
             } catch (e: Exception) {
@@ -84,7 +90,7 @@ class OffersFragment : BaseFragment() {
     private fun claimOffer(offer: Offer) {
         viewLifecycleOwner.lifecycleScope.launch {
             try {
-                ApiClient.api.claimOffer(offer.id)
+                api.claimOffer(offer.id)
                 showSuccess("Offer claimed successfully!")
                 loadOffers()
             } catch (e: Exception) {
@@ -7,14 +7,25 @@ import android.view.ViewGroup
 import android.view.animation.AnimationUtils
 import androidx.lifecycle.lifecycleScope
 import com.earnzy.R
-import com.earnzy.api.ApiClient
+import com.earnzy.api.EarnzyApiService
+import com.earnzy.data.SessionRepository
 import com.earnzy.databinding.FragmentProfileBinding
+import dagger.hilt.android.AndroidEntryPoint
+import javax.inject.Inject
+import kotlinx.coroutines.CancellationException
 import kotlinx.coroutines.launch
 
+@AndroidEntryPoint
 class ProfileFragment : BaseFragment() {
     private var _binding: FragmentProfileBinding? = null
     private val binding get() = _binding!!
 
+    @Inject
+    lateinit var api: EarnzyApiService
+
+    @Inject
+    lateinit var session: SessionRepository
+
     override fun onCreateView(
         inflater: LayoutInflater,
         container: ViewGroup?,
@@ -34,7 +45,7 @@ class ProfileFragment : BaseFragment() {
     private fun loadUserProfile() {
         viewLifecycleOwner.lifecycleScope.launch {
             try {
-                val user = ApiClient.api.getUser()
+                val user = api.getUser()
                 binding.userEmail.text = user.email
                 binding.totalEarned.text = user.totalEarned.toString()
                 
@@ -62,12 +73,13 @@ class ProfileFragment : BaseFragment() {
     private fun logout() {
         viewLifecycleOwner.lifecycleScope.launch {
             try {
-                ApiClient.api.logout()
-                ApiClient.clearToken()
-                showSuccess("Logged out successfully")
+                session.logout()
+            } catch (e: CancellationException) {
+                throw e
             } catch (e: Exception) {
-                showError("Logout failed: ${e.message}")
+                // Local state is already cleared; the server session expires on its own
             }
+            showSuccess("Logged out successfully")
         }
     }
 
@@ -7,16 +7,22 @@ import android.view.ViewGroup
 import android.view.animation.AnimationUtils
 import androidx.lifecycle.lifecycleScope
 import com.earnzy.R
-import com.earnzy.api.ApiClient
+import com.earnzy.api.EarnzyApiService
 import com.earnzy.data.PromoCode
 import com.earnzy.databinding.FragmentPromoBinding
 import com.earnzy.databinding.ItemPromoBinding
+import dagger.hilt.android.AndroidEntryPoint
+import javax.inject.Inject
 import kotlinx.coroutines.launch
 
+@AndroidEntryPoint
 class PromoFragment : BaseFragment() {
     private var _binding: FragmentPromoBinding? = null
     private val binding get() = _binding!!
 
+    @Inject
+    lateinit var api: EarnzyApiService
+
     override fun onCreateView(
         inflater: LayoutInflater,
         container: ViewGroup?,
@@ -47,8 +53,7 @@ class PromoFragment : BaseFragment() {
     private fun loadPromoCodes() {
         viewLifecycleOwner.lifecycleScope.launch {
             try {
-                val response = ApiClient.api.getPromoCodes()
-                displayPromoCodes(response["promoCodes"] as? List<PromoCode> ?: emptyList())
+                displayPromoCodes(api.getPromoCodes().promoCodes)
                 showShimmer(false)
             } catch (e: Exception) {
                 showShimmer(false)
@@ -71,7 +76,7 @@ class PromoFragment : BaseFragment() {
     private fun redeemPromo(code: String) {
         viewLifecycleOwner.lifecycleScope.launch {
             try {
-                val result = ApiClient.api.redeemPromo(mapOf("code" to code))
+                val result = api.redeemPromo(mapOf("code" to code))
                 showSuccess("Promo redeemed! Check result")
                 binding.promoInput?.text = null
                 loadPromoCodes()
@@ -8,14 +8,20 @@ import android.view.ViewGroup
 import android.view.animation.AnimationUtils
 import androidx.lifecycle.lifecycleScope
 import com.earnzy.R
-import com.earnzy.api.ApiClient
+import com.earnzy.api.EarnzyApiService
 import com.earnzy.databinding.FragmentReferralBinding
+import dagger.hilt.android.AndroidEntryPoint
+import javax.inject.Inject
 import kotlinx.coroutines.launch
 
+@AndroidEntryPoint
 class ReferralFragment : BaseFragment() {
     private var _binding: FragmentReferralBinding? = null
     private val binding get() = _binding!!
 
+    @Inject
+    lateinit var api: EarnzyApiService
+
     override fun onCreateView(
         inflater: LayoutInflater,
         container: ViewGroup?,
@@ -35,8 +41,8 @@ class ReferralFragment : BaseFragment() {
     private fun loadReferralData() {
         viewLifecycleOwner.lifecycleScope.launch {
             try {
-                val code = ApiClient.api.getReferralCode()
-                val stats = ApiClient.api.getReferralStats()
+                val code = api.getReferralCode()
+                val stats = api.getReferralStats()
                 
                 binding.referralCode.text = code.code
                 binding.totalReferrals.text = stats.totalReferrals.toString()
@@ -8,15 +8,22 @@ import android.view.animation.AnimationUtils
 import androidx.lifecycle.lifecycleScope
 import androidx.recyclerview.widget.LinearLayoutManager
 import com.earnzy.R
-import com.earnzy.api.ApiClient
+import com.earnzy.api.EarnzyApiService
 import com.earnzy.data.Task
 import com.earnzy.databinding.FragmentTasksBinding
 import com.earnzy.ui.adapters.TaskAdapter
+import dagger.hilt.android.AndroidEntryPoint
+import javax.inject.Inject
 import kotlinx.coroutines.launch
 
+@AndroidEntryPoint
 class TasksFragment : BaseFragment() {
     private var _binding: FragmentTasksBinding? = null
     private val binding get() = _binding!!
+
+    @Inject
+    lateinit var api: EarnzyApiService
+
     private lateinit var taskAdapter: TaskAdapter
 
     override fun onCreateView(
@@ -49,7 +56,7 @@ class TasksFragment : BaseFragment() {
     private fun loadTasks() {
         viewLifecycleOwner.lifecycleScope.launch {
             try {
-                val response = ApiClient.api.getTasks()
+                val response = api.getTasks()
                 taskAdapter.updateTasks(response.tasks)
                 showShimmer(false)
             } catch (e: Exception) {
@@ -62,7 +69,7 @@ class TasksFragment : BaseFragment() {
     private fun completeTask(task: Task) {
         viewLifecycleOwner.lifecycleScope.launch {
             try {
-                ApiClient.api.completeTask(task.id, mapOf("reward" to task.reward))
+                api.completeTask(task.id, mapOf("reward" to task.reward))
                 showSuccess("Task completed! +${task.reward} coins")
                 loadTasks()
             } catch (e: Exception) {
@@ -5,26 +5,31 @@ import android.view.LayoutInflater
 import android.view.View
 import android.view.ViewGroup
 import android.view.animation.AnimationUtils
+import androidx.fragment.app.activityViewModels
+import androidx.lifecycle.Lifecycle
 import androidx.lifecycle.lifecycleScope
+import androidx.lifecycle.repeatOnLifecycle
 import androidx.recyclerview.widget.LinearLayoutManager
 import com.earnzy.R
-import com.earnzy.api.ApiClient
+import com.earnzy.api.EarnzyApiService
 import com.earnzy.databinding.FragmentWalletBinding
 import com.earnzy.ui.adapters.TransactionAdapter
+import com.earnzy.ui.viewmodels.HistoryViewModel
+import dagger.hilt.android.AndroidEntryPoint
+import javax.inject.Inject
+import kotlinx.coroutines.flow.collectLatest
 import kotlinx.coroutines.launch
 
-data class Transaction(
-    val id: String,
-    val title: String,
-    val amount: Double,
-    val date: String,
-    val type: String
-)
-
+@AndroidEntryPoint
 class WalletFragment : BaseFragment() {
     private var _binding: FragmentWalletBinding? = null
     private val binding get() = _binding!!
+
+    @Inject
+    lateinit var api: EarnzyApiService
+
     private lateinit var transactionAdapter: TransactionAdapter
+    private val historyViewModel: HistoryViewModel by activityViewModels()
 
     override fun onCreateView(
         inflater: LayoutInflater,
@@ -40,11 +45,12 @@ class WalletFragment : BaseFragment() {
         setupRecyclerView()
         showShimmer(true)
         loadWalletData()
+        loadTransactions()
         setupClickListeners()
     }
 
     private fun setupRecyclerView() {
-        transactionAdapter = TransactionAdapter(emptyList())
+        transactionAdapter = TransactionAdapter()
         binding.transactionRecyclerView.apply {
             layoutManager = LinearLayoutManager(context)
             adapter = transactionAdapter
@@ -55,25 +61,13 @@ class WalletFragment : BaseFragment() {
     private fun loadWalletData() {
         viewLifecycleOwner.lifecycleScope.launch {
             try {
-                val balance = ApiClient.api.getBalance()
-                val transactions = ApiClient.api.getTransactions()
+                val balance = api.getBalance()
 
                 binding.balanceText.text = "₹${balance.coins}"
                 binding.totalEarned.text = "₹${balance.totalEarned}"
                 binding.totalWithdrawn.text = "₹${balance.totalWithdrawn}"
                 binding.totalPending.text = "₹${balance.pendingWithdrawal}"
 
-                val txnList = transactions.map {
-                    Transaction(
-                        id = it.id,
-                        title = it.title,
-                        amount = it.amount.toDouble(),
-                        date = it.date,
-                        type = it.type
-                    )
-                }
-                transactionAdapter.updateTransactions(txnList)
-
                 showShimmer(false)
             } catch (e: Exception) {
                 showShimmer(false)
@@ -82,6 +76,14 @@ class WalletFragment : BaseFragment() {
         }
     }
 
+    private fun loadTransactions() {
+        viewLifecycleOwner.lifecycleScope.launch {
+            viewLifecycleOwner.repeatOnLifecycle(Lifecycle.State.STARTED) {
+                historyViewModel.coinHistory.collectLatest { transactionAdapter.submitData(it) }
+            }
+        }
+    }
+
     private fun setupClickListeners() {
         binding.withdrawButton.setOnClickListener {
             initiateWithdrawal()
@@ -17,31 +17,20 @@ import androidx.compose.ui.graphics.Color
 import androidx.compose.ui.graphics.graphicsLayer
 import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.unit.dp
-import com.earnzy.api.ApiClient
+import androidx.hilt.navigation.compose.hiltViewModel
 import com.earnzy.data.BalanceResponse
-import com.earnzy.data.User
-import kotlinx.coroutines.launch
+import com.earnzy.ui.viewmodels.DashboardViewModel
 
 @Composable
-fun DashboardScreen(modifier: Modifier = Modifier) {
-    val scope = rememberCoroutineScope()
-    var user by remember { mutableStateOf<User?>(null) }
-    var balance by remember { mutableStateOf<BalanceResponse?>(null) }
-    var loading by remember { mutableStateOf(true) }
-
-    LaunchedEffect(Unit) {
-        scope.launch {
-            try {
-                user = ApiClient.api.getUser()
-                balance = ApiClient.api.getBalance()
-                loading = false
-            } catch (e: Exception) {
-                loading = false
-            }
-        }
-    }
+fun DashboardScreen(
+    modifier: Modifier = Modifier,
+    viewModel: DashboardViewModel = hiltViewModel()
+) {
+    val state by viewModel.uiState.collectAsState()
+    val user = state.user
+    val balance = state.balance
 
-    if (loading) {
+    if (state.loading) {
         Box(modifier = Modifier.fillMaxSize(), contentAlignment = Alignment.Center) {
             CircularProgressIndicator()
         }
@@ -54,7 +43,7 @@ fun DashboardScreen(modifier: Modifier = Modifier) {
             .padding(16.dp),
         verticalArrangement = Arrangement.spacedBy(16.dp)
     ) {
-        item {
+        item(key = "header") {
             // Header
             user?.let {
                 Row(
@@ -91,12 +80,12 @@ fun DashboardScreen(modifier: Modifier = Modifier) {
             }
         }
 
-        item {
+        item(key = "coins") {
             // Coins Card (Animated)
             AnimatedCoinsCard(balance)
         }
 
-        item {
+        item(key = "stats") {
             // Quick Stats
             Row(
                 modifier = Modifier.fillMaxWidth(),
@@ -111,7 +100,7 @@ fun DashboardScreen(modifier: Modifier = Modifier) {
                 StatBox(
                     icon = Icons.Default.TaskAlt,
                     label = "Completed",
-                    value = "12",
+                    value = "${state.completedTasks}",
                     modifier = Modifier.weight(1f)
                 )
                 StatBox(
@@ -123,7 +112,7 @@ fun DashboardScreen(modifier: Modifier = Modifier) {
             }
         }
 
-        item {
+        item(key = "actions-title") {
             Text(
                 "Quick Actions",
                 style = MaterialTheme.typography.titleMedium,
@@ -131,7 +120,7 @@ fun DashboardScreen(modifier: Modifier = Modifier) {
             )
         }
 
-        item {
+        item(key = "actions-1", contentType = "action-row") {
             Row(
                 modifier = Modifier.fillMaxWidth(),
                 horizontalArrangement = Arrangement.spacedBy(12.dp)
@@ -151,7 +140,7 @@ fun DashboardScreen(modifier: Modifier = Modifier) {
             }
         }
 
-        item {
+        item(key = "actions-2", contentType = "action-row") {
             Row(
                 modifier = Modifier.fillMaxWidth(),
                 horizontalArrangement = Arrangement.spacedBy(12.dp)
@@ -3,7 +3,7 @@ package com.earnzy.ui.screens
 import androidx.compose.foundation.background
 import androidx.compose.foundation.layout.*
 import androidx.compose.foundation.lazy.LazyColumn
-import androidx.compose.foundation.lazy.itemsIndexed
+import androidx.compose.foundation.lazy.items
 import androidx.compose.foundation.shape.RoundedCornerShape
 import androidx.compose.material.icons.Icons
 import androidx.compose.material.icons.filled.EmojiEvents
@@ -14,9 +14,12 @@ import androidx.compose.ui.Modifier
 import androidx.compose.ui.graphics.Color
 import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.unit.dp
-import com.earnzy.api.ApiClient
+import com.earnzy.di.rememberApi
+import kotlinx.collections.immutable.ImmutableList
+import kotlinx.collections.immutable.persistentListOf
 import kotlinx.coroutines.launch
 
+@Immutable
 data class LeaderboardEntry(
     val rank: Int,
     val name: String,
@@ -26,15 +29,17 @@ data class LeaderboardEntry(
 
 @Composable
 fun LeaderboardScreen(modifier: Modifier = Modifier) {
+    val api = rememberApi()
     val scope = rememberCoroutineScope()
-    var leaderboard by remember { mutableStateOf<List<LeaderboardEntry>>(emptyList()) }
+    var leaderboard by remember { mutableStateOf<ImmutableList<LeaderboardEntry>>(persistentListOf()) }
     var loading by remember { mutableStateOf(true) }
+    val rankings = remember(leaderboard) { leaderboard.subList(minOf(3, leaderboard.size), leaderboard.size) }
 
     LaunchedEffect(Unit) {
         scope.launch {
             try {
-                val data = ApiClient.api.getBalance() // Placeholder - would fetch real leaderboard
-                leaderboard = listOf(
+                val data = api.getBalance() // Placeholder - would fetch real leaderboard
+                leaderboard = persistentListOf(
                     LeaderboardEntry(1, "Player 1", 50000, 50),
                     LeaderboardEntry(2, "Player 2", 45000, 48),
                     LeaderboardEntry(3, "Player 3", 40000, 45),
@@ -54,7 +59,7 @@ fun LeaderboardScreen(modifier: Modifier = Modifier) {
             .padding(16.dp),
         verticalArrangement = Arrangement.spacedBy(12.dp)
     ) {
-        item {
+        item(key = "podium") {
             // Top 3 Podium
             Row(
                 modifier = Modifier
@@ -74,7 +79,7 @@ fun LeaderboardScreen(modifier: Modifier = Modifier) {
             }
         }
 
-        item {
+        item(key = "rankings-title") {
             Text(
                 "Global Rankings",
                 style = MaterialTheme.typography.titleMedium,
@@ -82,7 +87,7 @@ fun LeaderboardScreen(modifier: Modifier = Modifier) {
             )
         }
 
-        itemsIndexed(leaderboard.drop(3)) { index, entry ->
+        items(rankings, key = { it.rank }, contentType = { "entry" }) { entry ->
             LeaderboardCard(entry)
         }
     }
@@ -15,23 +15,27 @@ import androidx.compose.ui.draw.clip
 import androidx.compose.ui.layout.ContentScale
 import androidx.compose.ui.unit.dp
 import coil.compose.AsyncImage
-import com.earnzy.api.ApiClient
 import com.earnzy.data.Offer
+import com.earnzy.di.rememberApi
+import kotlinx.collections.immutable.ImmutableList
+import kotlinx.collections.immutable.ImmutableMap
+import kotlinx.collections.immutable.persistentMapOf
 import kotlinx.coroutines.launch
 
 @Composable
 fun OfferwallScreen(
     modifier: Modifier = Modifier
 ) {
+    val api = rememberApi()
     val scope = rememberCoroutineScope()
-    var wall by remember { mutableStateOf<Map<String, List<Offer>>>(emptyMap()) }
+    var wall by remember { mutableStateOf<ImmutableMap<String, ImmutableList<Offer>>>(persistentMapOf()) }
     var loading by remember { mutableStateOf(true) }
     var error by remember { mutableStateOf<String?>(null) }
 
     LaunchedEffect(Unit) {
         scope.launch {
             try {
-                wall = ApiClient.api.getOfferWall()
+                wall = api.getOfferWall().wall
                 loading = false
             } catch (e: Exception) {
                 error = e.message
@@ -64,7 +68,7 @@ fun OfferwallScreen(
             verticalArrangement = Arrangement.spacedBy(12.dp)
         ) {
             wall.forEach { (category, offers) ->
-                item {
+                item(key = "category:$category", contentType = "category") {
                     Text(
                         category,
                         style = MaterialTheme.typography.titleSmall,
@@ -72,7 +76,7 @@ fun OfferwallScreen(
                     )
                 }
                 
-                items(offers) { offer ->
+                items(offers, key = { "offer:${it.id}" }, contentType = { "offer" }) { offer ->
                     OfferCard(offer)
                 }
             }
@@ -82,6 +86,7 @@ fun OfferwallScreen(
 
 @Composable
 fun OfferCard(offer: Offer) {
+    val api = rememberApi()
     val scope = rememberCoroutineScope()
     var claiming by remember { mutableStateOf(false) }
     var claimed by remember { mutableStateOf(offer.claimedAt != null) }
@@ -137,7 +142,7 @@ fun OfferCard(offer: Offer) {
                             scope.launch {
                                 claiming = true
                                 try {
-                                    ApiClient.api.claimOffer(offer.id)
+                                    api.claimOffer(offer.id)
                                     claimed = true
                                 } catch (e: Exception) {
                                     // Show error
@@ -1,5 +1,6 @@
 package com.earnzy.ui.screens
 
+import android.widget.Toast
 import androidx.compose.foundation.layout.*
 import androidx.compose.foundation.lazy.LazyColumn
 import androidx.compose.foundation.shape.RoundedCornerShape
@@ -9,22 +10,28 @@ import androidx.compose.material3.*
 import androidx.compose.runtime.*
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
+import androidx.compose.ui.platform.LocalContext
 import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.unit.dp
-import com.earnzy.api.ApiClient
 import com.earnzy.data.User
+import com.earnzy.di.rememberApi
+import com.earnzy.di.rememberSession
+import kotlinx.coroutines.CancellationException
 import kotlinx.coroutines.launch
 
 @Composable
 fun ProfileScreen(modifier: Modifier = Modifier) {
+    val api = rememberApi()
+    val session = rememberSession()
     val scope = rememberCoroutineScope()
+    val context = LocalContext.current
     var user by remember { mutableStateOf<User?>(null) }
     var loading by remember { mutableStateOf(true) }
 
     LaunchedEffect(Unit) {
         scope.launch {
             try {
-                user = ApiClient.api.getUser()
+                user = api.getUser()
                 loading = false
             } catch (e: Exception) {
                 loading = false
@@ -148,8 +155,14 @@ fun ProfileScreen(modifier: Modifier = Modifier) {
             Button(
                 onClick = {
                     scope.launch {
-                        ApiClient.api.logout()
-                        ApiClient.clearToken()
+                        try {
+                            session.logout()
+                        } catch (e: CancellationException) {
+                            throw e
+                        } catch (e: Exception) {
+                            // Local state is already cleared; the server session expires on its own
+                        }
+                        Toast.makeText(context, "Logged out successfully", Toast.LENGTH_SHORT).show()
                     }
                 },
                 modifier = Modifier
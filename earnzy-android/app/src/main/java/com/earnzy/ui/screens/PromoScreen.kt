@@ -11,16 +11,19 @@ import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.unit.dp
-import com.earnzy.api.ApiClient
 import com.earnzy.data.PromoCode
+import com.earnzy.di.rememberApi
+import kotlinx.collections.immutable.ImmutableList
+import kotlinx.collections.immutable.persistentListOf
 import kotlinx.coroutines.launch
 
 @Composable
 fun PromoScreen(
     modifier: Modifier = Modifier
 ) {
+    val api = rememberApi()
     val scope = rememberCoroutineScope()
-    var promoCodes by remember { mutableStateOf<List<PromoCode>>(emptyList()) }
+    var promoCodes by remember { mutableStateOf<ImmutableList<PromoCode>>(persistentListOf()) }
     var loading by remember { mutableStateOf(true) }
     var error by remember { mutableStateOf<String?>(null) }
     var showRedeemDialog by remember { mutableStateOf(false) }
@@ -29,8 +32,7 @@ fun PromoScreen(
     LaunchedEffect(Unit) {
         scope.launch {
             try {
-                val response = ApiClient.api.getPromoCodes()
-                promoCodes = response["promoCodes"] as? List<PromoCode> ?: emptyList()
+                promoCodes = api.getPromoCodes().promoCodes
                 loading = false
             } catch (e: Exception) {
                 error = e.message
@@ -79,7 +81,7 @@ fun PromoScreen(
                 onConfirm = {
                     scope.launch {
                         try {
-                            ApiClient.api.redeemPromo(mapOf("code" to selectedCode))
+                            api.redeemPromo(mapOf("code" to selectedCode))
                             showRedeemDialog = false
                         } catch (e: Exception) {
                             // Show error
@@ -4,7 +4,6 @@ import android.content.Intent
 import androidx.compose.foundation.background
 import androidx.compose.foundation.layout.*
 import androidx.compose.foundation.lazy.LazyColumn
-import androidx.compose.foundation.lazy.items
 import androidx.compose.foundation.shape.RoundedCornerShape
 import androidx.compose.material.icons.Icons
 import androidx.compose.material.icons.filled.ContentCopy
@@ -16,25 +15,35 @@ import androidx.compose.ui.Modifier
 import androidx.compose.ui.platform.LocalContext
 import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.unit.dp
-import com.earnzy.api.ApiClient
+import androidx.hilt.navigation.compose.hiltViewModel
+import androidx.paging.compose.collectAsLazyPagingItems
+import androidx.paging.compose.itemContentType
+import androidx.paging.compose.itemKey
+import com.earnzy.data.ReferralItem
 import com.earnzy.data.ReferralStats
+import com.earnzy.di.rememberApi
+import com.earnzy.ui.viewmodels.HistoryViewModel
+import com.earnzy.utils.formatDate
 import kotlinx.coroutines.launch
 
 @Composable
 fun ReferralScreen(
-    modifier: Modifier = Modifier
+    modifier: Modifier = Modifier,
+    historyViewModel: HistoryViewModel = hiltViewModel()
 ) {
+    val api = rememberApi()
     val scope = rememberCoroutineScope()
     var stats by remember { mutableStateOf<ReferralStats?>(null) }
     var loading by remember { mutableStateOf(true) }
     var error by remember { mutableStateOf<String?>(null) }
     val context = LocalContext.current
+    val referrals = historyViewModel.referrals.collectAsLazyPagingItems()
 
     LaunchedEffect(Unit) {
         scope.launch {
             try {
-                val code = ApiClient.api.getReferralCode()
-                stats = ApiClient.api.getReferralStats().copy(
+                val code = api.getReferralCode()
+                stats = api.getReferralStats().copy(
                     // Add code info to stats
                 )
                 loading = false
@@ -161,8 +170,12 @@ fun ReferralScreen(
                 )
             }
 
-            items(stats!!.referrals) { referral ->
-                ReferralItemCard(referral)
+            items(
+                count = referrals.itemCount,
+                key = referrals.itemKey { it.uid },
+                contentType = referrals.itemContentType { "referral" }
+            ) { index ->
+                referrals[index]?.let { ReferralItemCard(it) }
             }
         }
     }
@@ -188,7 +201,7 @@ fun StatCard(label: String, value: String, modifier: Modifier = Modifier) {
 }
 
 @Composable
-fun ReferralItemCard(referral: Any) {
+fun ReferralItemCard(referral: ReferralItem) {
     Card(
         modifier = Modifier.fillMaxWidth(),
         shape = RoundedCornerShape(8.dp)
@@ -201,10 +214,10 @@ fun ReferralItemCard(referral: Any) {
             verticalAlignment = Alignment.CenterVertically
         ) {
             Column {
-                Text("User joined", style = MaterialTheme.typography.bodySmall)
-                Text("+50 Coins", style = MaterialTheme.typography.labelMedium, color = MaterialTheme.colorScheme.primary)
+                Text(referral.email ?: "User joined", style = MaterialTheme.typography.bodySmall)
+                Text("+${referral.bonusCoins} Coins", style = MaterialTheme.typography.labelMedium, color = MaterialTheme.colorScheme.primary)
             }
-            Text("2 days ago", style = MaterialTheme.typography.labelSmall)
+            Text(referral.referredAt.formatDate(), style = MaterialTheme.typography.labelSmall)
         }
     }
 }
@@ -12,26 +12,37 @@ import androidx.compose.runtime.*
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.unit.dp
-import com.earnzy.api.ApiClient
+import androidx.hilt.navigation.compose.hiltViewModel
+import androidx.paging.compose.collectAsLazyPagingItems
+import androidx.paging.compose.itemContentType
+import androidx.paging.compose.itemKey
+import com.earnzy.data.RedemptionRequest
 import com.earnzy.data.Reward
+import com.earnzy.di.rememberApi
+import com.earnzy.ui.viewmodels.HistoryViewModel
+import com.earnzy.utils.formatDate
+import kotlinx.collections.immutable.ImmutableList
+import kotlinx.collections.immutable.persistentListOf
 import kotlinx.coroutines.launch
 
 @Composable
 fun RewardsScreen(
-    modifier: Modifier = Modifier
+    modifier: Modifier = Modifier,
+    historyViewModel: HistoryViewModel = hiltViewModel()
 ) {
+    val api = rememberApi()
     val scope = rememberCoroutineScope()
-    var rewards by remember { mutableStateOf<List<Reward>>(emptyList()) }
+    var rewards by remember { mutableStateOf<ImmutableList<Reward>>(persistentListOf()) }
     var loading by remember { mutableStateOf(true) }
     var error by remember { mutableStateOf<String?>(null) }
     var showRedemptionDialog by remember { mutableStateOf(false) }
     var selectedReward by remember { mutableStateOf<Pair<Reward, Int>?>(null) }
+    val redemptions = historyViewModel.redemptions.collectAsLazyPagingItems()
 
     LaunchedEffect(Unit) {
         scope.launch {
             try {
-                val response = ApiClient.api.getRewards()
-                rewards = response.values.flatten()
+                rewards = api.getRewards().rewards
                 loading = false
             } catch (e: Exception) {
                 error = e.message
@@ -52,14 +63,14 @@ fun RewardsScreen(
                     .padding(16.dp),
                 verticalArrangement = Arrangement.spacedBy(16.dp)
             ) {
-                item {
+                item(key = "title") {
                     Text(
                         "Withdraw Your Coins",
                         style = MaterialTheme.typography.headlineSmall
                     )
                 }
 
-                items(rewards) { reward ->
+                items(rewards, key = { it.id }, contentType = { "reward" }) { reward ->
                     RewardCategoryCard(
                         reward = reward,
                         onSelectReward = { amount ->
@@ -68,6 +79,23 @@ fun RewardsScreen(
                         }
                     )
                 }
+
+                if (redemptions.itemCount > 0) {
+                    item(key = "history-title") {
+                        Text(
+                            "Recent Withdrawals",
+                            style = MaterialTheme.typography.titleMedium
+                        )
+                    }
+                }
+
+                items(
+                    count = redemptions.itemCount,
+                    key = redemptions.itemKey { "redemption:${it.id}" },
+                    contentType = redemptions.itemContentType { "redemption" }
+                ) { index ->
+                    redemptions[index]?.let { RedemptionHistoryRow(it) }
+                }
             }
         }
 
@@ -79,12 +107,13 @@ fun RewardsScreen(
                 onConfirm = {
                     scope.launch {
                         try {
-                            ApiClient.api.requestRedemption(mapOf(
+                            api.requestRedemption(mapOf(
                                 "rewardId" to selectedReward!!.first.id,
                                 "amount" to selectedReward!!.second,
                                 "upiId" to ""
                             ))
                             showRedemptionDialog = false
+                            redemptions.refresh()
                         } catch (e: Exception) {
                             // Show error
                         }
@@ -151,6 +180,32 @@ fun RewardOptionButton(label: String, coins: Int, onClick: () -> Unit) {
     }
 }
 
+@Composable
+fun RedemptionHistoryRow(redemption: RedemptionRequest) {
+    Card(
+        modifier = Modifier.fillMaxWidth(),
+        shape = RoundedCornerShape(8.dp)
+    ) {
+        Row(
+            modifier = Modifier
+                .fillMaxWidth()
+                .padding(12.dp),
+            horizontalArrangement = Arrangement.SpaceBetween,
+            verticalAlignment = Alignment.CenterVertically
+        ) {
+            Column {
+                Text("${redemption.amount} coins", style = MaterialTheme.typography.bodyMedium)
+                Text(redemption.requestedAt.formatDate(), style = MaterialTheme.typography.labelSmall)
+            }
+            Text(
+                redemption.status.replaceFirstChar { it.uppercase() },
+                style = MaterialTheme.typography.labelMedium,
+                color = if (redemption.status == "failed") MaterialTheme.colorScheme.error else MaterialTheme.colorScheme.primary
+            )
+        }
+    }
+}
+
 @Composable
 fun RedemptionDialog(reward: Reward, amount: Int, onDismiss: () -> Unit, onConfirm: () -> Unit) {
     AlertDialog(
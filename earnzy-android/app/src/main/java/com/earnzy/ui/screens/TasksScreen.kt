@@ -14,23 +14,26 @@ import androidx.compose.ui.draw.clip
 import androidx.compose.ui.layout.ContentScale
 import androidx.compose.ui.unit.dp
 import coil.compose.AsyncImage
-import com.earnzy.api.ApiClient
 import com.earnzy.data.Task
+import com.earnzy.di.rememberApi
+import kotlinx.collections.immutable.ImmutableList
+import kotlinx.collections.immutable.persistentListOf
 import kotlinx.coroutines.launch
 
 @Composable
 fun TasksScreen(
     modifier: Modifier = Modifier
 ) {
+    val api = rememberApi()
     val scope = rememberCoroutineScope()
-    var tasks by remember { mutableStateOf<List<Task>>(emptyList()) }
+    var tasks by remember { mutableStateOf<ImmutableList<Task>>(persistentListOf()) }
     var loading by remember { mutableStateOf(true) }
     var error by remember { mutableStateOf<String?>(null) }
 
     LaunchedEffect(Unit) {
         scope.launch {
             try {
-                val response = ApiClient.api.getTasks()
+                val response = api.getTasks()
                 tasks = response.tasks
                 loading = false
             } catch (e: Exception) {
@@ -61,7 +64,7 @@ fun TasksScreen(
                 .padding(horizontal = 16.dp, vertical = 12.dp),
             verticalArrangement = Arrangement.spacedBy(12.dp)
         ) {
-            item {
+            item(key = "title") {
                 Text(
                     "Daily Tasks",
                     style = MaterialTheme.typography.headlineSmall,
@@ -69,7 +72,7 @@ fun TasksScreen(
                 )
             }
 
-            items(tasks) { task ->
+            items(tasks, key = { it.id }, contentType = { "task" }) { task ->
                 TaskCard(task)
             }
         }
@@ -78,6 +81,7 @@ fun TasksScreen(
 
 @Composable
 fun TaskCard(task: Task) {
+    val api = rememberApi()
     val scope = rememberCoroutineScope()
     var completing by remember { mutableStateOf(false) }
     var completed by remember { mutableStateOf(task.completedAt != null) }
@@ -148,7 +152,7 @@ fun TaskCard(task: Task) {
                     scope.launch {
                         completing = true
                         try {
-                            ApiClient.api.completeTask(task.id, mapOf("reward" to task.reward))
+                            api.completeTask(task.id, mapOf("reward" to task.reward))
                             completed = true
                         } catch (e: Exception) {
                             // Show error
@@ -11,11 +11,12 @@ import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.unit.dp
-import com.earnzy.api.ApiClient
+import com.earnzy.di.rememberApi
 import kotlinx.coroutines.launch
 
 @Composable
 fun WithdrawScreen(modifier: Modifier = Modifier) {
+    val api = rememberApi()
     val scope = rememberCoroutineScope()
     var selectedMethod by remember { mutableStateOf<String?>(null) }
     var selectedAmount by remember { mutableStateOf(0) }
@@ -128,7 +129,7 @@ fun WithdrawScreen(modifier: Modifier = Modifier) {
             onConfirm = {
                 scope.launch {
                     try {
-                        ApiClient.api.requestRedemption(mapOf(
+                        api.requestRedemption(mapOf(
                             "rewardId" to (selectedMethod ?: ""),
                             "amount" to selectedAmount,
                             "upiId" to upiId
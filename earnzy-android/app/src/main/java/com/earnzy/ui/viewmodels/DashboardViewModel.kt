@@ -0,0 +1,76 @@
+package com.earnzy.ui.viewmodels
+
+import androidx.compose.runtime.Immutable
+import androidx.lifecycle.ViewModel
+import androidx.lifecycle.viewModelScope
+import com.earnzy.data.BalanceResponse
+import com.earnzy.data.DashboardRepository
+import com.earnzy.data.User
+import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.SharingStarted
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.combine
+import kotlinx.coroutines.flow.stateIn
+import kotlinx.coroutines.launch
+import javax.inject.Inject
+
+@Immutable
+data class DashboardUiState(
+    val loading: Boolean = true,
+    val user: User? = null,
+    val balance: BalanceResponse? = null,
+    val completedTasks: Int = 0,
+    val availableOffers: Int = 0,
+    val error: String? = null
+)
+
+@HiltViewModel
+class DashboardViewModel @Inject constructor(
+    private val repository: DashboardRepository
+) : ViewModel() {
+
+    private val loading = MutableStateFlow(!repository.hasData)
+    private val error = MutableStateFlow<String?>(null)
+
+    val uiState: StateFlow<DashboardUiState> = combine(
+        combine(repository.user, repository.balance, ::Pair),
+        combine(repository.tasks, repository.offers, ::Pair),
+        loading,
+        error
+    ) { (user, balance), (tasks, offers), loading, error ->
+        DashboardUiState(
+            loading = loading,
+            user = user,
+            balance = balance,
+            completedTasks = tasks.count { it.completedAt != null },
+            availableOffers = offers.count { it.isActive && it.claimedAt == null },
+            error = error
+        )
+    }.stateIn(
+        viewModelScope,
+        SharingStarted.WhileSubscribed(5_000),
+        DashboardUiState(
+            loading = !repository.hasData,
+            user = repository.user.value,
+            balance = repository.balance.value
+        )
+    )
+
+    init {
+        refresh()
+    }
+
+    fun refresh(force: Boolean = false) {
+        viewModelScope.launch {
+            val ok = repository.refresh(force)
+            error.value = if (ok) null else "Failed to load dashboard"
+            loading.value = false
+        }
+    }
+
+    /** Clears [DashboardUiState.error] once the UI has shown it, so it is not shown again */
+    fun errorShown() {
+        error.value = null
+    }
+}
@@ -0,0 +1,26 @@
+package com.earnzy.ui.viewmodels
+
+import androidx.lifecycle.ViewModel
+import androidx.lifecycle.viewModelScope
+import androidx.paging.PagingData
+import androidx.paging.cachedIn
+import com.earnzy.data.HistoryRepository
+import com.earnzy.data.RedemptionRequest
+import com.earnzy.data.ReferralItem
+import com.earnzy.data.Transaction
+import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.flow.Flow
+import javax.inject.Inject
+
+@HiltViewModel
+class HistoryViewModel @Inject constructor(
+    repository: HistoryRepository
+) : ViewModel() {
+
+    // cachedIn keeps loaded pages across configuration changes
+    val coinHistory: Flow<PagingData<Transaction>> = repository.coinHistory().cachedIn(viewModelScope)
+
+    val redemptions: Flow<PagingData<RedemptionRequest>> = repository.redemptions().cachedIn(viewModelScope)
+
+    val referrals: Flow<PagingData<ReferralItem>> = repository.referrals().cachedIn(viewModelScope)
+}
@@ -5,52 +5,24 @@ import android.content.SharedPreferences
 import android.view.View
 import androidx.fragment.app.Fragment
 import com.earnzy.R
-import java.text.NumberFormat
-import java.text.SimpleDateFormat
 import java.util.*
 
 // Number formatting extensions
-fun Int.formatCurrency(): String {
-    return "₹${NumberFormat.getInstance().format(this)}"
-}
+fun Int.formatCurrency(): String = Formatters.currency(this)
 
-fun Double.formatCurrency(): String {
-    return "₹${NumberFormat.getInstance().format(this.toInt())}"
-}
+fun Double.formatCurrency(): String = Formatters.currency(this.toInt())
 
-fun Int.formatCompact(): String {
-    return when {
-        this >= 1_000_000 -> "${this / 1_000_000}M"
-        this >= 1_000 -> "${this / 1_000}K"
-        else -> this.toString()
-    }
-}
+fun Int.formatCompact(): String = Formatters.compact(this)
 
 // Date formatting extensions
-fun Long.formatDate(): String {
-    val sdf = SimpleDateFormat("dd MMM yyyy", Locale.getDefault())
-    return sdf.format(Date(this))
-}
+fun Long.formatDate(): String = Formatters.date(this)
 
-fun Long.formatTime(): String {
-    val sdf = SimpleDateFormat("HH:mm", Locale.getDefault())
-    return sdf.format(Date(this))
-}
+fun Long.formatTime(): String = Formatters.time(this)
 
-fun Long.formatDateTime(): String {
-    val sdf = SimpleDateFormat("dd MMM, HH:mm", Locale.getDefault())
-    return sdf.format(Date(this))
-}
+fun Long.formatDateTime(): String = Formatters.dateTime(this)
 
 fun String.formatDate(fromPattern: String = "yyyy-MM-dd", toPattern: String = "dd MMM yyyy"): String {
-    return try {
-        val originalFormat = SimpleDateFormat(fromPattern, Locale.getDefault())
-        val targetFormat = SimpleDateFormat(toPattern, Locale.getDefault())
-        val date = originalFormat.parse(this)
-        targetFormat.format(date!!)
-    } catch (e: Exception) {
-        this
-    }
+    return Formatters.reformat(this, fromPattern, toPattern) ?: this
 }
 
 // View visibility extensions
@@ -0,0 +1,83 @@
+package com.earnzy.utils
+
+import java.text.NumberFormat
+import java.text.ParsePosition
+import java.time.Instant
+import java.time.ZoneId
+import java.time.format.DateTimeFormatter
+import java.util.Locale
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Formatters shared by the list bind paths, built once per locale and time
+ * zone instead of on every call. DateTimeFormatter is immutable and safe to
+ * share; NumberFormat is not, so each thread gets its own copy.
+ *
+ * The cache is checked against the default locale and zone on each call, so a
+ * change in system settings is picked up on the next bind without a receiver.
+ */
+object Formatters {
+
+    private const val CURRENCY_SYMBOL = '₹'
+
+    private class LocaleFormats(val locale: Locale, val zone: ZoneId) {
+        val date: DateTimeFormatter = DateTimeFormatter.ofPattern("dd MMM yyyy", locale).withZone(zone)
+        val time: DateTimeFormatter = DateTimeFormatter.ofPattern("HH:mm", locale).withZone(zone)
+        val dateTime: DateTimeFormatter = DateTimeFormatter.ofPattern("dd MMM, HH:mm", locale).withZone(zone)
+
+        val number: ThreadLocal<NumberFormat> = object : ThreadLocal<NumberFormat>() {
+            override fun initialValue(): NumberFormat = NumberFormat.getInstance(locale)
+        }
+
+        private val patterns = ConcurrentHashMap<String, DateTimeFormatter>()
+
+        fun pattern(pattern: String): DateTimeFormatter =
+            patterns.getOrPut(pattern) { DateTimeFormatter.ofPattern(pattern, locale) }
+    }
+
+    @Volatile
+    private var formats = LocaleFormats(Locale.getDefault(), ZoneId.systemDefault())
+
+    private fun current(): LocaleFormats {
+        val cached = formats
+        val locale = Locale.getDefault()
+        val zone = ZoneId.systemDefault()
+        if (cached.locale == locale && cached.zone == zone) return cached
+        return LocaleFormats(locale, zone).also { formats = it }
+    }
+
+    fun currency(amount: Int): String {
+        val number = current().number.get()!!.format(amount.toLong())
+        return StringBuilder(number.length + 1).append(CURRENCY_SYMBOL).append(number).toString()
+    }
+
+    fun date(epochMillis: Long): String = current().date.format(Instant.ofEpochMilli(epochMillis))
+
+    fun time(epochMillis: Long): String = current().time.format(Instant.ofEpochMilli(epochMillis))
+
+    fun dateTime(epochMillis: Long): String = current().dateTime.format(Instant.ofEpochMilli(epochMillis))
+
+    /**
+     * Reformats a date string between two patterns. Like the SimpleDateFormat
+     * version it replaces, trailing text after [fromPattern] is ignored, so an
+     * ISO timestamp can be read as "yyyy-MM-dd". Returns null if it does not parse.
+     */
+    fun reformat(text: String, fromPattern: String, toPattern: String): String? {
+        val formats = current()
+        return try {
+            val parsed = formats.pattern(fromPattern).parse(text, ParsePosition(0))
+            formats.pattern(toPattern).format(parsed)
+        } catch (e: RuntimeException) {
+            null
+        }
+    }
+
+    fun compact(value: Int): String = appendCompact(StringBuilder(8), value).toString()
+
+    /** Writes [value] as 12, 3K or 4M into [out]; lets a bind loop reuse one builder */
+    fun appendCompact(out: StringBuilder, value: Int): StringBuilder = when {
+        value >= 1_000_000 -> out.append(value / 1_000_000).append('M')
+        value >= 1_000 -> out.append(value / 1_000).append('K')
+        else -> out.append(value)
+    }
+}
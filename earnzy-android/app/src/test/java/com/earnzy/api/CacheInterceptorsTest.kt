@@ -0,0 +1,167 @@
+package com.earnzy.api
+
+import okhttp3.Cache
+import okhttp3.Call
+import okhttp3.EventListener
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+
+class CacheInterceptorsTest {
+
+    @get:Rule
+    val tempDir = TemporaryFolder()
+
+    private lateinit var server: MockWebServer
+    private lateinit var cache: Cache
+    private val bytes = ByteCounter()
+
+    private val body = "[" + (1..200).joinToString(",") { """{"id":"task-$it","reward":$it}""" } + "]"
+
+    @Before
+    fun setUp() {
+        server = MockWebServer()
+        server.start()
+        cache = Cache(tempDir.newFolder("http"), 1024 * 1024)
+    }
+
+    @After
+    fun tearDown() {
+        cache.close()
+        try {
+            server.shutdown()
+        } catch (_: Exception) {
+            // some tests shut the server down themselves
+        }
+    }
+
+    private fun client(maxAge: Int, withCache: Boolean = true): OkHttpClient =
+        OkHttpClient.Builder()
+            .apply { if (withCache) cache(cache) }
+            .eventListener(bytes)
+            .addInterceptor(StaleIfErrorInterceptor(maxStaleDays = 7))
+            .addNetworkInterceptor(CachePolicyInterceptor(mapOf("tasks" to maxAge)))
+            .build()
+
+    private fun get(client: OkHttpClient): Pair<Int, String> {
+        val request = Request.Builder().url(server.url("/tasks")).build()
+        return client.newCall(request).execute().use { it.code to it.body!!.string() }
+    }
+
+    @Test
+    fun freshHitWithinMaxAgeSkipsTheNetwork() {
+        repeat(5) { server.enqueue(MockResponse().setBody(body)) }
+
+        val uncached = client(maxAge = 60, withCache = false)
+        val uncachedStart = System.nanoTime()
+        repeat(5) { get(uncached) }
+        val uncachedMs = (System.nanoTime() - uncachedStart) / 1_000_000
+        val uncachedBytes = bytes.take()
+        assertEquals(5, server.requestCount)
+
+        server.enqueue(MockResponse().setBody(body))
+        val cached = client(maxAge = 60)
+        val cachedStart = System.nanoTime()
+        repeat(5) { assertEquals(body, get(cached).second) }
+        val cachedMs = (System.nanoTime() - cachedStart) / 1_000_000
+        val cachedBytes = bytes.take()
+
+        assertEquals(6, server.requestCount)
+        assertEquals(body.length.toLong(), cachedBytes)
+        println("5 GETs without cache: $uncachedBytes bytes, $uncachedMs ms; with cache: $cachedBytes bytes, $cachedMs ms")
+    }
+
+    @Test
+    fun expiredEntryIsRevalidatedWithETag() {
+        server.enqueue(MockResponse().setBody(body).setHeader("ETag", "\"v1\""))
+        server.enqueue(MockResponse().setResponseCode(304).setHeader("ETag", "\"v1\""))
+        val client = client(maxAge = 0)
+
+        get(client)
+        bytes.take()
+        val (code, text) = get(client)
+
+        server.takeRequest()
+        val conditional = server.takeRequest()
+        assertEquals("\"v1\"", conditional.getHeader("If-None-Match"))
+        assertEquals(200, code)
+        assertEquals(body, text)
+        assertEquals(0L, bytes.take())
+    }
+
+    @Test
+    fun expiredEntryIsRevalidatedWithLastModified() {
+        val lastModified = "Mon, 05 Oct 2026 10:00:00 GMT"
+        server.enqueue(MockResponse().setBody(body).setHeader("Last-Modified", lastModified))
+        server.enqueue(MockResponse().setResponseCode(304))
+        val client = client(maxAge = 0)
+
+        get(client)
+        val (_, text) = get(client)
+
+        server.takeRequest()
+        assertEquals(lastModified, server.takeRequest().getHeader("If-Modified-Since"))
+        assertEquals(body, text)
+    }
+
+    @Test
+    fun staleCopyIsServedWhenTheNetworkFails() {
+        server.enqueue(MockResponse().setBody(body))
+        val client = client(maxAge = 0)
+        get(client)
+
+        server.shutdown()
+        val (code, text) = get(client)
+
+        assertEquals(200, code)
+        assertEquals(body, text)
+    }
+
+    @Test
+    fun staleCopyIsServedOnServerError() {
+        server.enqueue(MockResponse().setBody(body))
+        server.enqueue(MockResponse().setResponseCode(503).setBody("unavailable"))
+        val client = client(maxAge = 0)
+        get(client)
+
+        val request = Request.Builder().url(server.url("/tasks")).build()
+        client.newCall(request).execute().use { response ->
+            assertEquals(200, response.code)
+            assertNotNull(response.cacheResponse)
+            assertNull(response.networkResponse)
+            assertEquals(body, response.body!!.string())
+        }
+    }
+
+    @Test
+    fun serverErrorPassesThroughWhenNothingIsCached() {
+        server.enqueue(MockResponse().setResponseCode(503).setBody("unavailable"))
+
+        val (code, text) = get(client(maxAge = 60))
+
+        assertEquals(503, code)
+        assertEquals("unavailable", text)
+    }
+
+    /** Response body bytes read from the network, summed across calls */
+    private class ByteCounter : EventListener() {
+        private var total = 0L
+
+        @Synchronized
+        override fun responseBodyEnd(call: Call, byteCount: Long) {
+            total += byteCount
+        }
+
+        @Synchronized
+        fun take(): Long = total.also { total = 0 }
+    }
+}
@@ -0,0 +1,98 @@
+package com.earnzy.data
+
+import com.google.gson.Gson
+import com.google.gson.GsonBuilder
+import com.google.gson.TypeAdapter
+import com.google.gson.TypeAdapterFactory
+import com.google.gson.reflect.TypeToken
+import com.google.gson.stream.JsonReader
+import com.google.gson.stream.JsonWriter
+import kotlinx.collections.immutable.ImmutableList
+import kotlinx.collections.immutable.toImmutableList
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import java.lang.management.ManagementFactory
+import java.lang.reflect.ParameterizedType
+
+/**
+ * Parse time and allocations for a 5k-offer OffersResponse: the generated Moshi
+ * adapters the app uses against reflective Gson, which the app used before.
+ * Run with ./gradlew :app:testDebugUnitTest --tests '*OfferParseBenchmark*' -i
+ * to see the numbers; only correctness is asserted, timings vary by machine.
+ */
+class OfferParseBenchmark {
+
+    private val payload = buildString {
+        append("{\"offers\":[")
+        for (i in 0 until OFFERS) {
+            if (i > 0) append(',')
+            append("{\"id\":\"offer-").append(i)
+                .append("\",\"title\":\"Install app ").append(i)
+                .append("\",\"description\":\"Install and open the app to earn coins\"")
+                .append(",\"category\":\"").append(CATEGORIES[i % CATEGORIES.size])
+                .append("\",\"reward\":").append(10 + i % 490)
+                .append(",\"imageUrl\":\"https://cdn.earnzy.com/offers/").append(i).append(".png\"")
+                .append(",\"isActive\":true")
+                .append(",\"claimedAt\":").append(if (i % 7 == 0) "\"2026-10-01T12:00:00Z\"" else "null")
+                .append('}')
+        }
+        append("],\"meta\":{\"total\":").append(OFFERS).append(",\"page\":1}}")
+    }
+
+    @Test
+    fun generatedAdaptersAgainstReflection() {
+        val moshiAdapter = JsonAdapters.moshi.adapter(OffersResponse::class.java)
+        val gson = GsonBuilder().registerTypeAdapterFactory(ImmutableListFactory).create()
+
+        val generated = measure { moshiAdapter.fromJson(payload)!! }
+        val reflective = measure { gson.fromJson(payload, OffersResponse::class.java) }
+
+        assertEquals(OFFERS, generated.result.offers.size)
+        assertEquals(reflective.result, generated.result)
+        println("${OFFERS} offers, ${payload.length / 1024} KiB, median of $ITERATIONS runs")
+        println("moshi codegen: ${generated.medianMs} ms, ${generated.allocatedKiB} KiB allocated")
+        println("gson reflect:  ${reflective.medianMs} ms, ${reflective.allocatedKiB} KiB allocated")
+    }
+
+    // Gson cannot build the models' ImmutableList fields itself; read an ArrayList and freeze it
+    private object ImmutableListFactory : TypeAdapterFactory {
+        override fun <T> create(gson: Gson, type: TypeToken<T>): TypeAdapter<T>? {
+            if (type.rawType != ImmutableList::class.java) return null
+            val element = (type.type as ParameterizedType).actualTypeArguments[0]
+            val list = gson.getAdapter(TypeToken.getParameterized(List::class.java, element))
+            @Suppress("UNCHECKED_CAST")
+            return object : TypeAdapter<Any?>() {
+                override fun read(reader: JsonReader): Any? = (list.read(reader) as List<*>?)?.toImmutableList()
+                override fun write(writer: JsonWriter, value: Any?) = (list as TypeAdapter<Any?>).write(writer, value)
+            } as TypeAdapter<T>
+        }
+    }
+
+    private class Result<T>(val result: T, val medianMs: Double, val allocatedKiB: Long)
+
+    private fun <T> measure(parse: () -> T): Result<T> {
+        var last: T = parse()
+        repeat(WARMUP) { last = parse() }
+
+        val threads = ManagementFactory.getThreadMXBean() as com.sun.management.ThreadMXBean
+        val threadId = Thread.currentThread().id
+        val times = DoubleArray(ITERATIONS)
+        var allocated = 0L
+        for (i in 0 until ITERATIONS) {
+            val bytesBefore = threads.getThreadAllocatedBytes(threadId)
+            val start = System.nanoTime()
+            last = parse()
+            times[i] = (System.nanoTime() - start) / 1_000_000.0
+            allocated += threads.getThreadAllocatedBytes(threadId) - bytesBefore
+        }
+        times.sort()
+        return Result(last, times[ITERATIONS / 2], allocated / ITERATIONS / 1024)
+    }
+
+    companion object {
+        private const val OFFERS = 5_000
+        private const val WARMUP = 10
+        private const val ITERATIONS = 20
+        private val CATEGORIES = listOf("apps", "games", "surveys", "shopping", "videos")
+    }
+}
@@ -0,0 +1,151 @@
+package com.earnzy.ui
+
+import androidx.compose.runtime.AbstractApplier
+import androidx.compose.runtime.BroadcastFrameClock
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.Composition
+import androidx.compose.runtime.Recomposer
+import androidx.compose.runtime.mutableIntStateOf
+import androidx.compose.runtime.mutableStateOf
+import androidx.compose.runtime.neverEqualPolicy
+import androidx.compose.runtime.snapshots.Snapshot
+import com.earnzy.data.Reward
+import com.earnzy.data.RewardItem
+import com.earnzy.data.RewardsResponse
+import kotlinx.collections.immutable.ImmutableList
+import kotlinx.collections.immutable.persistentListOf
+import kotlinx.collections.immutable.toPersistentList
+import kotlinx.coroutines.cancelAndJoin
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withContext
+import kotlinx.coroutines.yield
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * Counts how often list rows recompose when their parent does. An ImmutableList
+ * parameter is stable, so Compose skips the row while the list is equal; a
+ * plain List is not, so that row runs again on every parent recomposition.
+ * Runs on the bare Compose runtime with no UI nodes.
+ */
+class RecompositionCountTest {
+
+    private val response = RewardsResponse(
+        rewards = persistentListOf(
+            Reward("upi", "UPI", "upi", 100, persistentListOf(RewardItem(amount = 10, coins = 100))),
+            Reward("paytm", "Paytm", "paytm", 200, persistentListOf(RewardItem(amount = 20, coins = 200)))
+        )
+    )
+
+    @Before
+    fun setUp() {
+        immutableRows = 0
+        listRows = 0
+    }
+
+    @Test
+    fun immutableListRowsSkipWhenTheParentRecomposes() = composeTest { recompose ->
+        val tick = mutableIntStateOf(0)
+        val rewards = response.rewards
+
+        setContent {
+            tick.intValue // read so the parent recomposes on every tick
+            ImmutableRows(rewards)
+            ListRows(rewards)
+        }
+        assertEquals(1, immutableRows)
+        assertEquals(1, listRows)
+
+        repeat(PARENT_RECOMPOSITIONS) {
+            tick.intValue++
+            recompose()
+        }
+
+        assertEquals(1, immutableRows)
+        assertEquals(1 + PARENT_RECOMPOSITIONS, listRows)
+    }
+
+    @Test
+    fun immutableListRowsRecomposeOnlyWhenTheListChanges() = composeTest { recompose ->
+        // Every write recomposes the parent, even with an equal list
+        val rewards = mutableStateOf(response.rewards, neverEqualPolicy())
+
+        setContent { ImmutableRows(rewards.value) }
+        assertEquals(1, immutableRows)
+
+        rewards.value = persistentListOf(*response.rewards.toTypedArray())
+        recompose()
+        assertEquals(1, immutableRows)
+
+        rewards.value = response.rewards.toPersistentList().removeAt(0)
+        recompose()
+        assertEquals(2, immutableRows)
+    }
+
+    /**
+     * Runs [block] against a composition driven by a manual frame clock. Its
+     * argument applies pending state writes and sends frames until the
+     * recomposer is idle.
+     */
+    private fun composeTest(block: suspend Composition.(recompose: suspend () -> Unit) -> Unit): Unit = runBlocking {
+        val clock = BroadcastFrameClock()
+        withContext(clock) {
+            val recomposer = Recomposer(coroutineContext)
+            val runner = launch { recomposer.runRecomposeAndApplyChanges() }
+            val composition = Composition(UnitApplier, recomposer)
+            var frame = 0L
+
+            val recompose: suspend () -> Unit = {
+                Snapshot.sendApplyNotifications()
+                var frames = 0
+                do {
+                    yield()
+                    clock.sendFrame(++frame * FRAME_NANOS)
+                    yield()
+                } while (recomposer.hasPendingWork && ++frames < MAX_FRAMES)
+                assertFalse("Recomposer never went idle", recomposer.hasPendingWork)
+            }
+
+            try {
+                composition.block(recompose)
+            } finally {
+                composition.dispose()
+                recomposer.cancel()
+                runner.cancelAndJoin()
+            }
+        }
+    }
+
+    private object UnitApplier : AbstractApplier<Unit>(Unit) {
+        override fun insertTopDown(index: Int, instance: Unit) = Unit
+        override fun insertBottomUp(index: Int, instance: Unit) = Unit
+        override fun remove(index: Int, count: Int) = Unit
+        override fun move(from: Int, to: Int, count: Int) = Unit
+        override fun onClear() = Unit
+    }
+
+    companion object {
+        private const val PARENT_RECOMPOSITIONS = 5
+        private const val MAX_FRAMES = 10
+        private const val FRAME_NANOS = 16_000_000L
+    }
+}
+
+// Top level rather than members: a member's receiver is this unstable test class, which would stop skipping
+private var immutableRows = 0
+private var listRows = 0
+
+@Composable
+private fun ImmutableRows(rewards: ImmutableList<Reward>) {
+    immutableRows++
+    rewards.forEach { it.id }
+}
+
+@Composable
+private fun ListRows(rewards: List<Reward>) {
+    listRows++
+    rewards.forEach { it.id }
+}
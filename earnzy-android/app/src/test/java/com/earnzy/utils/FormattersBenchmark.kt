@@ -0,0 +1,140 @@
+package com.earnzy.utils
+
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+import java.lang.management.ManagementFactory
+import java.text.NumberFormat
+import java.text.SimpleDateFormat
+import java.util.Date
+import java.util.Locale
+import java.util.TimeZone
+
+/**
+ * A transaction-row bind loop over 10k rows: the cached formatters behind the
+ * extensions against the per-call NumberFormat/SimpleDateFormat code they
+ * replaced (copied below). Run with
+ * ./gradlew :app:testDebugUnitTest --tests '*FormattersBenchmark*' -i
+ * to see the numbers; only matching output is asserted, timings vary by machine.
+ */
+class FormattersBenchmark {
+
+    private lateinit var savedLocale: Locale
+    private lateinit var savedZone: TimeZone
+
+    private class Row(val amount: Int, val createdAtMillis: Long, val createdAt: String, val referrals: Int)
+
+    private val rows = List(ROWS) { i ->
+        val millis = 1_790_000_000_000L + i * 3_600_000L
+        Row(
+            amount = 10 + i * 37 % 250_000,
+            createdAtMillis = millis,
+            createdAt = "2026-%02d-%02dT10:15:00Z".format(1 + i % 12, 1 + i % 28),
+            referrals = i * 997 % 3_000_000
+        )
+    }
+
+    @Before
+    fun setUp() {
+        savedLocale = Locale.getDefault()
+        savedZone = TimeZone.getDefault()
+        Locale.setDefault(Locale.US)
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Kolkata"))
+    }
+
+    @After
+    fun tearDown() {
+        Locale.setDefault(savedLocale)
+        TimeZone.setDefault(savedZone)
+    }
+
+    @Test
+    fun cachedFormattersAgainstPerCallFormats() {
+        for (row in rows.take(500)) {
+            assertEquals(Legacy.currency(row.amount), row.amount.formatCurrency())
+            assertEquals(Legacy.date(row.createdAtMillis), row.createdAtMillis.formatDate())
+            assertEquals(Legacy.time(row.createdAtMillis), row.createdAtMillis.formatTime())
+            assertEquals(Legacy.dateTime(row.createdAtMillis), row.createdAtMillis.formatDateTime())
+            assertEquals(Legacy.reformat(row.createdAt), row.createdAt.formatDate())
+            assertEquals(Legacy.compact(row.referrals), row.referrals.formatCompact())
+        }
+
+        val legacy = measure {
+            var chars = 0
+            for (row in rows) {
+                chars += Legacy.currency(row.amount).length
+                chars += Legacy.dateTime(row.createdAtMillis).length
+                chars += Legacy.reformat(row.createdAt).length
+                chars += Legacy.compact(row.referrals).length
+            }
+            chars
+        }
+        val cached = measure {
+            var chars = 0
+            for (row in rows) {
+                chars += row.amount.formatCurrency().length
+                chars += row.createdAtMillis.formatDateTime().length
+                chars += row.createdAt.formatDate().length
+                chars += row.referrals.formatCompact().length
+            }
+            chars
+        }
+
+        assertEquals(legacy.chars, cached.chars)
+        println("bind loop over $ROWS rows, median of $ITERATIONS runs")
+        println("per-call formats: ${legacy.medianMs} ms, ${legacy.allocatedKiB} KiB allocated")
+        println("cached formats:   ${cached.medianMs} ms, ${cached.allocatedKiB} KiB allocated")
+    }
+
+    private class Result(val chars: Int, val medianMs: Double, val allocatedKiB: Long)
+
+    private fun measure(bind: () -> Int): Result {
+        var chars = bind()
+        repeat(WARMUP) { chars = bind() }
+
+        val threads = ManagementFactory.getThreadMXBean() as com.sun.management.ThreadMXBean
+        val threadId = Thread.currentThread().id
+        val times = DoubleArray(ITERATIONS)
+        var allocated = 0L
+        for (i in 0 until ITERATIONS) {
+            val bytesBefore = threads.getThreadAllocatedBytes(threadId)
+            val start = System.nanoTime()
+            chars = bind()
+            times[i] = (System.nanoTime() - start) / 1_000_000.0
+            allocated += threads.getThreadAllocatedBytes(threadId) - bytesBefore
+        }
+        times.sort()
+        return Result(chars, times[ITERATIONS / 2], allocated / ITERATIONS / 1024)
+    }
+
+    /** The extensions as they were before Formatters */
+    private object Legacy {
+        fun currency(amount: Int): String = "₹${NumberFormat.getInstance().format(amount)}"
+
+        fun compact(value: Int): String = when {
+            value >= 1_000_000 -> "${value / 1_000_000}M"
+            value >= 1_000 -> "${value / 1_000}K"
+            else -> value.toString()
+        }
+
+        fun date(millis: Long): String = SimpleDateFormat("dd MMM yyyy", Locale.getDefault()).format(Date(millis))
+
+        fun time(millis: Long): String = SimpleDateFormat("HH:mm", Locale.getDefault()).format(Date(millis))
+
+        fun dateTime(millis: Long): String = SimpleDateFormat("dd MMM, HH:mm", Locale.getDefault()).format(Date(millis))
+
+        fun reformat(text: String): String = try {
+            val date = SimpleDateFormat("yyyy-MM-dd", Locale.getDefault()).parse(text)
+            SimpleDateFormat("dd MMM yyyy", Locale.getDefault()).format(date!!)
+        } catch (e: Exception) {
+            text
+        }
+    }
+
+    companion object {
+        private const val ROWS = 10_000
+        private const val WARMUP = 5
+        private const val ITERATIONS = 15
+    }
+}
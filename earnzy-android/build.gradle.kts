@@ -2,6 +2,7 @@ plugins {
     id("com.android.application") version "8.1.2"
     kotlin("android") version "1.9.10"
     kotlin("kapt") version "1.9.10"
+    id("com.google.dagger.hilt.android") version "2.48"
 }
 
 android {
@@ -33,6 +34,8 @@ android {
     }
 
     compileOptions {
+        // java.time below API 26
+        isCoreLibraryDesugaringEnabled = true
         sourceCompatibility = JavaVersion.VERSION_17
         targetCompatibility = JavaVersion.VERSION_17
     }
@@ -40,9 +43,20 @@ android {
     kotlinOptions {
         jvmTarget = "17"
     }
+
+    testOptions {
+        // The Compose runtime traces through android.os.Trace in JVM tests
+        unitTests.isReturnDefaultValues = true
+    }
+}
+
+kapt {
+    correctErrorTypes = true
 }
 
 dependencies {
+    coreLibraryDesugaring("com.android.tools:desugar_jdk_libs:2.0.4")
+
     // Androidx
     implementation("androidx.appcompat:appcompat:1.6.1")
     implementation("androidx.core:core:1.12.0")
@@ -57,14 +71,24 @@ dependencies {
     implementation("androidx.compose.foundation:foundation:1.6.0")
     implementation("androidx.compose.runtime:runtime-livedata:1.6.0")
     implementation("androidx.activity:activity-compose:1.8.1")
+    implementation("org.jetbrains.kotlinx:kotlinx-collections-immutable:0.3.7")
+
+    // Paging & local cache
+    implementation("androidx.paging:paging-runtime-ktx:3.2.1")
+    implementation("androidx.paging:paging-compose:3.2.1")
+    implementation("androidx.room:room-runtime:2.6.1")
+    implementation("androidx.room:room-ktx:2.6.1")
+    implementation("androidx.room:room-paging:2.6.1")
+    kapt("androidx.room:room-compiler:2.6.1")
 
     // Networking
     implementation("com.squareup.okhttp3:okhttp:4.11.0")
     implementation("com.squareup.retrofit2:retrofit:2.10.0")
-    implementation("com.squareup.retrofit2:converter-gson:2.10.0")
+    implementation("com.squareup.retrofit2:converter-moshi:2.10.0")
 
     // Serialization
-    implementation("com.google.code.gson:gson:2.10.1")
+    implementation("com.squareup.moshi:moshi:1.15.0")
+    kapt("com.squareup.moshi:moshi-kotlin-codegen:1.15.0")
 
     // Firebase
     implementation("com.google.firebase:firebase-messaging:23.4.0")
@@ -83,5 +107,8 @@ dependencies {
 
     // Testing
     testImplementation("junit:junit:4.13.2")
+    testImplementation("com.squareup.okhttp3:mockwebserver:4.11.0")
+    // Reflective baseline for the parse benchmark
+    testImplementation("com.google.code.gson:gson:2.10.1")
     androidTestImplementation("androidx.test.espresso:espresso-core:3.5.1")
 }
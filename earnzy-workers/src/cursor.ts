@@ -0,0 +1,56 @@
+// Cursor paging over lists sorted newest first by a timestamp field.
+// The cursor is the (timestamp, id) of the last item sent, so pages stay
+// consistent while new items are added at the top.
+
+const DEFAULT_LIMIT = 50;
+const MAX_LIMIT = 100;
+
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+}
+
+export function parseLimit(value: string | undefined): number {
+  const limit = parseInt(value || '', 10);
+  if (!Number.isFinite(limit) || limit <= 0) return DEFAULT_LIMIT;
+  return Math.min(limit, MAX_LIMIT);
+}
+
+// Code-unit order, the same on every runtime; localeCompare depends on the ICU locale
+function compare(a: string, b: string): number {
+  return a < b ? -1 : a > b ? 1 : 0;
+}
+
+export function paginate<T extends { id?: string; uid?: string }>(
+  items: T[],
+  sortField: keyof T,
+  cursor: string | undefined,
+  limit: number,
+): CursorPage<T> {
+  const keyOf = (item: T) => String(item.id ?? item.uid ?? '');
+  const timeOf = (item: T) => String(item[sortField] ?? '');
+
+  const sorted = [...items].sort((a, b) => {
+    const byTime = compare(timeOf(b), timeOf(a));
+    return byTime !== 0 ? byTime : compare(keyOf(b), keyOf(a));
+  });
+
+  let start = 0;
+  if (cursor) {
+    const [time, key] = Buffer.from(cursor, 'base64').toString().split('|');
+    start = sorted.findIndex((item) => {
+      const byTime = compare(timeOf(item), time);
+      return byTime < 0 || (byTime === 0 && compare(keyOf(item), key) < 0);
+    });
+    if (start < 0) start = sorted.length;
+  }
+
+  const page = sorted.slice(start, start + limit);
+  const last = page[page.length - 1];
+  const hasMore = start + limit < sorted.length;
+
+  return {
+    items: page,
+    nextCursor: hasMore && last ? Buffer.from(`${timeOf(last)}|${keyOf(last)}`).toString('base64') : null,
+  };
+}
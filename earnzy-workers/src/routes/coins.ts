@@ -1,4 +1,5 @@
 import { Hono } from 'hono';
+import { paginate, parseLimit } from '../cursor';
 
 const app = new Hono();
 
@@ -24,7 +25,7 @@ app.get('/balance', async (c) => {
   }
 });
 
-// Get transaction history
+// Get transaction history, newest first, a page at a time (?cursor=&limit=)
 app.get('/history', async (c) => {
   try {
     const token = c.req.header('Authorization')?.replace('Bearer ', '');
@@ -36,9 +37,12 @@ app.get('/history', async (c) => {
     const response = await fetch(`${adminUrl}/api/coins/history/${uid}`);
     const history = await response.json();
 
+    const page = paginate(history, 'createdAt', c.req.query('cursor'), parseLimit(c.req.query('limit')));
+
     return c.json({
-      transactions: history.slice(0, 50), // Last 50 transactions
+      transactions: page.items,
       total: history.length,
+      nextCursor: page.nextCursor,
     });
   } catch (error: any) {
     return c.json({ error: error.message }, 500);
@@ -1,4 +1,5 @@
 import { Hono } from 'hono';
+import { paginate, parseLimit } from '../cursor';
 
 const app = new Hono();
 
@@ -53,6 +54,29 @@ app.get('/stats', async (c) => {
   }
 });
 
+// List referrals, newest first, a page at a time (?cursor=&limit=)
+app.get('/list', async (c) => {
+  try {
+    const token = c.req.header('Authorization')?.replace('Bearer ', '');
+    if (!token) return c.json({ error: 'Unauthorized' }, 401);
+
+    const uid = Buffer.from(token, 'base64').toString().split(':')[0];
+    const adminUrl = c.env.ADMIN_API_URL;
+
+    const response = await fetch(`${adminUrl}/api/referrals?userId=${uid}`);
+    const referrals = await response.json();
+
+    const page = paginate(referrals, 'referredAt', c.req.query('cursor'), parseLimit(c.req.query('limit')));
+
+    return c.json({
+      referrals: page.items,
+      nextCursor: page.nextCursor,
+    });
+  } catch (error: any) {
+    return c.json({ error: error.message }, 500);
+  }
+});
+
 // Accept referral
 app.post('/accept', async (c) => {
   try {
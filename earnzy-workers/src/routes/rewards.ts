@@ -1,4 +1,5 @@
 import { Hono } from 'hono';
+import { paginate, parseLimit } from '../cursor';
 
 const app = new Hono();
 
@@ -84,7 +85,7 @@ app.post('/request', async (c) => {
   }
 });
 
-// Get redemption history
+// Get redemption history, newest first, a page at a time (?cursor=&limit=)
 app.get('/history', async (c) => {
   try {
     const token = c.req.header('Authorization')?.replace('Bearer ', '');
@@ -106,10 +107,11 @@ app.get('/history', async (c) => {
       }
     }
 
+    const page = paginate(userRedemptions, 'requestedAt', c.req.query('cursor'), parseLimit(c.req.query('limit')));
+
     return c.json({
-      redemptions: userRedemptions.sort((a, b) => 
-        new Date(b.requestedAt).getTime() - new Date(a.requestedAt).getTime()
-      ),
+      redemptions: page.items,
+      nextCursor: page.nextCursor,
     });
   } catch (error: any) {
     return c.json({ error: error.message }, 500);
@@ -0,0 +1,86 @@
+package com.earnzy.app.adapters
+
+import android.view.ContextThemeWrapper
+import android.view.View
+import androidx.recyclerview.widget.LinearLayoutManager
+import androidx.recyclerview.widget.RecyclerView
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import com.earnzy.app.R
+import com.earnzy.app.models.LeaderboardEntry
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Flings a 1,000-row leaderboard from top to bottom one frame's worth of scroll
+ * at a time and times the main-thread work of each step: inflating, binding and
+ * laying out the rows that come on screen. That work is what has to fit in the
+ * frame budget. Run on a device with
+ * ./gradlew :app:connectedDebugAndroidTest -Pandroid.testInstrumentationRunnerArguments.class=com.earnzy.app.adapters.LeaderboardAdapterBenchmark
+ * and read the numbers from logcat (tag System.out); only the
+ * scroll reaching the last row is asserted, timings vary by device.
+ */
+@RunWith(AndroidJUnit4::class)
+class LeaderboardAdapterBenchmark {
+
+    private val instrumentation = InstrumentationRegistry.getInstrumentation()
+
+    private val entries = List(ROWS) { i ->
+        val rank = i + 1
+        LeaderboardEntry(rank, "Player $rank", 1_000_000 - rank * 17, if (rank <= 3) R.drawable.ic_launcher_background else 0)
+    }
+
+    @Test
+    fun scrollThousandRows() {
+        // Two passes: the first warms class loading, resources and the JIT
+        scrollOnce()
+        val frames = scrollOnce()
+
+        frames.sort()
+        val budgetMs = 1000.0 / 60
+        val over = frames.count { it > budgetMs }
+        println("$ROWS rows, ${frames.size} scroll steps of $STEP_DP dp")
+        println("p50 ${frames.percentile(50)} ms, p90 ${frames.percentile(90)} ms, p99 ${frames.percentile(99)} ms, max ${"%.2f".format(frames.last())} ms")
+        println("$over steps over the ${"%.1f".format(budgetMs)} ms budget")
+    }
+
+    private fun scrollOnce(): DoubleArray {
+        val times = ArrayList<Double>()
+        instrumentation.runOnMainSync {
+            val context = ContextThemeWrapper(instrumentation.targetContext, R.style.AppTheme)
+            val metrics = context.resources.displayMetrics
+            val layoutManager = LinearLayoutManager(context)
+            val recyclerView = RecyclerView(context).apply {
+                this.layoutManager = layoutManager
+                adapter = LeaderboardAdapter(entries)
+            }
+            recyclerView.measure(
+                View.MeasureSpec.makeMeasureSpec(metrics.widthPixels, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(metrics.heightPixels, View.MeasureSpec.EXACTLY)
+            )
+            recyclerView.layout(0, 0, metrics.widthPixels, metrics.heightPixels)
+
+            val step = (STEP_DP * metrics.density).toInt()
+            while (recyclerView.canScrollVertically(1)) {
+                val start = System.nanoTime()
+                recyclerView.scrollBy(0, step)
+                times.add((System.nanoTime() - start) / 1_000_000.0)
+            }
+
+            assertEquals(ROWS - 1, layoutManager.findLastVisibleItemPosition())
+            recyclerView.adapter = null
+        }
+        assertTrue(times.isNotEmpty())
+        return times.toDoubleArray()
+    }
+
+    private fun DoubleArray.percentile(p: Int): String = "%.2f".format(this[((size - 1) * p / 100.0).toInt()])
+
+    companion object {
+        private const val ROWS = 1_000
+        // Roughly what a medium fling covers in one 60 Hz frame
+        private const val STEP_DP = 40
+    }
+}
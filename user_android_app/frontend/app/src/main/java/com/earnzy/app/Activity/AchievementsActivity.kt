@@ -1,9 +1,7 @@
 package com.earnzy.app.Activity
 
 import android.animation.ValueAnimator
-import android.content.SharedPreferences
 import android.os.Bundle
-import android.util.Log
 import android.view.View
 import android.view.animation.AccelerateDecelerateInterpolator
 import android.widget.ProgressBar
@@ -12,21 +10,15 @@ import androidx.appcompat.app.AppCompatActivity
 import androidx.lifecycle.lifecycleScope
 import androidx.recyclerview.widget.GridLayoutManager
 import androidx.recyclerview.widget.RecyclerView
-import androidx.security.crypto.EncryptedSharedPreferences
-import androidx.security.crypto.MasterKey
 import com.airbnb.lottie.LottieAnimationView
 import com.earnzy.app.R
 import com.earnzy.app.adapters.AchievementAdapter
+import com.earnzy.app.managers.AchievementEngine
 import com.earnzy.app.models.Achievement
-import com.earnzy.app.network.FeaturesApiClient
 import com.google.android.material.appbar.MaterialToolbar
 import com.google.android.material.card.MaterialCardView
 import com.google.android.material.textview.MaterialTextView
-import com.google.firebase.auth.FirebaseAuth
-import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.launch
-import kotlinx.coroutines.tasks.await
-import kotlinx.coroutines.withContext
 
 class AchievementsActivity : AppCompatActivity() {
 
@@ -37,7 +29,6 @@ class AchievementsActivity : AppCompatActivity() {
     private lateinit var celebrationAnimation: LottieAnimationView
     private lateinit var totalAchievementsText: MaterialTextView
     private lateinit var loadingProgress: ProgressBar
-    private lateinit var securePrefs: SharedPreferences
 
     override fun onCreate(savedInstanceState: Bundle?) {
         super.onCreate(savedInstanceState)
@@ -54,81 +45,31 @@ class AchievementsActivity : AppCompatActivity() {
         totalAchievementsText = findViewById(R.id.total_achievements)
         loadingProgress = findViewById(R.id.loading_progress)
         
-        initializeSecureStorage()
         loadAchievements()
         animateProgressCard()
     }
     
-    private fun initializeSecureStorage() {
-        try {
-            val masterKey = MasterKey.Builder(this)
-                .setKeyScheme(MasterKey.KeyScheme.AES256_GCM)
-                .build()
-
-            securePrefs = EncryptedSharedPreferences.create(
-                this,
-                "SecureEarnzyPrefs",
-                masterKey,
-                EncryptedSharedPreferences.PrefKeyEncryptionScheme.AES256_SIV,
-                EncryptedSharedPreferences.PrefValueEncryptionScheme.AES256_GCM
-            )
-        } catch (e: Exception) {
-            Log.e("AchievementsActivity", "Security setup failed", e)
-        }
-    }
-    
     private fun loadAchievements() {
-        loadingProgress.visibility = View.VISIBLE
-        
-        lifecycleScope.launch {
-            try {
-                val response = withContext(Dispatchers.IO) {
-                    FeaturesApiClient.getAchievements(
-                        this@AchievementsActivity,
-                        getIdToken(),
-                        getDeviceID(),
-                        getDeviceToken(),
-                        isVpn(),
-                        isSslProxy()
-                    )
-                }
-                
-                if (response.getString("status") == "success") {
-                    val achievementsArray = response.getJSONArray("achievements")
-                    val summary = response.getJSONObject("summary")
-                    
-                    val achievements = mutableListOf<Achievement>()
-                    for (i in 0 until achievementsArray.length()) {
-                        val item = achievementsArray.getJSONObject(i)
-                        achievements.add(
-                         Achievement(
-                           id = item.optString("id", "unknown_${i}"),
-                           title = item.getString("name"),
-                           description = item.getString("description"),
-                           category = item.optString("category", "general"),
-                           icon = R.drawable.ic_achievement,
-                           unlocked = item.optBoolean("unlocked", false),
-                           progress = item.optInt("progress", if (item.optBoolean("unlocked", false)) 1 else 0),
-                           maxProgress = item.optInt("maxProgress", 1),
-                           isCompleted = item.optBoolean("isCompleted", item.optBoolean("unlocked", false)),
-                           reward = item.optInt("reward", 0)
-                         )
-                       )
+        val engine = AchievementEngine.getInstance(this)
+        // Cached progress renders immediately; the engine only goes to the server when it is stale
+        val cached = engine.achievements.value
+        if (cached.isNotEmpty()) {
+            setupAchievements(cached, animate = true)
+        } else {
+            loadingProgress.visibility = View.VISIBLE
+        }
 
-                    }
-                    
-                    setupAchievements(achievements, summary)
-                } else {
-                    Toast.makeText(this@AchievementsActivity, "Failed to load achievements", Toast.LENGTH_SHORT).show()
-                    finish()
-                }
-            } catch (e: Exception) {
-                Log.e("AchievementsActivity", "Failed to load achievements", e)
-                Toast.makeText(this@AchievementsActivity, "Error loading data", Toast.LENGTH_SHORT).show()
+        lifecycleScope.launch {
+            val ok = engine.reconcile()
+            loadingProgress.visibility = View.GONE
+            if (!ok) {
+                Toast.makeText(this@AchievementsActivity, "Failed to load achievements", Toast.LENGTH_SHORT).show()
                 finish()
-            } finally {
-                loadingProgress.visibility = View.GONE
+                return@launch
             }
+
+            val latest = engine.achievements.value
+            if (latest !== cached) setupAchievements(latest, animate = cached.isEmpty())
         }
     }
     
@@ -145,13 +86,14 @@ class AchievementsActivity : AppCompatActivity() {
             .start()
     }
 
-    private fun setupAchievements(achievements: List<Achievement>, summary: org.json.JSONObject) {
+    private fun setupAchievements(achievements: List<Achievement>, animate: Boolean) {
         achievementsRecycler.layoutManager = GridLayoutManager(this, 2)
         
-        val unlockedCount = summary.getInt("unlockedCount")
-        val totalCount = summary.getInt("totalCount")
-        val progressPercent = summary.getInt("progressPercent")
-        val totalRewards = summary.getInt("totalRewards")
+        val summary = AchievementEngine.summarize(achievements)
+        val unlockedCount = summary.unlockedCount
+        val totalCount = summary.totalCount
+        val progressPercent = summary.progressPercent
+        val totalRewards = summary.totalRewards
         
         // Animate progress counter
         animateCounter(progressText, unlockedCount, "$unlockedCount/$totalCount Unlocked")
@@ -165,6 +107,7 @@ class AchievementsActivity : AppCompatActivity() {
         }
         
         achievementsRecycler.adapter = AchievementAdapter(achievements)
+        if (!animate) return
         
         // Animate items with stagger
         achievementsRecycler.post {
@@ -209,14 +152,4 @@ class AchievementsActivity : AppCompatActivity() {
             textView.text = finalText
         }, 1400)
     }
-    
-    // Helper methods for credentials
-    private suspend fun getIdToken(): String = withContext(Dispatchers.IO) {
-        FirebaseAuth.getInstance().currentUser?.getIdToken(false)?.await()?.token ?: ""
-    }
-    
-    private fun getDeviceID(): String = securePrefs.getString("deviceID", "") ?: ""
-    private fun getDeviceToken(): String = securePrefs.getString("deviceToken", "") ?: ""
-    private fun isVpn(): Boolean = securePrefs.getBoolean("isVpn", false)
-    private fun isSslProxy(): Boolean = securePrefs.getBoolean("isSslProxy", false)
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package com.earnzy.app.Activity
 
 import android.animation.ValueAnimator
-import android.content.SharedPreferences
 import android.graphics.Color
 import android.os.Build
 import android.os.Bundle
@@ -14,19 +13,24 @@ import android.widget.TextView
 import android.widget.Toast
 import androidx.appcompat.app.AppCompatActivity
 import androidx.core.view.WindowCompat
+import androidx.lifecycle.Lifecycle
 import androidx.lifecycle.lifecycleScope
-import androidx.security.crypto.EncryptedSharedPreferences
-import androidx.security.crypto.MasterKey
+import androidx.lifecycle.repeatOnLifecycle
 import com.earnzy.app.R
+import com.earnzy.app.network.ClaimOutbox
 import com.earnzy.app.network.FeaturesApiClient
+import com.earnzy.app.network.RequestContextProvider
+import com.earnzy.app.network.RewardPrefetcher
+import com.earnzy.app.network.OutboxState
 import com.google.android.material.appbar.MaterialToolbar
 import com.google.android.material.button.MaterialButton
 import com.google.android.material.card.MaterialCardView
 import com.google.android.material.dialog.MaterialAlertDialogBuilder
-import com.google.firebase.auth.FirebaseAuth
 import com.airbnb.lottie.LottieAnimationView
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.drop
+import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.launch
-import kotlinx.coroutines.tasks.await
 import java.text.SimpleDateFormat
 import java.util.*
 
@@ -39,7 +43,6 @@ class DailyBonusActivity : AppCompatActivity() {
     private lateinit var bonusAmountText: TextView
     private lateinit var nextClaimText: TextView
     private lateinit var bonusCard: MaterialCardView
-    private lateinit var securePrefs: SharedPreferences
     private var bonusClaimed = false
     private var currentStreak = 0
 
@@ -51,9 +54,7 @@ class DailyBonusActivity : AppCompatActivity() {
         
         val toolbar: MaterialToolbar = findViewById(R.id.toolbar)
         toolbar.setNavigationOnClickListener { finish() }
-        
-        initializeSecureStorage()
-        
+
         bonusAnimation = findViewById(R.id.bonus_animation)
         claimButton = findViewById(R.id.claim_button)
         loadingProgress = findViewById(R.id.loading_progress)
@@ -73,6 +74,24 @@ class DailyBonusActivity : AppCompatActivity() {
         
         // Check bonus status
         checkBonusStatus()
+        observeQueuedClaim()
+    }
+    
+    private fun observeQueuedClaim() {
+        lifecycleScope.launch {
+            repeatOnLifecycle(Lifecycle.State.STARTED) {
+                ClaimOutbox.getInstance(this@DailyBonusActivity)
+                    .observe("claimDailyBonus")
+                    .map { it?.state }
+                    .distinctUntilChanged()
+                    .drop(1)
+                    .collect { state ->
+                        if (state == OutboxState.ACKNOWLEDGED || state == OutboxState.REJECTED) {
+                            checkBonusStatus()
+                        }
+                    }
+            }
+        }
     }
     
     private fun setupTransparentStatusBar() {
@@ -98,26 +117,6 @@ class DailyBonusActivity : AppCompatActivity() {
         window.statusBarColor = Color.TRANSPARENT
     }
     
-    private fun initializeSecureStorage() {
-        try {
-            val masterKey = MasterKey.Builder(this)
-                .setKeyScheme(MasterKey.KeyScheme.AES256_GCM)
-                .build()
-
-            securePrefs = EncryptedSharedPreferences.create(
-                this,
-                "SecureEarnzyPrefs",
-                masterKey,
-                EncryptedSharedPreferences.PrefKeyEncryptionScheme.AES256_SIV,
-                EncryptedSharedPreferences.PrefValueEncryptionScheme.AES256_GCM
-            )
-        } catch (e: Exception) {
-            Log.e("DailyBonus", "Security setup failed", e)
-            Toast.makeText(this, "Security setup failed", Toast.LENGTH_SHORT).show()
-            finish()
-        }
-    }
-    
     private fun animateCardEntrance() {
         bonusCard.alpha = 0f
         bonusCard.scaleX = 0.8f
@@ -137,14 +136,12 @@ class DailyBonusActivity : AppCompatActivity() {
         
         lifecycleScope.launch {
             try {
-                val response = FeaturesApiClient.getDailyBonusStatus(
-                    this@DailyBonusActivity,
-                    getIdToken(),
-                    getDeviceID(),
-                    getDeviceToken(),
-                    isVpn(),
-                    isSslProxy()
-                )
+                // Usually already fetched while the home tile was on screen
+                val response = RewardPrefetcher.getInstance(this@DailyBonusActivity).take(RewardPrefetcher.DAILY_BONUS)
+                    ?: FeaturesApiClient.getDailyBonusStatus(
+                        this@DailyBonusActivity,
+                        RequestContextProvider.current(this@DailyBonusActivity)
+                    )
                 
                 if (response.getString("status") == "success") {
                     val canClaim = response.getBoolean("canClaim")
@@ -224,14 +221,7 @@ class DailyBonusActivity : AppCompatActivity() {
         
         lifecycleScope.launch {
             try {
-                val response = FeaturesApiClient.claimDailyBonus(
-                    this@DailyBonusActivity,
-                    getIdToken(),
-                    getDeviceID(),
-                    getDeviceToken(),
-                    isVpn(),
-                    isSslProxy()
-                )
+                val response = ClaimOutbox.getInstance(this@DailyBonusActivity).submit("claimDailyBonus")
                 
                 if (response.getString("status") == "success") {
                     val reward = response.getInt("reward")
@@ -263,6 +253,14 @@ class DailyBonusActivity : AppCompatActivity() {
                     android.os.Handler(mainLooper).postDelayed({
                         showSuccessDialog(reward, streak)
                     }, 1500)
+                } else if (response.getString("status") == "pending") {
+                    // Queued in the outbox; observeQueuedClaim() refreshes once it lands
+                    Toast.makeText(
+                        this@DailyBonusActivity,
+                        response.getString("message"),
+                        Toast.LENGTH_LONG
+                    ).show()
+                    claimButton.text = "Claim Queued"
                 } else {
                     Toast.makeText(
                         this@DailyBonusActivity,
@@ -321,20 +319,5 @@ class DailyBonusActivity : AppCompatActivity() {
             
         claimButton.text = "Claimed"
     }
-    
-    // Helper methods
-    private suspend fun getIdToken(): String {
-        return try {
-            FirebaseAuth.getInstance().currentUser?.getIdToken(false)?.await()?.token ?: ""
-        } catch (e: Exception) {
-            Log.e("DailyBonus", "Failed to get ID token", e)
-            ""
-        }
-    }
-    
-    private fun getDeviceID(): String = securePrefs.getString("deviceID", "") ?: ""
-    private fun getDeviceToken(): String = securePrefs.getString("deviceToken", "") ?: ""
-    private fun isVpn(): Boolean = securePrefs.getBoolean("isVpn", false)
-    private fun isSslProxy(): Boolean = securePrefs.getBoolean("isSslProxy", false)
 }
 
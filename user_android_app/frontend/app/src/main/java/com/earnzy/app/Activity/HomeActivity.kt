@@ -12,6 +12,12 @@ import androidx.core.view.WindowCompat
 import androidx.fragment.app.Fragment
 import com.earnzy.app.R
 import com.earnzy.app.fragments.*
+import com.earnzy.app.managers.ConfigManager
+import com.earnzy.app.managers.FrameMonitor
+import com.earnzy.app.network.ClaimOutbox
+import com.earnzy.app.network.IdTokenProvider
+import com.earnzy.app.network.RequestContextProvider
+import com.earnzy.app.network.RequestTelemetry
 import com.google.android.material.bottomnavigation.BottomNavigationView
 import com.google.android.material.navigation.NavigationBarView
 
@@ -26,6 +32,15 @@ class HomeActivity : AppCompatActivity() {
         setupTransparentStatusBar()
         
         setContentView(R.layout.activity_home_advanced)
+        FrameMonitor.getInstance(this).track(this, "home")
+        
+        // Fragments' first requests then find a token and device context ready
+        IdTokenProvider.prefetch()
+        RequestContextProvider.getInstance(this)
+        // Claims queued in an earlier session of this user go out again
+        ClaimOutbox.getInstance(this).resume()
+        // Refreshes remote config, including the frame monitor flag, for the next resume
+        ConfigManager.getInstance(this).initialize()
         
         bottomNav = findViewById(R.id.bottom_navigation)
         
@@ -62,6 +77,12 @@ class HomeActivity : AppCompatActivity() {
         })
     }
 
+    override fun onStop() {
+        super.onStop()
+        // Report buffered request timings before the process may be cached or killed
+        RequestTelemetry.getInstance(this).flush()
+    }
+
     private fun setupTransparentStatusBar() {
     WindowCompat.setDecorFitsSystemWindows(window, false)
     
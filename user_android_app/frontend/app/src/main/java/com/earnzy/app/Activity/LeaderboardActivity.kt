@@ -1,11 +1,9 @@
 package com.earnzy.app.Activity
 
 import android.animation.ValueAnimator
-import android.content.SharedPreferences
 import android.graphics.Color
 import android.os.Build
 import android.os.Bundle
-import android.util.Log
 import android.view.View
 import android.view.WindowInsetsController
 import android.view.animation.AccelerateDecelerateInterpolator
@@ -16,18 +14,18 @@ import androidx.core.view.WindowCompat
 import androidx.lifecycle.lifecycleScope
 import androidx.recyclerview.widget.LinearLayoutManager
 import androidx.recyclerview.widget.RecyclerView
-import androidx.security.crypto.EncryptedSharedPreferences
-import androidx.security.crypto.MasterKey
 import com.earnzy.app.R
 import com.earnzy.app.adapters.LeaderboardAdapter
+import com.earnzy.app.managers.FrameMonitor
 import com.earnzy.app.models.LeaderboardEntry
+import com.earnzy.app.network.LeaderboardRepository
+import com.earnzy.app.network.LeaderboardSnapshot
 import com.google.android.material.appbar.MaterialToolbar
 import com.google.android.material.card.MaterialCardView
 import com.google.android.material.tabs.TabLayout
 import com.google.android.material.textview.MaterialTextView
-import com.google.firebase.auth.FirebaseAuth
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.launch
-import kotlinx.coroutines.tasks.await
 
 class LeaderboardActivity : AppCompatActivity() {
 
@@ -37,20 +35,22 @@ class LeaderboardActivity : AppCompatActivity() {
     private lateinit var myRankCard: MaterialCardView
     private lateinit var myRankText: MaterialTextView
     private lateinit var myCoinsText: MaterialTextView
-    private lateinit var securePrefs: SharedPreferences
     private val entries = mutableListOf<LeaderboardEntry>()
     private lateinit var adapter: LeaderboardAdapter
+    private lateinit var repository: LeaderboardRepository
+    private var loadJob: Job? = null
 
     override fun onCreate(savedInstanceState: Bundle?) {
         super.onCreate(savedInstanceState)
         
         setupTransparentStatusBar()
         setContentView(R.layout.activity_leaderboard)
+        FrameMonitor.getInstance(this).track(this, "leaderboard")
         
         val toolbar: MaterialToolbar = findViewById(R.id.toolbar)
         toolbar.setNavigationOnClickListener { finish() }
         
-        initializeSecureStorage()
+        repository = LeaderboardRepository.getInstance(this)
         initViews()
         setupLeaderboard("weekly")
         
@@ -95,24 +95,6 @@ class LeaderboardActivity : AppCompatActivity() {
         window.statusBarColor = Color.TRANSPARENT
     }
     
-    private fun initializeSecureStorage() {
-        try {
-            val masterKey = MasterKey.Builder(this)
-                .setKeyScheme(MasterKey.KeyScheme.AES256_GCM)
-                .build()
-
-            securePrefs = EncryptedSharedPreferences.create(
-                this,
-                "SecureEarnzyPrefs",
-                masterKey,
-                EncryptedSharedPreferences.PrefKeyEncryptionScheme.AES256_SIV,
-                EncryptedSharedPreferences.PrefValueEncryptionScheme.AES256_GCM
-            )
-        } catch (e: Exception) {
-            Log.e("Leaderboard", "Security setup failed", e)
-        }
-    }
-    
     private fun initViews() {
         tabLayout = findViewById(R.id.tab_layout)
         leaderboardRecycler = findViewById(R.id.leaderboard_recycler)
@@ -124,6 +106,7 @@ class LeaderboardActivity : AppCompatActivity() {
         leaderboardRecycler.layoutManager = LinearLayoutManager(this)
         adapter = LeaderboardAdapter(entries)
         leaderboardRecycler.adapter = adapter
+        FrameMonitor.trackScroll(leaderboardRecycler, "list")
     }
     
     private fun animateCardEntrance() {
@@ -140,68 +123,39 @@ class LeaderboardActivity : AppCompatActivity() {
     }
 
     private fun setupLeaderboard(period: String) {
-        loadingProgress.visibility = View.VISIBLE
-        
-        // For now, use sample data. Can be enhanced with backend API
-        entries.clear()
-        
-        // Generate sample leaderboard with realistic data
-        if (period == "referral") {
-            // Referral-specific leaderboard
-            entries.addAll(listOf(
-                LeaderboardEntry(1, "👑 Refer Champion", 156, R.drawable.ic_launcher_background),
-                LeaderboardEntry(2, "🥈 Network Master", 128, R.drawable.ic_launcher_background),
-                LeaderboardEntry(3, "🥉 Social Star", 98, R.drawable.ic_launcher_background),
-                LeaderboardEntry(4, "Influencer Pro ⭐", 87, 0),
-                LeaderboardEntry(5, "Share Expert 📱", 76, 0),
-                LeaderboardEntry(6, "Viral Marketer 💎", 65, 0),
-                LeaderboardEntry(7, "Friend Magnet 👥", 58, 0),
-                LeaderboardEntry(8, "Link Sharer 🔗", 52, 0),
-                LeaderboardEntry(9, "Growth Hacker 📈", 47, 0),
-                LeaderboardEntry(10, "Ambassador 🎖️", 42, 0),
-                LeaderboardEntry(11, "Promoter 📢", 38, 0),
-                LeaderboardEntry(12, "Connector 🤝", 34, 0),
-                LeaderboardEntry(13, "Networker 🌐", 30, 0),
-                LeaderboardEntry(14, "Inviter 💌", 27, 0),
-                LeaderboardEntry(15, "Spreader ⚡", 24, 0)
-            ))
+        loadJob?.cancel()
+
+        // Render whatever is cached right away; the repository decides if a refresh is due
+        val cached = repository.cached(period)
+        if (cached != null) {
+            showSnapshot(cached, animate = true)
         } else {
-            entries.addAll(listOf(
-                LeaderboardEntry(1, "👑 Champion Player", 25000, R.drawable.ic_launcher_background),
-                LeaderboardEntry(2, "🥈 Silver Star", 18500, R.drawable.ic_launcher_background),
-                LeaderboardEntry(3, "🥉 Bronze Winner", 15000, R.drawable.ic_launcher_background),
-                LeaderboardEntry(4, "Rising Star ⭐", 12500, 0),
-                LeaderboardEntry(5, "Pro Gamer 🎮", 11200, 0),
-                LeaderboardEntry(6, "Elite Earner 💎", 10800, 0),
-                LeaderboardEntry(7, "Coin Master 💰", 9500, 0),
-                LeaderboardEntry(8, "Daily Warrior ⚔️", 8800, 0),
-                LeaderboardEntry(9, "Task Hunter 🎯", 8200, 0),
-                LeaderboardEntry(10, "Spin Expert 🎡", 7500, 0),
-                LeaderboardEntry(11, "Bonus Collector 🎁", 7000, 0),
-                LeaderboardEntry(12, "Scratch Master 🎫", 6500, 0),
-                LeaderboardEntry(13, "Referral King 👥", 6000, 0),
-                LeaderboardEntry(14, "Lucky Player 🍀", 5500, 0),
-                LeaderboardEntry(15, "Earner Pro 💵", 5000, 0)
-            ))
+            entries.clear()
+            adapter.notifyDataSetChanged()
         }
-        
+        loadingProgress.visibility = View.VISIBLE
+
+        loadJob = lifecycleScope.launch {
+            val snapshot = repository.load(period)
+            loadingProgress.visibility = View.GONE
+            when {
+                snapshot == null -> Toast.makeText(this@LeaderboardActivity, "Couldn't load leaderboard", Toast.LENGTH_SHORT).show()
+                snapshot !== cached -> showSnapshot(snapshot, animate = cached == null)
+            }
+        }
+    }
+
+    private fun showSnapshot(snapshot: LeaderboardSnapshot, animate: Boolean) {
+        entries.clear()
+        entries.addAll(snapshot.rows)
         adapter.notifyDataSetChanged()
-        
+
         // Animate list items with stagger effect
-        animateListItemsStagger()
-        
-        // Set my rank (sample data)
-        val myRank = kotlin.random.Random.nextInt(5, 50)
-        val myCoins = if (period == "referral") {
-            kotlin.random.Random.nextInt(10, 100)
-        } else {
-            kotlin.random.Random.nextInt(2000, 10000)
-        }
-        
-        myRankText.text = "Your Rank: #$myRank"
-        animateCounter(myCoinsText, myCoins, if (period == "referral") "Referrals: " else "Your Coins: ₹")
-        
-        loadingProgress.visibility = View.GONE
+        if (animate) animateListItemsStagger()
+
+        val isReferral = snapshot.period == "referral"
+        myRankText.text = if (snapshot.myRank > 0) "Your Rank: #${snapshot.myRank}" else "Your Rank: -"
+        animateCounter(myCoinsText, snapshot.myCoins, if (isReferral) "Referrals: " else "Your Coins: ₹")
     }
     
     private fun animateListItems() {
@@ -223,7 +177,13 @@ class LeaderboardActivity : AppCompatActivity() {
     
     private fun animateListItemsStagger() {
         leaderboardRecycler.post {
-            for (i in 0 until minOf(entries.size, 10)) {
+            val count = minOf(entries.size, 10)
+            // Frames drawn while the rows fly in are reported separately from plain scrolling
+            FrameMonitor.putState(leaderboardRecycler, "stagger", "running")
+            leaderboardRecycler.postDelayed({
+                FrameMonitor.removeState(leaderboardRecycler, "stagger")
+            }, count * 60L + 400L)
+            for (i in 0 until count) {
                 val viewHolder = leaderboardRecycler.findViewHolderForAdapterPosition(i)
                 viewHolder?.itemView?.let { view ->
                     view.alpha = 0f
@@ -252,19 +212,4 @@ class LeaderboardActivity : AppCompatActivity() {
         }
         animator.start()
     }
-    
-    // Helper methods
-    private suspend fun getIdToken(): String {
-        return try {
-            FirebaseAuth.getInstance().currentUser?.getIdToken(false)?.await()?.token ?: ""
-        } catch (e: Exception) {
-            Log.e("Leaderboard", "Failed to get ID token", e)
-            ""
-        }
-    }
-    
-    private fun getDeviceID(): String = securePrefs.getString("deviceID", "") ?: ""
-    private fun getDeviceToken(): String = securePrefs.getString("deviceToken", "") ?: ""
-    private fun isVpn(): Boolean = securePrefs.getBoolean("isVpn", false)
-    private fun isSslProxy(): Boolean = securePrefs.getBoolean("isSslProxy", false)
 }
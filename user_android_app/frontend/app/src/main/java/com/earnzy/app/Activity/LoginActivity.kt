@@ -11,14 +11,11 @@ import android.content.SharedPreferences
 import android.graphics.Color
 import android.graphics.drawable.ColorDrawable
 import android.graphics.drawable.GradientDrawable
-import android.net.ConnectivityManager
-import android.net.NetworkCapabilities
 import android.net.Uri
 import android.os.Build
 import android.os.Bundle
 import android.os.Handler
 import android.os.Looper
-import android.provider.Settings
 import android.text.SpannableString
 import android.text.Spanned
 import android.text.TextPaint
@@ -46,7 +43,9 @@ import androidx.credentials.CredentialManager
 import androidx.credentials.GetCredentialRequest
 import androidx.credentials.GetCredentialResponse
 import androidx.credentials.exceptions.GetCredentialException
+import androidx.lifecycle.Lifecycle
 import androidx.lifecycle.lifecycleScope
+import androidx.lifecycle.repeatOnLifecycle
 import androidx.recyclerview.widget.RecyclerView
 import androidx.security.crypto.EncryptedSharedPreferences
 import androidx.security.crypto.MasterKey
@@ -59,7 +58,10 @@ import com.google.firebase.FirebaseApp
 import com.google.firebase.auth.FirebaseAuth
 import com.google.firebase.auth.GoogleAuthProvider
 import com.google.firebase.messaging.FirebaseMessaging
+import com.earnzy.app.managers.FrameMonitor
+import com.earnzy.app.network.NetworkMonitor
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.delay
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
 import org.json.JSONArray
@@ -104,7 +106,7 @@ class LoginActivity : AppCompatActivity() {
     private lateinit var button_frame: FrameLayout
     private lateinit var google_btn: Button
     private lateinit var loading_progressbar: ProgressBar
-    private val _timer = Timer()
+    private lateinit var networkMonitor: NetworkMonitor
     private var activeDialog: AlertDialog? = null
     private var isInternetDialogShowing = false
     private var isVpnDialogShowing = false
@@ -147,9 +149,12 @@ class LoginActivity : AppCompatActivity() {
     override fun onCreate(savedInstanceState: Bundle?) {
         super.onCreate(savedInstanceState)
         setContentView(R.layout.login)
+        SecurityKeys.warmUp(this)
+        FrameMonitor.getInstance(this).track(this, "login")
         initialize(savedInstanceState)
         FirebaseApp.initializeApp(this)
         credentialManager = CredentialManager.create(this)
+        networkMonitor = NetworkMonitor.getInstance(this)
         initializeSecureStorage() // Initialize secure storage
         initializeLogic()
     }
@@ -230,15 +235,8 @@ class LoginActivity : AppCompatActivity() {
     }
 
  private fun initializeDeviceCredentials() {
-    // Secure way to generate a unique ID using hardware info and a fallback
-    deviceID = _getDeviceId(this)
-    
-    // FIXED: Persist deviceID to securePrefs (idempotent: save only if missing, else reload)
-    if (securePrefs.getString("deviceID", "").isNullOrEmpty()) {
-        securePrefs.edit().putString("deviceID", deviceID).apply()
-    } else {
-        deviceID = securePrefs.getString("deviceID", "") ?: deviceID  // Fallback to generated if reload fails
-    }
+    // Computed once per install and persisted by SecurityKeys under the same "deviceID" key
+    deviceID = SecurityKeys.getDeviceID(this)
 
     if (securePrefs.getString("deviceToken", "").isNullOrEmpty()) {
         deviceToken = generateSecureDeviceToken()
@@ -248,58 +246,6 @@ class LoginActivity : AppCompatActivity() {
     }
  }
 
-    // ADDED: Consistent Device ID functions
-    private fun _getDeviceId(context: Context): String {
-        return try {
-            val hardwareProperties = Build.BRAND +
-                    Build.MANUFACTURER +
-                    Build.MODEL +
-                    Build.DEVICE +
-                    Build.PRODUCT +
-                    Build.HARDWARE
-
-            val digest = java.security.MessageDigest.getInstance("SHA-256")
-            val hash = digest.digest(hardwareProperties.toByteArray(Charsets.UTF_8))
-            android.util.Base64.encodeToString(hash, android.util.Base64.NO_WRAP)
-
-        } catch (e: Exception) {
-            try {
-                val androidId = Settings.Secure.getString(
-                    context.contentResolver,
-                    Settings.Secure.ANDROID_ID
-                ) ?: "unknown_device"
-
-                android.util.Base64.encodeToString(androidId.toByteArray(), android.util.Base64.NO_WRAP)
-
-            } catch (inner: Exception) {
-                generateFallbackDeviceId()
-            }
-        }
-    }
-    
-    @Suppress("DEPRECATION")
-    private fun generateFallbackDeviceId(): String {
-        val serial = try {
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-                Build.getSerial()
-            } else {
-                Build.SERIAL
-            }
-        } catch (e: Exception) {
-            "UNKNOWN"
-        }
-
-        val deviceInfo = "${Build.MANUFACTURER}${Build.MODEL}$serial"
-        val hash = java.security.MessageDigest.getInstance("SHA-256").digest(deviceInfo.toByteArray(Charsets.UTF_8))
-
-        return "ANDROID_" + android.util.Base64.encodeToString(hash, android.util.Base64.NO_WRAP)
-            .replace("/", "_")
-            .replace("+", "-")
-            .replace("=", "")
-            .take(16)
-    }
-
-
     private fun generateSecureDeviceToken(): String {
         val bytes = ByteArray(32)
         SecureRandom().nextBytes(bytes)
@@ -452,13 +398,16 @@ private fun applyTransparentSystemBars() {
         }
         background_viewpager.isUserInputEnabled = false
         background_viewpager.setCurrentItem(Int.MAX_VALUE / 2, false)
-        _timer.scheduleAtFixedRate(object : TimerTask() {
-            override fun run() {
-                runOnUiThread {
+        FrameMonitor.trackPager(background_viewpager, "slider")
+        // Only advances while the screen is visible; the loop is cancelled on pause
+        lifecycleScope.launch {
+            repeatOnLifecycle(Lifecycle.State.RESUMED) {
+                while (true) {
+                    delay(5000)
                     background_viewpager.currentItem = background_viewpager.currentItem + 1
                 }
             }
-        }, 5000, 5000)
+        }
     }
 
     private fun _setupClickableTerms() {
@@ -502,7 +451,7 @@ private fun applyTransparentSystemBars() {
                 _showInternetPopup()
                 return@setOnClickListener
             }
-            if (isVpn || isSslProxy) {
+            if (networkMonitor.isVpn || isVpn || isSslProxy) {
                 _showVpnPopup()
                 return@setOnClickListener
             }
@@ -525,13 +474,13 @@ private fun applyTransparentSystemBars() {
     }
 
     private fun _startNetworkChecks() {
-        _timer.scheduleAtFixedRate(object : TimerTask() {
-            override fun run() {
-                runOnUiThread {
-                    if (!google_btn.isEnabled || isProcessingClipboard) return@runOnUiThread
-                    if (!_isNetworkConnected()) {
+        lifecycleScope.launch {
+            repeatOnLifecycle(Lifecycle.State.STARTED) {
+                networkMonitor.state.collect { state ->
+                    if (!google_btn.isEnabled || isProcessingClipboard) return@collect
+                    if (!state.isConnected) {
                         _showInternetPopup()
-                    } else if (isVpn || isSslProxy) {
+                    } else if (state.isVpn || isVpn || isSslProxy) {
                         _showVpnPopup()
                     } else if ((isInternetDialogShowing || isVpnDialogShowing) && activeDialog != null && activeDialog!!.isShowing) {
                         activeDialog!!.dismiss()
@@ -540,22 +489,11 @@ private fun applyTransparentSystemBars() {
                     }
                 }
             }
-        }, 1000, 2000)
+        }
     }
 
     private fun _isNetworkConnected(): Boolean {
-        val cm = getSystemService(Context.CONNECTIVITY_SERVICE) as ConnectivityManager
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-            val network = cm.activeNetwork ?: return false
-            val capabilities = cm.getNetworkCapabilities(network) ?: return false
-            return capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET) &&
-                    capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED)
-        } else {
-            @Suppress("DEPRECATION")
-            val networkInfo = cm.activeNetworkInfo ?: return false
-            @Suppress("DEPRECATION")
-            return networkInfo.isConnected
-        }
+        return networkMonitor.isConnected
     }
 
     private fun _showConnectivityPopup(layoutResId: Int, toastMessage: String, onDismiss: () -> Unit) {
@@ -572,7 +510,7 @@ private fun applyTransparentSystemBars() {
         button1.background = sketchUi
 
         button1.setOnClickListener {
-            if (_isNetworkConnected() && !isVpn && !isSslProxy) {
+            if (_isNetworkConnected() && !networkMonitor.isVpn && !isVpn && !isSslProxy) {
                 activeDialog?.dismiss()
                 onDismiss()
             }
@@ -1104,7 +1042,6 @@ private fun _sendToServer(
 
     override fun onDestroy() {
         super.onDestroy()
-        _timer.cancel()
         activeDialog?.dismiss()
     }
 }
\ No newline at end of file
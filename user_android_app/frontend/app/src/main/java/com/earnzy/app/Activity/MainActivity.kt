@@ -8,13 +8,10 @@ import android.content.pm.PackageManager
 import android.graphics.Color
 import android.graphics.drawable.ColorDrawable
 import android.graphics.drawable.GradientDrawable
-import android.net.ConnectivityManager
-import android.net.NetworkCapabilities
 import android.os.Build
 import android.os.Bundle
 import android.os.Handler
 import android.os.Looper
-import android.provider.Settings
 import android.util.Base64
 import android.view.Gravity
 import android.view.WindowInsetsController
@@ -36,6 +33,7 @@ import com.google.firebase.FirebaseApp
 import com.google.firebase.auth.FirebaseAuth
 import com.google.firebase.messaging.FirebaseMessaging
 import com.google.android.material.bottomsheet.BottomSheetDialog
+import com.earnzy.app.network.NetworkMonitor
 import okhttp3.MediaType.Companion.toMediaType
 import okhttp3.OkHttpClient
 import okhttp3.Request
@@ -81,6 +79,7 @@ class MainActivity : AppCompatActivity() {
     override fun onCreate(savedInstanceState: Bundle?) {
         super.onCreate(savedInstanceState)
         setContentView(R.layout.main)
+        SecurityKeys.warmUp(this)
         initialize()
         FirebaseApp.initializeApp(this)
         initializeLogic()
@@ -239,7 +238,7 @@ class MainActivity : AppCompatActivity() {
         lastCheckTime = System.currentTimeMillis()
 
         Thread {
-            val deviceId = _getDeviceId(applicationContext) 
+            val deviceId = SecurityKeys.getDeviceID(applicationContext)
             val json = JSONObject().apply {
                 put("deviceId", deviceId)
                 put("timestamp", System.currentTimeMillis())
@@ -504,71 +503,8 @@ private fun applyTransparentSystemBars() {
     }
 }
 
-    private fun _getDeviceId(context: Context): String {
-        return try {
-            val hardwareProperties = Build.BRAND +
-                    Build.MANUFACTURER +
-                    Build.MODEL +
-                    Build.DEVICE +
-                    Build.PRODUCT +
-                    Build.HARDWARE
-
-            val digest = java.security.MessageDigest.getInstance("SHA-256")
-            val hash = digest.digest(hardwareProperties.toByteArray(Charsets.UTF_8))
-            android.util.Base64.encodeToString(hash, android.util.Base64.NO_WRAP)
-        } catch (e: Exception) {
-            try {
-                val androidId = Settings.Secure.getString(
-                    context.contentResolver,
-                    Settings.Secure.ANDROID_ID
-                ) ?: "unknown_device"
-
-                android.util.Base64.encodeToString(androidId.toByteArray(), android.util.Base64.NO_WRAP)
-            } catch (inner: Exception) {
-                generateFallbackDeviceId()
-            }
-        }
-    }
-
-    @Suppress("DEPRECATION")
- private fun generateFallbackDeviceId(): String {
-    val serial = try {
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-            Build.getSerial()
-        } else {
-            Build.SERIAL
-        }
-    } catch (e: Exception) {
-        "UNKNOWN"
-    }
-
-    val deviceInfo = "${Build.MANUFACTURER}${Build.MODEL}$serial"
-    val hash = java.security.MessageDigest.getInstance("SHA-256")
-        .digest(deviceInfo.toByteArray(Charsets.UTF_8))
-
-    return "ANDROID_" + android.util.Base64.encodeToString(hash, android.util.Base64.NO_WRAP)
-        .replace("/", "_")
-        .replace("+", "-")
-        .replace("=", "")
-        .take(16)
- }
-
     private fun isNetworkAvailable(): Boolean {
-        val connectivityManager = getSystemService(Context.CONNECTIVITY_SERVICE) as ConnectivityManager
-        return if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-            val network = connectivityManager.activeNetwork
-            val capabilities = connectivityManager.getNetworkCapabilities(network)
-            capabilities != null && (
-                    capabilities.hasTransport(NetworkCapabilities.TRANSPORT_WIFI) ||
-                            capabilities.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR) ||
-                            capabilities.hasTransport(NetworkCapabilities.TRANSPORT_ETHERNET)
-                    )
-        } else {
-            @Suppress("DEPRECATION")
-            val networkInfo = connectivityManager.activeNetworkInfo
-            @Suppress("DEPRECATION")
-            networkInfo != null && networkInfo.isConnectedOrConnecting
-        }
+        return NetworkMonitor.getInstance(this).isConnected
     }
 
     private fun showNotificationPermissionBottomSheet() {
@@ -2,7 +2,6 @@ package com.earnzy.app.Activity
 
 import android.animation.ValueAnimator
 import android.content.Intent
-import android.content.SharedPreferences
 import android.net.Uri
 import android.os.Bundle
 import android.util.Log
@@ -14,19 +13,16 @@ import androidx.appcompat.app.AppCompatActivity
 import androidx.lifecycle.lifecycleScope
 import androidx.recyclerview.widget.LinearLayoutManager
 import androidx.recyclerview.widget.RecyclerView
-import androidx.security.crypto.EncryptedSharedPreferences
-import androidx.security.crypto.MasterKey
 import com.airbnb.lottie.LottieAnimationView
 import com.earnzy.app.R
 import com.earnzy.app.adapters.OfferAdapter
 import com.earnzy.app.models.Offer
 import com.earnzy.app.network.FeaturesApiClient
+import com.earnzy.app.network.RequestContextProvider
 import com.google.android.material.appbar.MaterialToolbar
 import com.google.android.material.card.MaterialCardView
 import com.google.android.material.textview.MaterialTextView
-import com.google.firebase.auth.FirebaseAuth
 import kotlinx.coroutines.launch
-import kotlinx.coroutines.tasks.await
 import org.json.JSONArray
 import org.json.JSONObject
 
@@ -39,7 +35,6 @@ class OfferwallActivity : AppCompatActivity() {
     private lateinit var earnedText: MaterialTextView
     private lateinit var loadingProgress: ProgressBar
     private lateinit var celebrationAnimation: LottieAnimationView
-    private lateinit var securePrefs: SharedPreferences
     private val offers = mutableListOf<Offer>()
     private lateinit var adapter: OfferAdapter
 
@@ -50,30 +45,11 @@ class OfferwallActivity : AppCompatActivity() {
         val toolbar: MaterialToolbar = findViewById(R.id.toolbar)
         toolbar.setNavigationOnClickListener { finish() }
         
-        initializeSecureStorage()
         initViews()
         loadOffersFromJson()
         animateEntrance()
     }
     
-    private fun initializeSecureStorage() {
-        try {
-            val masterKey = MasterKey.Builder(this)
-                .setKeyScheme(MasterKey.KeyScheme.AES256_GCM)
-                .build()
-
-            securePrefs = EncryptedSharedPreferences.create(
-                this,
-                "SecureEarnzyPrefs",
-                masterKey,
-                EncryptedSharedPreferences.PrefKeyEncryptionScheme.AES256_SIV,
-                EncryptedSharedPreferences.PrefValueEncryptionScheme.AES256_GCM
-            )
-        } catch (e: Exception) {
-            Log.e("OfferwallActivity", "Security setup failed", e)
-        }
-    }
-    
     private fun initViews() {
         offersRecycler = findViewById(R.id.offers_recycler)
         statsCard = findViewById(R.id.stats_card)
@@ -111,11 +87,7 @@ class OfferwallActivity : AppCompatActivity() {
                 // Try to load from backend API first
                 val response = FeaturesApiClient.getOfferwall(
                     this@OfferwallActivity,
-                    getIdToken(),
-                    getDeviceID(),
-                    getDeviceToken(),
-                    isVpn(),
-                    isSslProxy()
+                    RequestContextProvider.current(this@OfferwallActivity)
                 )
                 
                 if (response.getString("status") == "success") {
@@ -248,18 +220,4 @@ class OfferwallActivity : AppCompatActivity() {
             Toast.makeText(this, "Unable to open offer", Toast.LENGTH_SHORT).show()
         }
     }
-    
-    // Helper methods
-    private suspend fun getIdToken(): String {
-        return try {
-            FirebaseAuth.getInstance().currentUser?.getIdToken(false)?.await()?.token ?: ""
-        } catch (e: Exception) {
-            ""
-        }
-    }
-    
-    private fun getDeviceID(): String = securePrefs.getString("deviceID", "") ?: ""
-    private fun getDeviceToken(): String = securePrefs.getString("deviceToken", "") ?: ""
-    private fun isVpn(): Boolean = securePrefs.getBoolean("isVpn", false)
-    private fun isSslProxy(): Boolean = securePrefs.getBoolean("isSslProxy", false)
 }
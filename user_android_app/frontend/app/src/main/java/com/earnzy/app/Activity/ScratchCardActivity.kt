@@ -17,17 +17,17 @@ import androidx.security.crypto.EncryptedSharedPreferences
 import androidx.security.crypto.MasterKey
 import com.airbnb.lottie.LottieAnimationView
 import com.earnzy.app.R
+import com.earnzy.app.views.ScratchCardView
 import com.google.android.material.appbar.MaterialToolbar
 import com.google.android.material.button.MaterialButton
 import com.google.android.material.card.MaterialCardView
 import com.google.android.material.dialog.MaterialAlertDialogBuilder
-import com.google.firebase.auth.FirebaseAuth
-import kotlinx.coroutines.tasks.await
 import kotlin.random.Random
 
 class ScratchCardActivity : AppCompatActivity() {
 
     private lateinit var scratchView: MaterialCardView
+    private lateinit var scratchSurface: ScratchCardView
     private lateinit var resetButton: MaterialButton
     private lateinit var prizeText: TextView
     private lateinit var securePrefs: SharedPreferences
@@ -35,6 +35,12 @@ class ScratchCardActivity : AppCompatActivity() {
     private var isScratched = false
     private var dailyChances = 3
     private var chancesUsed = 0
+    private var pendingPrize = 0
+
+    companion object {
+        // Share of the cover that has to be scratched off before the prize is revealed
+        private const val REVEAL_PERCENT = 55
+    }
 
     override fun onCreate(savedInstanceState: Bundle?) {
         super.onCreate(savedInstanceState)
@@ -48,7 +54,13 @@ class ScratchCardActivity : AppCompatActivity() {
         initializeSecureStorage()
         initViews()
         loadScratchCardStatus()
+        prepareCard()
+
+        scratchSurface.onScratchProgress = { percent ->
+            if (percent >= REVEAL_PERCENT && !isScratched) scratchCard()
+        }
 
+        // Only reached while the cover is disabled (already scratched or out of chances)
         scratchView.setOnClickListener {
             if (!isScratched && chancesUsed < dailyChances) {
                 scratchCard()
@@ -105,6 +117,7 @@ class ScratchCardActivity : AppCompatActivity() {
 
     private fun initViews() {
         scratchView = findViewById(R.id.scratch_view)
+        scratchSurface = findViewById(R.id.scratch_surface)
         resetButton = findViewById(R.id.reset_button)
         prizeText = findViewById(R.id.prize_text)
     }
@@ -129,15 +142,28 @@ class ScratchCardActivity : AppCompatActivity() {
         resetButton.isEnabled = remaining > 0
     }
 
+    private fun prepareCard() {
+        val hasChance = chancesUsed < dailyChances
+        scratchSurface.reset()
+        scratchSurface.alpha = 1f
+        scratchSurface.isEnabled = hasChance
+        if (hasChance) {
+            // The prize sits under the cover and is uncovered as the user scratches
+            pendingPrize = generatePrize()
+            prizeText.text = "🎉 You Won\n₹$pendingPrize"
+        }
+    }
+
     private fun scratchCard() {
         isScratched = true
         scratchView.isClickable = false
+        scratchSurface.isEnabled = false
 
-        val prize = generatePrize()
+        val prize = pendingPrize
 
-        scratchView.animate()
-            .alpha(0.3f)
-            .setDuration(1000)
+        scratchSurface.animate()
+            .alpha(0f)
+            .setDuration(400)
             .withEndAction {
                 prizeText.text = "🎉 You Won\n₹$prize"
                 prizeText.visibility = View.VISIBLE
@@ -216,8 +242,7 @@ class ScratchCardActivity : AppCompatActivity() {
         isScratched = false
         scratchView.isClickable = true
         scratchView.alpha = 1f
-        prizeText.visibility = View.GONE
-        prizeText.text = "Scratch to reveal\nyour prize!"
+        prepareCard()
 
         scratchView.scaleX = 0.8f
         scratchView.scaleY = 0.8f
@@ -228,18 +253,4 @@ class ScratchCardActivity : AppCompatActivity() {
             .setInterpolator(BounceInterpolator())
             .start()
     }
-
-    private suspend fun getIdToken(): String {
-        return try {
-            FirebaseAuth.getInstance().currentUser?.getIdToken(false)?.await()?.token ?: ""
-        } catch (e: Exception) {
-            Log.e("ScratchCard", "Failed to get ID token", e)
-            ""
-        }
-    }
-
-    private fun getDeviceID(): String = securePrefs.getString("deviceID", "") ?: ""
-    private fun getDeviceToken(): String = securePrefs.getString("deviceToken", "") ?: ""
-    private fun isVpn(): Boolean = securePrefs.getBoolean("isVpn", false)
-    private fun isSslProxy(): Boolean = securePrefs.getBoolean("isSslProxy", false)
 }
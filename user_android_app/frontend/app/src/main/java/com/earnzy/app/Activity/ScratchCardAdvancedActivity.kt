@@ -1,7 +1,6 @@
 package com.earnzy.app.Activity
 
 import android.os.Bundle
-import android.view.MotionEvent
 import android.view.View
 import android.widget.Toast
 import androidx.appcompat.app.AppCompatActivity
@@ -55,15 +54,9 @@ class ScratchCardAdvancedActivity : AppCompatActivity() {
             claimPrize()
         }
 
-        // Setup scratch detection
-        binding.scratchOverlay.setOnTouchListener { view, event ->
-            when (event.action) {
-                MotionEvent.ACTION_DOWN, MotionEvent.ACTION_MOVE -> {
-                    handleScratch(event.x, event.y)
-                    true
-                }
-                else -> false
-            }
+        // Revealed area is reported by the scratch view as the user scratches
+        binding.scratchOverlay.onScratchProgress = { percent ->
+            handleScratch(percent)
         }
     }
 
@@ -75,6 +68,7 @@ class ScratchCardAdvancedActivity : AppCompatActivity() {
         // Reset scratch state
         scratchProgress = 0
         isRevealed = false
+        binding.scratchOverlay.reset()
         binding.scratchOverlay.visibility = View.VISIBLE
         binding.scratchPercentage.visibility = View.VISIBLE
         binding.scratchProgress.visibility = View.VISIBLE
@@ -83,12 +77,10 @@ class ScratchCardAdvancedActivity : AppCompatActivity() {
         updateScratchProgress()
     }
 
-    private fun handleScratch(x: Float, y: Float) {
+    private fun handleScratch(percent: Int) {
         if (isRevealed) return
 
-        // Simulate scratch progress (in real app, would use custom view)
-        scratchProgress += 5
-        scratchProgress = scratchProgress.coerceAtMost(100)
+        scratchProgress = percent.coerceAtMost(100)
         
         updateScratchProgress()
 
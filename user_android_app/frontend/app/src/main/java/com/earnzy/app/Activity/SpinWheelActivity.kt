@@ -1,7 +1,5 @@
 package com.earnzy.app.Activity
 
-import android.animation.ObjectAnimator
-import android.content.SharedPreferences
 import android.graphics.Color
 import android.os.Build
 import android.os.Bundle
@@ -9,39 +7,35 @@ import android.util.Log
 import android.view.View
 import android.view.WindowInsetsController
 import android.view.animation.AccelerateDecelerateInterpolator
-import android.view.animation.DecelerateInterpolator
-import android.widget.ImageView
 import android.widget.ProgressBar
 import android.widget.TextView
 import android.widget.Toast
 import androidx.appcompat.app.AppCompatActivity
 import androidx.core.view.WindowCompat
 import androidx.lifecycle.lifecycleScope
-import androidx.security.crypto.EncryptedSharedPreferences
-import androidx.security.crypto.MasterKey
 import com.airbnb.lottie.LottieAnimationView
-import com.bumptech.glide.Glide
 import com.earnzy.app.R
 import com.earnzy.app.managers.ConfigManager
+import com.earnzy.app.network.ClaimOutbox
 import com.earnzy.app.network.FeaturesApiClient
+import com.earnzy.app.network.RequestContextProvider
+import com.earnzy.app.network.RewardPrefetcher
+import com.earnzy.app.views.SpinWheelView
 import com.google.android.material.appbar.MaterialToolbar
 import com.google.android.material.button.MaterialButton
 import com.google.android.material.card.MaterialCardView
 import com.google.android.material.dialog.MaterialAlertDialogBuilder
-import com.google.firebase.auth.FirebaseAuth
 import kotlinx.coroutines.launch
-import kotlinx.coroutines.tasks.await
-import kotlin.random.Random
+import org.json.JSONObject
 
 class SpinWheelActivity : AppCompatActivity() {
 
-    private lateinit var wheelImage: ImageView
+    private lateinit var wheelView: SpinWheelView
     private lateinit var spinButton: MaterialButton
     private lateinit var chancesText: TextView
     private lateinit var loadingProgress: ProgressBar
     private lateinit var rewardAnimation: LottieAnimationView
     private lateinit var spinCard: MaterialCardView
-    private lateinit var securePrefs: SharedPreferences
     private lateinit var configManager: ConfigManager
 
     private var remainingSpins = 3
@@ -57,16 +51,16 @@ class SpinWheelActivity : AppCompatActivity() {
         toolbar.setNavigationOnClickListener { finish() }
 
         configManager = ConfigManager.getInstance(this)
-        initializeSecureStorage()
 
         // Bind views
-        wheelImage = findViewById(R.id.spin_wheel_image)
+        wheelView = findViewById(R.id.spin_wheel_view)
         spinButton = findViewById(R.id.spin_button)
         chancesText = findViewById(R.id.spins_remaining)
         loadingProgress = findViewById(R.id.loading_progress)
         rewardAnimation = findViewById(R.id.reward_animation)
         spinCard = findViewById(R.id.spin_card)
 
+        wheelView.setSegments(configManager.getSpinWheelConfig().rewards.map { it.toString() })
         loadSpinWheelStatus()
         animateButtonEntrance()
 
@@ -79,26 +73,6 @@ class SpinWheelActivity : AppCompatActivity() {
         }
     }
 
-    private fun initializeSecureStorage() {
-        try {
-            val masterKey = MasterKey.Builder(this)
-                .setKeyScheme(MasterKey.KeyScheme.AES256_GCM)
-                .build()
-
-            securePrefs = EncryptedSharedPreferences.create(
-                this,
-                "SecureEarnzyPrefs",
-                masterKey,
-                EncryptedSharedPreferences.PrefKeyEncryptionScheme.AES256_SIV,
-                EncryptedSharedPreferences.PrefValueEncryptionScheme.AES256_GCM
-            )
-        } catch (e: Exception) {
-            Log.e("SpinWheel", "Security setup failed", e)
-            Toast.makeText(this, "Security setup failed", Toast.LENGTH_SHORT).show()
-            finish()
-        }
-    }
-
     private fun setupTransparentStatusBar() {
         WindowCompat.setDecorFitsSystemWindows(window, false)
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
@@ -136,14 +110,12 @@ class SpinWheelActivity : AppCompatActivity() {
 
         lifecycleScope.launch {
             try {
-                val response = FeaturesApiClient.getSpinWheelStatus(
-                    this@SpinWheelActivity,
-                    getIdToken(),
-                    getDeviceID(),
-                    getDeviceToken(),
-                    isVpn(),
-                    isSslProxy()
-                )
+                // Usually already fetched while the home tile was on screen
+                val response = RewardPrefetcher.getInstance(this@SpinWheelActivity).take(RewardPrefetcher.SPIN_WHEEL)
+                    ?: FeaturesApiClient.getSpinWheelStatus(
+                        this@SpinWheelActivity,
+                        RequestContextProvider.current(this@SpinWheelActivity)
+                    )
 
                 if (response.getString("status") == "success") {
                     remainingSpins = response.getInt("spinsRemaining")
@@ -164,13 +136,8 @@ class SpinWheelActivity : AppCompatActivity() {
     }
 
     private fun loadSpinWheelConfig() {
-        val config = configManager.getSpinWheelConfig()
-        if (config.wheelImageUrl.isNotEmpty()) {
-            Glide.with(this)
-                .load(config.wheelImageUrl)
-                .placeholder(R.drawable.ic_spin)
-                .into(wheelImage)
-        }
+        // Config may have been refreshed since onCreate; a no-op when the rewards are unchanged
+        wheelView.setSegments(configManager.getSpinWheelConfig().rewards.map { it.toString() })
 
         if (!configManager.isFeatureEnabled("spin_wheel")) {
             spinButton.isEnabled = false
@@ -183,48 +150,56 @@ class SpinWheelActivity : AppCompatActivity() {
         spinButton.isEnabled = false
         spinButton.text = "Spinning..."
 
-        val randomDegrees = Random.nextInt(1080, 2160).toFloat()
-        val animator = ObjectAnimator.ofFloat(wheelImage, "rotation", 0f, randomDegrees)
-        animator.duration = 3500
-        animator.interpolator = DecelerateInterpolator(1.5f)
-        animator.start()
+        // Keeps turning until the server has picked the prize, then settles on it
+        wheelView.startSpinning()
 
         lifecycleScope.launch {
             try {
-                val response = FeaturesApiClient.spinWheel(
-                    this@SpinWheelActivity,
-                    getIdToken(),
-                    getDeviceID(),
-                    getDeviceToken(),
-                    isVpn(),
-                    isSslProxy()
-                )
+                val response = ClaimOutbox.getInstance(this@SpinWheelActivity).submit("spinWheel")
 
-                android.os.Handler(mainLooper).postDelayed({
-                    if (response.getString("status") == "success") {
-                        val reward = response.getInt("reward")
+                if (response.getString("status") == "success") {
+                    val reward = response.getInt("reward")
+                    wheelView.landOn(segmentFor(response, reward)) {
                         remainingSpins = response.getInt("spinsRemaining")
                         showRewardDialogAnimated(reward)
                         updateChancesText()
-                    } else {
+                        finishSpin()
+                    }
+                } else {
+                    wheelView.stopSpinning {
                         Toast.makeText(this@SpinWheelActivity, response.getString("message"), Toast.LENGTH_SHORT).show()
+                        finishSpin()
                     }
-                    isSpinning = false
-                    spinButton.isEnabled = remainingSpins > 0
-                    spinButton.text = if (remainingSpins > 0) "Spin Now" else "No Spins Left"
-                }, 3500)
+                }
             } catch (e: Exception) {
                 Log.e("SpinWheel", "Spin failed", e)
-                android.os.Handler(mainLooper).postDelayed({
+                wheelView.stopSpinning {
                     Toast.makeText(this@SpinWheelActivity, "Failed to spin. Please try again.", Toast.LENGTH_SHORT).show()
-                    isSpinning = false
-                    spinButton.isEnabled = true
-                    spinButton.text = "Spin Now"
-                }, 3500)
+                    finishSpin()
+                }
             }
         }
     }
 
+    private fun finishSpin() {
+        isSpinning = false
+        spinButton.isEnabled = remainingSpins > 0
+        spinButton.text = if (remainingSpins > 0) "Spin Now" else "No Spins Left"
+    }
+
+    /**
+     * Segment to land on: the worker's index when it sends one, otherwise the
+     * segment showing the reward (or the closest value if the wheel lacks it)
+     */
+    private fun segmentFor(response: JSONObject, reward: Int): Int {
+        val rewards = configManager.getSpinWheelConfig().rewards
+        val index = response.optInt("segment", -1)
+        if (index in rewards.indices) return index
+        val exact = rewards.indexOf(reward)
+        if (exact >= 0) return exact
+        return rewards.indices.minByOrNull { kotlin.math.abs(rewards[it] - reward) } ?: 0
+    }
+
     private fun showRewardDialogAnimated(reward: Int) {
         rewardAnimation.visibility = View.VISIBLE
         rewardAnimation.playAnimation()
@@ -262,19 +237,4 @@ class SpinWheelActivity : AppCompatActivity() {
                 chancesText.animate().scaleX(1f).scaleY(1f).setDuration(200).start()
             }.start()
     }
-
-    // Helper functions
-    private suspend fun getIdToken(): String {
-        return try {
-            FirebaseAuth.getInstance().currentUser?.getIdToken(false)?.await()?.token ?: ""
-        } catch (e: Exception) {
-            Log.e("SpinWheel", "Failed to get ID token", e)
-            ""
-        }
-    }
-
-    private fun getDeviceID(): String = securePrefs.getString("deviceID", "") ?: ""
-    private fun getDeviceToken(): String = securePrefs.getString("deviceToken", "") ?: ""
-    private fun isVpn(): Boolean = securePrefs.getBoolean("isVpn", false)
-    private fun isSslProxy(): Boolean = securePrefs.getBoolean("isSslProxy", false)
 }
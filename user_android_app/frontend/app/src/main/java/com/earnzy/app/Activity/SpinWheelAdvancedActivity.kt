@@ -1,9 +1,7 @@
 package com.earnzy.app.Activity
 
-import android.animation.ObjectAnimator
 import android.os.Bundle
 import android.view.View
-import android.view.animation.DecelerateInterpolator
 import android.widget.Toast
 import androidx.appcompat.app.AppCompatActivity
 import androidx.lifecycle.lifecycleScope
@@ -23,6 +21,11 @@ class SpinWheelAdvancedActivity : AppCompatActivity() {
     private var remainingSpins = 3
     private var isSpinning = false
 
+    companion object {
+        // Clockwise from the pointer, matching the order drawn on the wheel
+        private val PRIZES = listOf(50, 100, 150, 200, 250, 500, 1000, 2000)
+    }
+
     override fun onCreate(savedInstanceState: Bundle?) {
         super.onCreate(savedInstanceState)
         binding = ActivitySpinWheelAdvancedBinding.inflate(layoutInflater)
@@ -33,6 +36,8 @@ class SpinWheelAdvancedActivity : AppCompatActivity() {
     }
 
     private fun setupUI() {
+        binding.wheelImage.showPointer = false
+        binding.wheelImage.setSegments(PRIZES.map { it.toString() })
         updateSpinsRemaining()
         binding.confettiAnimation.visibility = View.GONE
     }
@@ -69,31 +74,12 @@ class SpinWheelAdvancedActivity : AppCompatActivity() {
         binding.spinButton.isEnabled = false
         binding.spinButton.text = "SPINNING..."
 
-        // Calculate random rotation (multiple full rotations + random segment)
-        val randomDegrees = Random.nextInt(360)
-        val totalRotation = 1800f + randomDegrees // 5 full rotations + random
-
-        // Animate wheel rotation
-        val rotationAnimator = ObjectAnimator.ofFloat(
-            binding.spinWheel,
-            View.ROTATION,
-            0f,
-            totalRotation
-        ).apply {
-            duration = 3000
-            interpolator = DecelerateInterpolator(2f)
-        }
-
-        rotationAnimator.start()
+        // Pick the prize first, then let the wheel land on it
+        val segment = Random.nextInt(PRIZES.size)
+        binding.wheelImage.startSpinning()
+        binding.wheelImage.landOn(segment) {
+            showReward(PRIZES[segment])
 
-        // Show reward after spin completes
-        lifecycleScope.launch {
-            delay(3200) // Wait for animation + small delay
-            
-            // Calculate prize based on final position
-            val prizeAmount = calculatePrize(randomDegrees)
-            showReward(prizeAmount)
-            
             // Reset for next spin
             isSpinning = false
             binding.spinButton.isEnabled = remainingSpins > 0
@@ -101,20 +87,6 @@ class SpinWheelAdvancedActivity : AppCompatActivity() {
         }
     }
 
-    private fun calculatePrize(degrees: Int): Int {
-        // Simple prize calculation based on segment
-        return when (degrees) {
-            in 0..45 -> 50
-            in 46..90 -> 100
-            in 91..135 -> 150
-            in 136..180 -> 200
-            in 181..225 -> 250
-            in 226..270 -> 500
-            in 271..315 -> 1000
-            else -> 2000
-        }
-    }
-
     private fun showReward(amount: Int) {
         // Show confetti animation
         binding.confettiAnimation.apply {
@@ -144,7 +116,6 @@ class SpinWheelAdvancedActivity : AppCompatActivity() {
 
     override fun onDestroy() {
         super.onDestroy()
-        // Reset wheel rotation
-        binding.spinWheel.rotation = 0f
+        binding.wheelImage.reset()
     }
 }
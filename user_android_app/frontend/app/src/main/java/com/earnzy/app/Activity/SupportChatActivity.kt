@@ -3,13 +3,18 @@ package com.earnzy.app.Activity
 import android.os.Bundle
 import android.widget.EditText
 import androidx.appcompat.app.AppCompatActivity
+import androidx.lifecycle.Lifecycle
+import androidx.lifecycle.lifecycleScope
+import androidx.lifecycle.repeatOnLifecycle
 import androidx.recyclerview.widget.LinearLayoutManager
 import androidx.recyclerview.widget.RecyclerView
 import com.earnzy.app.R
 import com.earnzy.app.adapters.ChatMessageAdapter
 import com.earnzy.app.models.ChatMessage
+import com.earnzy.app.network.SupportChatChannel
 import com.google.android.material.appbar.MaterialToolbar
 import com.google.android.material.button.MaterialButton
+import kotlinx.coroutines.launch
 
 class SupportChatActivity : AppCompatActivity() {
 
@@ -19,6 +24,15 @@ class SupportChatActivity : AppCompatActivity() {
     private lateinit var sendButton: MaterialButton
     private val messages = mutableListOf<ChatMessage>()
     private lateinit var adapter: ChatMessageAdapter
+    private lateinit var channel: SupportChatChannel
+    private val welcomeMessage = ChatMessage("Hello! How can I help you today?", false, System.currentTimeMillis())
+    private var loadingOlder = false
+    private var hasOlder = true
+
+    companion object {
+        // Start paging in older history when this close to the top
+        private const val LOAD_OLDER_THRESHOLD = 10
+    }
 
     override fun onCreate(savedInstanceState: Bundle?) {
         super.onCreate(savedInstanceState)
@@ -28,6 +42,7 @@ class SupportChatActivity : AppCompatActivity() {
         chatRecycler = findViewById(R.id.messages_recycler)
         messageInput = findViewById(R.id.message_input)
         sendButton = findViewById(R.id.send_button)
+        channel = SupportChatChannel.getInstance(this)
         
         toolbar.setNavigationOnClickListener { finish() }
         
@@ -36,36 +51,85 @@ class SupportChatActivity : AppCompatActivity() {
         sendButton.setOnClickListener {
             val text = messageInput.text.toString()
             if (text.isNotEmpty()) {
-                sendMessage(text)
+                channel.send(text)
                 messageInput.text.clear()
             }
         }
     }
 
+    override fun onStart() {
+        super.onStart()
+        channel.connect()
+    }
+
+    override fun onStop() {
+        super.onStop()
+        channel.disconnect()
+    }
+
     private fun setupChat() {
-        chatRecycler.layoutManager = LinearLayoutManager(this)
+        val layoutManager = LinearLayoutManager(this)
+        chatRecycler.layoutManager = layoutManager
         adapter = ChatMessageAdapter(messages)
         chatRecycler.adapter = adapter
-        
-        // Add welcome message
-        messages.add(ChatMessage("Hello! How can I help you today?", false, System.currentTimeMillis()))
-        adapter.notifyDataSetChanged()
+
+        chatRecycler.addOnScrollListener(object : RecyclerView.OnScrollListener() {
+            override fun onScrolled(recyclerView: RecyclerView, dx: Int, dy: Int) {
+                if (dy < 0 && layoutManager.findFirstVisibleItemPosition() <= LOAD_OLDER_THRESHOLD) {
+                    loadOlder()
+                }
+            }
+        })
+
+        lifecycleScope.launch {
+            repeatOnLifecycle(Lifecycle.State.STARTED) {
+                hasOlder = true
+                channel.messages.collect { render(it.ifEmpty { listOf(welcomeMessage) }) }
+            }
+        }
     }
 
-    private fun sendMessage(text: String) {
-        messages.add(ChatMessage(text, true, System.currentTimeMillis()))
-        adapter.notifyItemInserted(messages.size - 1)
-        chatRecycler.scrollToPosition(messages.size - 1)
-        
-        // Simulate bot response
-        simulateBotResponse()
+    private fun loadOlder() {
+        if (loadingOlder || !hasOlder) return
+        loadingOlder = true
+        lifecycleScope.launch {
+            hasOlder = channel.loadOlder()
+            loadingOlder = false
+        }
     }
 
-    private fun simulateBotResponse() {
-        android.os.Handler(mainLooper).postDelayed({
-            messages.add(ChatMessage("Thank you for your message. Our team will assist you shortly.", false, System.currentTimeMillis()))
-            adapter.notifyItemInserted(messages.size - 1)
-            chatRecycler.scrollToPosition(messages.size - 1)
-        }, 1000)
+    private fun render(updated: List<ChatMessage>) {
+        val oldSize = messages.size
+        val oldFirst = messages.firstOrNull()?.stableId
+        val oldLast = messages.lastOrNull()?.stableId
+
+        messages.clear()
+        messages.addAll(updated)
+
+        // Streamed messages append and paged-in history prepends; the in-memory window
+        // may also have dropped its oldest entries. Anything else (resync) rebinds.
+        val start = updated.indexOfFirst { it.stableId == oldFirst }
+        val end = updated.indexOfLast { it.stableId == oldLast }
+        when {
+            oldSize == 0 -> adapter.notifyItemRangeInserted(0, updated.size)
+            start >= 0 && end - start + 1 == oldSize -> {
+                if (start > 0) adapter.notifyItemRangeInserted(0, start)
+                if (end < updated.size - 1) {
+                    adapter.notifyItemRangeInserted(end + 1, updated.size - 1 - end)
+                    chatRecycler.scrollToPosition(updated.size - 1)
+                }
+            }
+            start < 0 && end >= 0 && end + 1 < oldSize -> {
+                adapter.notifyItemRangeRemoved(0, oldSize - (end + 1))
+                if (end < updated.size - 1) {
+                    adapter.notifyItemRangeInserted(end + 1, updated.size - 1 - end)
+                    chatRecycler.scrollToPosition(updated.size - 1)
+                }
+            }
+            else -> {
+                adapter.notifyDataSetChanged()
+                chatRecycler.scrollToPosition(updated.size - 1)
+            }
+        }
     }
 }
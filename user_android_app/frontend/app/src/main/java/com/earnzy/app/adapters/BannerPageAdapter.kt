@@ -14,6 +14,7 @@ import com.bumptech.glide.load.engine.DiskCacheStrategy
 import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions
 import com.earnzy.app.R
 import com.earnzy.app.models.BannerItem
+import com.earnzy.app.network.NetworkMonitor
 import com.google.android.material.card.MaterialCardView
 import java.lang.Runnable
 
@@ -81,6 +82,7 @@ class BannerPageAdapter(
             Glide.with(holder.image.context)
                 .load(item.imageUrl)
                 .diskCacheStrategy(DiskCacheStrategy.ALL)  // Advanced: Full caching for admin URLs
+                .sizeMultiplier(NetworkMonitor.getInstance(holder.image.context).networkClass.imageSizeMultiplier)
                 .transition(DrawableTransitionOptions.withCrossFade(500))  // Smooth transition
                 .error(item.drawableRes ?: R.drawable.sample_banner_3)  // Default to 3
                 .placeholder(R.drawable.sample_banner_3)  // Loading placeholder
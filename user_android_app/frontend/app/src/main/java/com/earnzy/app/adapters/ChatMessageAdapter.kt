@@ -15,6 +15,24 @@ class ChatMessageAdapter(
     private val messages: List<ChatMessage>
 ) : RecyclerView.Adapter<ChatMessageAdapter.ViewHolder>() {
 
+    private var sentBackground = 0
+    private var receivedBackground = 0
+    private var sentText = 0
+    private var receivedText = 0
+
+    init {
+        setHasStableIds(true)
+    }
+
+    override fun onAttachedToRecyclerView(recyclerView: RecyclerView) {
+        super.onAttachedToRecyclerView(recyclerView)
+        val context = recyclerView.context
+        sentBackground = context.getColor(R.color.primary)
+        receivedBackground = context.getColor(R.color.light_gray)
+        sentText = context.getColor(android.R.color.white)
+        receivedText = context.getColor(android.R.color.black)
+    }
+
     class ViewHolder(view: View) : RecyclerView.ViewHolder(view) {
         val messageCard: MaterialCardView = view.findViewById(R.id.message_card)
         val messageText: TextView = view.findViewById(R.id.message_text)
@@ -33,22 +51,16 @@ class ChatMessageAdapter(
         
         if (message.isSent) {
             holder.container.gravity = Gravity.END
-            holder.messageCard.setCardBackgroundColor(
-                holder.itemView.context.getColor(R.color.primary)
-            )
-            holder.messageText.setTextColor(
-                holder.itemView.context.getColor(android.R.color.white)
-            )
+            holder.messageCard.setCardBackgroundColor(sentBackground)
+            holder.messageText.setTextColor(sentText)
         } else {
             holder.container.gravity = Gravity.START
-            holder.messageCard.setCardBackgroundColor(
-                holder.itemView.context.getColor(R.color.light_gray)
-            )
-            holder.messageText.setTextColor(
-                holder.itemView.context.getColor(android.R.color.black)
-            )
+            holder.messageCard.setCardBackgroundColor(receivedBackground)
+            holder.messageText.setTextColor(receivedText)
         }
     }
 
+    override fun getItemId(position: Int) = messages[position].stableId
+
     override fun getItemCount() = messages.size
 }
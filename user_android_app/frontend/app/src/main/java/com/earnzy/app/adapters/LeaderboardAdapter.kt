@@ -7,25 +7,75 @@ import android.widget.ImageView
 import android.widget.TextView
 import androidx.recyclerview.widget.RecyclerView
 import com.airbnb.lottie.LottieAnimationView
+import com.airbnb.lottie.LottieComposition
+import com.airbnb.lottie.LottieCompositionFactory
 import com.earnzy.app.R
 import com.earnzy.app.models.LeaderboardEntry
 
+/**
+ * Top 3 rows use a separate view type carrying the trophy and winner animation,
+ * so regular rows stay light. The animation runs only while its row is attached.
+ */
 class LeaderboardAdapter(
     private val entries: List<LeaderboardEntry>
 ) : RecyclerView.Adapter<LeaderboardAdapter.ViewHolder>() {
 
-    class ViewHolder(view: View) : RecyclerView.ViewHolder(view) {
+    companion object {
+        private const val VIEW_TYPE_REGULAR = 0
+        private const val VIEW_TYPE_PODIUM = 1
+        private const val PODIUM_SIZE = 3
+    }
+
+    // Parsed once and shared by every podium row
+    private var winnerComposition: LottieComposition? = null
+    private var recyclerView: RecyclerView? = null
+
+    open class ViewHolder(view: View) : RecyclerView.ViewHolder(view) {
         val rankText: TextView = view.findViewById(R.id.rank_text)
         val nameText: TextView = view.findViewById(R.id.name_text)
         val coinsText: TextView = view.findViewById(R.id.coins_text)
+    }
+
+    class PodiumViewHolder(view: View) : ViewHolder(view) {
         val trophyIcon: ImageView = view.findViewById(R.id.trophy_icon)
         val winnerAnimation: LottieAnimationView = view.findViewById(R.id.winner_animation)
     }
 
+    override fun onAttachedToRecyclerView(recyclerView: RecyclerView) {
+        super.onAttachedToRecyclerView(recyclerView)
+        this.recyclerView = recyclerView
+        recyclerView.recycledViewPool.setMaxRecycledViews(VIEW_TYPE_PODIUM, PODIUM_SIZE)
+
+        if (winnerComposition == null) {
+            LottieCompositionFactory.fromRawRes(recyclerView.context, R.raw.leaderboard_winner)
+                .addListener { composition ->
+                    winnerComposition = composition
+                    // Podium rows bound before the composition was ready
+                    val parent = this.recyclerView ?: return@addListener
+                    for (i in 0 until parent.childCount) {
+                        val holder = parent.getChildViewHolder(parent.getChildAt(i))
+                        if (holder is PodiumViewHolder) startAnimation(holder)
+                    }
+                }
+        }
+    }
+
+    override fun onDetachedFromRecyclerView(recyclerView: RecyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView)
+        this.recyclerView = null
+    }
+
+    override fun getItemViewType(position: Int): Int {
+        return if (entries[position].rank <= PODIUM_SIZE) VIEW_TYPE_PODIUM else VIEW_TYPE_REGULAR
+    }
+
     override fun onCreateViewHolder(parent: ViewGroup, viewType: Int): ViewHolder {
-        val view = LayoutInflater.from(parent.context)
-            .inflate(R.layout.item_leaderboard_entry, parent, false)
-        return ViewHolder(view)
+        val inflater = LayoutInflater.from(parent.context)
+        return if (viewType == VIEW_TYPE_PODIUM) {
+            PodiumViewHolder(inflater.inflate(R.layout.item_leaderboard_podium, parent, false))
+        } else {
+            ViewHolder(inflater.inflate(R.layout.item_leaderboard_entry, parent, false))
+        }
     }
 
     override fun onBindViewHolder(holder: ViewHolder, position: Int) {
@@ -34,22 +84,32 @@ class LeaderboardAdapter(
         holder.nameText.text = entry.name
         holder.coinsText.text = "${entry.coins} ₹"
 
-        // Set text colors to white for better visibility on the glassy background
-        holder.rankText.setTextColor(holder.itemView.context.getColor(R.color.white))
-        holder.nameText.setTextColor(holder.itemView.context.getColor(R.color.white))
-        holder.coinsText.setTextColor(holder.itemView.context.getColor(R.color.white))
-
-        // Show trophy and animation for top 3
-        if (entry.rank <= 3) {
-            holder.trophyIcon.visibility = View.VISIBLE
-            holder.winnerAnimation.visibility = View.VISIBLE
-            if (entry.trophyIcon != 0) {
-                holder.trophyIcon.setImageResource(entry.trophyIcon)
-            }
-        } else {
-            holder.trophyIcon.visibility = View.GONE
-            holder.winnerAnimation.visibility = View.GONE
+        if (holder is PodiumViewHolder && entry.trophyIcon != 0) {
+            holder.trophyIcon.setImageResource(entry.trophyIcon)
+        }
+    }
+
+    override fun onViewAttachedToWindow(holder: ViewHolder) {
+        super.onViewAttachedToWindow(holder)
+        if (holder is PodiumViewHolder) startAnimation(holder)
+    }
+
+    override fun onViewDetachedFromWindow(holder: ViewHolder) {
+        super.onViewDetachedFromWindow(holder)
+        if (holder is PodiumViewHolder) holder.winnerAnimation.pauseAnimation()
+    }
+
+    override fun onViewRecycled(holder: ViewHolder) {
+        super.onViewRecycled(holder)
+        if (holder is PodiumViewHolder) holder.winnerAnimation.cancelAnimation()
+    }
+
+    private fun startAnimation(holder: PodiumViewHolder) {
+        val composition = winnerComposition ?: return
+        if (holder.winnerAnimation.composition !== composition) {
+            holder.winnerAnimation.setComposition(composition)
         }
+        if (!holder.winnerAnimation.isAnimating) holder.winnerAnimation.resumeAnimation()
     }
 
     override fun getItemCount() = entries.size
@@ -1,6 +1,5 @@
 package com.earnzy.app.fragments
 
-import android.content.SharedPreferences
 import android.os.Bundle
 import android.text.Editable
 import android.text.TextWatcher
@@ -15,15 +14,16 @@ import androidx.fragment.app.Fragment
 import androidx.lifecycle.lifecycleScope
 import androidx.recyclerview.widget.LinearLayoutManager
 import androidx.recyclerview.widget.RecyclerView
-import androidx.security.crypto.EncryptedSharedPreferences
-import androidx.security.crypto.MasterKey
 import androidx.viewpager2.widget.CompositePageTransformer
 import androidx.viewpager2.widget.MarginPageTransformer
 import androidx.viewpager2.widget.ViewPager2
 import com.earnzy.app.R
 import com.earnzy.app.adapters.EarnTaskAdapter
+import com.earnzy.app.managers.FrameMonitor
 import com.earnzy.app.models.EarnTask
+import com.earnzy.app.network.ClaimOutbox
 import com.earnzy.app.network.FeaturesApiClient
+import com.earnzy.app.network.RequestContextProvider
 import com.earnzy.app.utils.AnimationUtils
 import com.google.android.material.button.MaterialButton
 import com.google.android.material.card.MaterialCardView
@@ -31,10 +31,9 @@ import com.google.android.material.chip.ChipGroup
 import com.google.android.material.dialog.MaterialAlertDialogBuilder
 import com.google.android.material.floatingactionbutton.FloatingActionButton
 import com.google.android.material.progressindicator.CircularProgressIndicator
-import com.google.firebase.auth.FirebaseAuth
 import kotlinx.coroutines.launch
-import kotlinx.coroutines.tasks.await
 import org.json.JSONArray
+import org.json.JSONObject
 import kotlin.math.abs
 
 class EarnFragment : Fragment() {
@@ -51,7 +50,6 @@ class EarnFragment : Fragment() {
     private var fabRefresh: FloatingActionButton? = null
 
     // Data & State
-    private var securePrefs: SharedPreferences? = null
     private var taskAdapter: EarnTaskAdapter? = null
     private var featuredAdapter: EarnTaskAdapter? = null
 
@@ -72,7 +70,6 @@ class EarnFragment : Fragment() {
     ): View? {
         val view = inflater.inflate(R.layout.fragment_earn, container, false)
 
-        initializeSecureStorage()
         initViews(view)
         setupAdapters()
         setupListeners()
@@ -99,9 +96,13 @@ class EarnFragment : Fragment() {
 
     override fun onResume() {
         super.onResume()
-        if (securePrefs == null) {
-            initializeSecureStorage()
-        }
+        // HomeActivity reports frames as "home"; this narrows them to the Earn tab
+        view?.let { FrameMonitor.putState(it, "tab", "earn") }
+    }
+
+    override fun onPause() {
+        super.onPause()
+        view?.let { FrameMonitor.removeState(it, "tab") }
     }
 
     override fun onDestroyView() {
@@ -137,28 +138,6 @@ class EarnFragment : Fragment() {
         fabRefresh = view.findViewById(R.id.fab_refresh)
     }
 
-    private fun initializeSecureStorage() {
-        val context = context ?: return
-        try {
-            val masterKey = MasterKey.Builder(context)
-                .setKeyScheme(MasterKey.KeyScheme.AES256_GCM)
-                .build()
-
-            securePrefs = EncryptedSharedPreferences.create(
-                context,
-                "SecureEarnzyPrefs",
-                masterKey,
-                EncryptedSharedPreferences.PrefKeyEncryptionScheme.AES256_SIV,
-                EncryptedSharedPreferences.PrefValueEncryptionScheme.AES256_GCM
-            )
-        } catch (e: Exception) {
-            Log.e("EarnFragment", "Security setup failed", e)
-            if (isAdded) {
-                Toast.makeText(requireContext(), "Security initialization failed", Toast.LENGTH_SHORT).show()
-            }
-        }
-    }
-
     private fun setupAdapters() {
         if (!isAdded) return
         val ctx = requireContext()
@@ -197,6 +176,7 @@ class EarnFragment : Fragment() {
             page.scaleY = 0.85f + r * 0.15f
         }
         featuredPager?.setPageTransformer(compositePageTransformer)
+        featuredPager?.let { FrameMonitor.trackPager(it, "featured") }
     }
 
     private fun setupListeners() {
@@ -272,11 +252,7 @@ class EarnFragment : Fragment() {
             try {
                 val response = FeaturesApiClient.getEarnTasks(
                     requireContext(),
-                    getIdToken(),
-                    getDeviceID(),
-                    getDeviceToken(),
-                    isVpn(),
-                    isSslProxy()
+                    RequestContextProvider.current(requireContext())
                 )
 
                 if (response.getString("status") == "success") {
@@ -407,15 +383,9 @@ class EarnFragment : Fragment() {
         viewLifecycleOwner.lifecycleScope.launch {
             if (!isAdded) return@launch
             try {
-                val response = FeaturesApiClient.completeTask(
-                    requireContext(),
-                    getIdToken(),
-                    getDeviceID(),
-                    getDeviceToken(),
-                    task.id.toString(),
-                    isVpn(),
-                    isSslProxy()
-                )
+                val response = ClaimOutbox.getInstance(requireContext())
+                    .submit("completeTask", JSONObject().put("taskId", task.id.toString()))
+                if (!isAdded) return@launch
 
                 if (response.getString("status") == "success") {
                     Toast.makeText(requireContext(), "Reward Added: ${task.reward}", Toast.LENGTH_LONG).show()
@@ -432,16 +402,4 @@ class EarnFragment : Fragment() {
             }
         }
     }
-
-    private suspend fun getIdToken(): String = try {
-        FirebaseAuth.getInstance().currentUser?.getIdToken(false)?.await()?.token ?: ""
-    } catch (e: Exception) {
-        Log.w("EarnFragment", "Could not get ID token", e)
-        ""
-    }
-
-    private fun getDeviceID(): String = securePrefs?.getString("deviceID", "") ?: ""
-    private fun getDeviceToken(): String = securePrefs?.getString("deviceToken", "") ?: ""
-    private fun isVpn(): Boolean = securePrefs?.getBoolean("isVpn", false) ?: false
-    private fun isSslProxy(): Boolean = securePrefs?.getBoolean("isSslProxy", false) ?: false
 }
\ No newline at end of file
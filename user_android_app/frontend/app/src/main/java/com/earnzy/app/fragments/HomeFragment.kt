@@ -2,8 +2,8 @@ package com.earnzy.app.fragments
 
 import android.animation.ValueAnimator
 import android.content.Context
+import android.content.Intent
 import android.os.Bundle
-import android.provider.Settings
 import android.util.Log
 import android.view.LayoutInflater
 import android.view.View
@@ -14,12 +14,17 @@ import androidx.lifecycle.lifecycleScope
 import androidx.recyclerview.widget.GridLayoutManager
 import androidx.recyclerview.widget.RecyclerView
 import androidx.viewpager2.widget.ViewPager2
+import com.earnzy.app.Activity.DailyBonusActivity
+import com.earnzy.app.Activity.ScratchCardActivity
+import com.earnzy.app.Activity.SpinWheelActivity
 import com.earnzy.app.R
 import com.earnzy.app.adapters.AdminFeatureAdapter
 import com.earnzy.app.adapters.BannerPageAdapter
 import com.earnzy.app.models.AdminFeatureItem
 import com.earnzy.app.models.BannerItem
 import com.earnzy.app.network.FeaturesApiClient
+import com.earnzy.app.network.RequestContextProvider
+import com.earnzy.app.network.RewardPrefetcher
 import com.earnzy.app.util.ParallaxPageTransformer
 import com.earnzy.app.utils.AnimationUtils
 import com.facebook.shimmer.ShimmerFrameLayout
@@ -31,7 +36,6 @@ import kotlinx.coroutines.Job
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.isActive
 import kotlinx.coroutines.launch
-import kotlinx.coroutines.tasks.await
 import kotlinx.coroutines.withContext
 import org.json.JSONArray
 import java.net.URL
@@ -139,20 +143,12 @@ class HomeFragment : Fragment() {
 
             val mockFeatures = getMockFeatures()
             featuresAdapter?.submitList(mockFeatures)
+            prefetchRewardScreens(mockFeatures)
 
             try {
                 val ctx = context ?: run { hideLoading(); return@launch }
-                val auth = FirebaseAuth.getInstance()
-                val user = auth.currentUser ?: run { hideLoading(); return@launch }
-
-                val idToken = try { user.getIdToken(false).await().token ?: "" } catch (e: Exception) { "" }
-                val deviceID = Settings.Secure.getString(ctx.contentResolver, Settings.Secure.ANDROID_ID) ?: "unknown"
-                val deviceToken = ""
-                val isVpn = false
-                val isSslProxy = false
-
                 val response = withContext(Dispatchers.IO) {
-                    FeaturesApiClient.getUserProfile(ctx, idToken, deviceID, deviceToken, isVpn, isSslProxy)
+                    FeaturesApiClient.getUserProfile(ctx, RequestContextProvider.current(ctx))
                 }
 
                 if (!isAdded) return@launch
@@ -247,14 +243,25 @@ class HomeFragment : Fragment() {
     )
 
     private fun handleFeatureClick(feature: AdminFeatureItem) {
+        val ctx = context ?: return
         when (feature.clickAction) {
-            "OPEN_DAILY" -> Toast.makeText(context, "Daily Bonus: ${feature.rewardText}", Toast.LENGTH_SHORT).show()
-            "OPEN_SPIN" -> Toast.makeText(context, "Spin Wheel: ${feature.rewardText}", Toast.LENGTH_SHORT).show()
-            "OPEN_SCRATCH" -> Toast.makeText(context, "Scratch Card: ${feature.rewardText}", Toast.LENGTH_SHORT).show()
+            "OPEN_DAILY" -> startActivity(Intent(ctx, DailyBonusActivity::class.java))
+            "OPEN_SPIN" -> startActivity(Intent(ctx, SpinWheelActivity::class.java))
+            "OPEN_SCRATCH" -> startActivity(Intent(ctx, ScratchCardActivity::class.java))
             "OPEN_VIDEO" -> Toast.makeText(context, "Watch Video: ${feature.rewardText}", Toast.LENGTH_SHORT).show()
         }
     }
 
+    /**
+     * Tiles on the home screen are the likeliest next tap; fetch their status now
+     * so the reward screen can render as soon as it opens
+     */
+    private fun prefetchRewardScreens(features: List<AdminFeatureItem>? = featuresAdapter?.currentList) {
+        val ctx = context ?: return
+        val actions = features?.filter { it.isVisible }?.map { it.clickAction } ?: return
+        RewardPrefetcher.getInstance(ctx).prefetch(actions)
+    }
+
     private fun startAutoSlide() {
         autoSlideJob?.cancel()
         autoSlideJob = lifecycleScope.launch {
@@ -284,6 +291,7 @@ class HomeFragment : Fragment() {
     override fun onResume() {
         super.onResume()
         startAutoSlide()
+        prefetchRewardScreens()
     }
 
     override fun onPause() {
@@ -2,7 +2,6 @@ package com.earnzy.app.fragments
 
 import android.content.Intent
 import android.os.Bundle
-import android.provider.Settings
 import android.util.Log
 import android.view.LayoutInflater
 import android.view.View
@@ -15,7 +14,14 @@ import com.earnzy.app.Activity.LeaderboardActivity
 import com.earnzy.app.Activity.ReferralActivity
 import com.earnzy.app.Activity.SupportChatActivity
 import com.earnzy.app.R
+import com.earnzy.app.managers.AchievementEngine
+import com.earnzy.app.network.ClaimOutbox
 import com.earnzy.app.network.FeaturesApiClient
+import com.earnzy.app.network.IdTokenProvider
+import com.earnzy.app.network.LeaderboardRepository
+import com.earnzy.app.network.RequestContextProvider
+import com.earnzy.app.network.RewardPrefetcher
+import com.earnzy.app.network.SupportChatChannel
 import com.earnzy.app.utils.AnimationUtils
 import com.google.android.material.button.MaterialButton
 import com.google.android.material.card.MaterialCardView
@@ -24,7 +30,6 @@ import com.google.android.material.textview.MaterialTextView
 import com.google.firebase.auth.FirebaseAuth
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.launch
-import kotlinx.coroutines.tasks.await
 import kotlinx.coroutines.withContext
 
 class ProfileFragment : Fragment() {
@@ -132,14 +137,8 @@ class ProfileFragment : Fragment() {
                 }
 
                 val ctx = context ?: return@launch
-                val idToken = try { user.getIdToken(false).await().token ?: "" } catch (e: Exception) { "" }
-                val deviceID = Settings.Secure.getString(ctx.contentResolver, Settings.Secure.ANDROID_ID) ?: "unknown"
-                val deviceToken = ""
-                val isVpn = false
-                val isSslProxy = false
-
                 val response = withContext(Dispatchers.IO) {
-                    FeaturesApiClient.getUserProfile(ctx, idToken, deviceID, deviceToken, isVpn, isSslProxy)
+                    FeaturesApiClient.getUserProfile(ctx, RequestContextProvider.current(ctx))
                 }
 
                 if (isAdded && response != null) {
@@ -191,7 +190,16 @@ class ProfileFragment : Fragment() {
     }
 
     private fun performLogout() {
+        val ctx = requireContext()
+        // Per-user data must not carry over to the next account on this device
+        SupportChatChannel.clearOnLogout(ctx)
+        // Queued claims are kept for their owner; only background delivery stops
+        ClaimOutbox.getInstance(ctx).pause()
+        AchievementEngine.getInstance(ctx).clear()
+        LeaderboardRepository.getInstance(ctx).clear()
+        RewardPrefetcher.getInstance(ctx).clear()
         FirebaseAuth.getInstance().signOut()
+        IdTokenProvider.invalidate()
         Toast.makeText(context, "Logged out successfully", Toast.LENGTH_SHORT).show()
         requireActivity().finish()
     }
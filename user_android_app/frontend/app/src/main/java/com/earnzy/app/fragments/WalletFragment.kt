@@ -1,7 +1,6 @@
 package com.earnzy.app.fragments
 
 import android.os.Bundle
-import android.provider.Settings
 import android.util.Log
 import android.view.LayoutInflater
 import android.view.View
@@ -15,15 +14,14 @@ import com.earnzy.app.R
 import com.earnzy.app.adapters.TransactionAdapter
 import com.earnzy.app.models.Transaction
 import com.earnzy.app.network.FeaturesApiClient
+import com.earnzy.app.network.RequestContextProvider
 import com.earnzy.app.utils.AnimationUtils
 import com.google.android.material.button.MaterialButton
 import com.google.android.material.card.MaterialCardView
 import com.google.android.material.dialog.MaterialAlertDialogBuilder
 import com.google.android.material.textview.MaterialTextView
-import com.google.firebase.auth.FirebaseAuth
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.launch
-import kotlinx.coroutines.tasks.await
 import kotlinx.coroutines.withContext
 import java.text.NumberFormat
 import java.util.Locale
@@ -120,21 +118,9 @@ class WalletFragment : Fragment() {
     private fun loadWalletData() {
         lifecycleScope.launch {
             try {
-                val auth = FirebaseAuth.getInstance()
-                val user = auth.currentUser ?: run {
-                    setupMockWallet()
-                    return@launch
-                }
-
                 val ctx = context ?: return@launch
-                val idToken = try { user.getIdToken(false).await().token ?: "" } catch (e: Exception) { "" }
-                val deviceID = Settings.Secure.getString(ctx.contentResolver, Settings.Secure.ANDROID_ID) ?: "unknown"
-                val deviceToken = ""
-                val isVpn = false
-                val isSslProxy = false
-
                 val response = withContext(Dispatchers.IO) {
-                    FeaturesApiClient.getUserProfile(ctx, idToken, deviceID, deviceToken, isVpn, isSslProxy)
+                    FeaturesApiClient.getUserProfile(ctx, RequestContextProvider.current(ctx))
                 }
 
                 if (isAdded && response != null) {
@@ -0,0 +1,289 @@
+package com.earnzy.app.managers
+
+import android.content.Context
+import android.content.SharedPreferences
+import android.util.Log
+import androidx.security.crypto.EncryptedSharedPreferences
+import androidx.security.crypto.MasterKey
+import com.earnzy.app.R
+import com.earnzy.app.models.Achievement
+import com.earnzy.app.network.FeaturesApiClient
+import com.earnzy.app.network.IdTokenProvider
+import com.earnzy.app.network.RequestContextProvider
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+import org.json.JSONArray
+import org.json.JSONObject
+
+data class AchievementSummary(
+    val unlockedCount: Int,
+    val totalCount: Int,
+    val progressPercent: Int,
+    val totalRewards: Int
+)
+
+/**
+ * Keeps achievement definitions and progress on the device.
+ * Progress counters move locally as the app observes claims being acknowledged
+ * (tasks, spins, daily bonus streaks), so the achievements screen can open from
+ * cache. The server stays authoritative: the achievements screen calls [reconcile]
+ * when it opens, which only goes to the network if the cache is older than
+ * [SYNC_INTERVAL_MS] (or the call is forced). Nothing syncs in the background.
+ * The cache is stored per signed-in user and wiped by [clear] on sign-out.
+ */
+class AchievementEngine private constructor(private val context: Context) {
+
+    private var securePrefs: SharedPreferences? = null
+    private val lock = Any()
+    // Owner of the in-memory list; guarded by lock
+    private var uid: String? = null
+    private val syncLock = Mutex()
+    private var syncedAt = 0L
+    private var lastLocalUpdate = 0L
+
+    private val _achievements = MutableStateFlow<List<Achievement>>(emptyList())
+    val achievements: StateFlow<List<Achievement>> = _achievements
+
+    companion object {
+        private const val TAG = "AchievementEngine"
+        private const val SYNC_INTERVAL_MS = 30 * 60 * 1000L
+
+        const val METRIC_TASKS = "tasks_completed"
+        const val METRIC_SPINS = "spins"
+        const val METRIC_BONUS_STREAK = "bonus_streak"
+        const val METRIC_REFERRALS = "referrals"
+
+        @Volatile
+        private var instance: AchievementEngine? = null
+
+        fun getInstance(context: Context): AchievementEngine {
+            return instance ?: synchronized(this) {
+                instance ?: AchievementEngine(context.applicationContext).also {
+                    instance = it
+                    it.initializeSecureStorage()
+                }
+            }.also { it.switchUser() }
+        }
+
+        private fun achievementsKey(uid: String) = "achievements_$uid"
+        private fun syncedAtKey(uid: String) = "syncedAt_$uid"
+
+        fun summarize(achievements: List<Achievement>): AchievementSummary {
+            var unlocked = 0
+            var rewards = 0
+            for (achievement in achievements) {
+                if (achievement.unlocked) {
+                    unlocked++
+                    rewards += achievement.reward
+                }
+            }
+            val total = achievements.size
+            return AchievementSummary(unlocked, total, if (total > 0) unlocked * 100 / total else 0, rewards)
+        }
+    }
+
+    private fun initializeSecureStorage() {
+        try {
+            val masterKey = MasterKey.Builder(context)
+                .setKeyScheme(MasterKey.KeyScheme.AES256_GCM)
+                .build()
+
+            securePrefs = EncryptedSharedPreferences.create(
+                context,
+                "SecureAchievementPrefs",
+                masterKey,
+                EncryptedSharedPreferences.PrefKeyEncryptionScheme.AES256_SIV,
+                EncryptedSharedPreferences.PrefValueEncryptionScheme.AES256_GCM
+            )
+
+            // Written before per-user keys existed; there is no telling whose it was
+            securePrefs?.edit()?.remove("achievements")?.remove("syncedAt")?.apply()
+        } catch (e: Exception) {
+            Log.e(TAG, "Security setup failed", e)
+        }
+    }
+
+    /** Swaps the in-memory list for the signed-in user's cache when the user has changed */
+    private fun switchUser() {
+        val current = IdTokenProvider.currentUid()
+        synchronized(lock) {
+            if (current == uid) return
+            uid = current
+            syncedAt = 0L
+            lastLocalUpdate = 0L
+            _achievements.value = emptyList()
+            if (current != null) loadCached(current)
+        }
+    }
+
+    // Must be called with lock held
+    private fun loadCached(owner: String) {
+        val prefs = securePrefs ?: return
+        try {
+            val cached = prefs.getString(achievementsKey(owner), null) ?: return
+            syncedAt = prefs.getLong(syncedAtKey(owner), 0L)
+            _achievements.value = parse(JSONArray(cached))
+        } catch (e: Exception) {
+            Log.e(TAG, "Discarding corrupt achievement cache", e)
+            prefs.edit().remove(achievementsKey(owner)).remove(syncedAtKey(owner)).apply()
+        }
+    }
+
+    /** Drops every user's cached progress, e.g. on sign-out */
+    fun clear() {
+        synchronized(lock) {
+            uid = null
+            syncedAt = 0L
+            lastLocalUpdate = 0L
+            _achievements.value = emptyList()
+            securePrefs?.edit()?.clear()?.apply()
+        }
+    }
+
+    val hasCache: Boolean
+        get() = _achievements.value.isNotEmpty()
+
+    /**
+     * Adds [amount] to every open achievement tracking [metric]
+     */
+    fun increment(metric: String, amount: Int = 1) {
+        update(metric) { it.progress + amount }
+    }
+
+    /**
+     * Raises [metric] to at least [value], for counters the server reports as a total (streaks)
+     */
+    fun recordAtLeast(metric: String, value: Int) {
+        update(metric) { maxOf(it.progress, value) }
+    }
+
+    /**
+     * Hook for ClaimOutbox: turns an acknowledged claim into counter updates
+     */
+    fun onClaimAcknowledged(action: String, response: JSONObject) {
+        when (action) {
+            "completeTask" -> increment(METRIC_TASKS)
+            "spinWheel" -> increment(METRIC_SPINS)
+            "claimDailyBonus" -> if (response.has("streak")) {
+                recordAtLeast(METRIC_BONUS_STREAK, response.optInt("streak"))
+            }
+        }
+    }
+
+    private fun update(metric: String, progressOf: (Achievement) -> Int) {
+        synchronized(lock) {
+            var changed = false
+            val updated = _achievements.value.map { achievement ->
+                if (achievement.metric != metric || achievement.isCompleted) return@map achievement
+                val progress = progressOf(achievement).coerceAtMost(achievement.maxProgress)
+                if (progress == achievement.progress) return@map achievement
+                changed = true
+                val completed = progress >= achievement.maxProgress
+                achievement.copy(
+                    progress = progress,
+                    isCompleted = completed,
+                    unlocked = achievement.unlocked || completed
+                )
+            }
+            if (!changed) return
+            lastLocalUpdate = System.currentTimeMillis()
+            _achievements.value = updated
+            persist(updated)
+        }
+    }
+
+    /**
+     * Fetches the server's view when the cache is missing, stale or [force]d.
+     * Returns false only when there is still nothing to show.
+     */
+    suspend fun reconcile(force: Boolean = false): Boolean = withContext(Dispatchers.IO) {
+        switchUser()
+        syncLock.withLock {
+            if (!force && hasCache && System.currentTimeMillis() - syncedAt < SYNC_INTERVAL_MS) {
+                return@withLock true
+            }
+
+            val owner = synchronized(lock) { uid } ?: return@withLock false
+            val startedAt = System.currentTimeMillis()
+            try {
+                val response = FeaturesApiClient.getAchievements(context, RequestContextProvider.current(context))
+                if (response.optString("status") != "success") return@withLock hasCache
+
+                val server = parse(response.getJSONArray("achievements"))
+                synchronized(lock) {
+                    // Signed out or switched accounts while the request was in flight
+                    if (uid != owner) return@withLock hasCache
+                    // Counters bumped while the request was in flight may not be in the server's numbers yet
+                    val local = if (lastLocalUpdate >= startedAt) _achievements.value.associateBy { it.id } else emptyMap()
+                    val merged = server.map { achievement ->
+                        val mine = local[achievement.id]
+                        if (mine != null && mine.progress > achievement.progress) {
+                            achievement.copy(progress = mine.progress, isCompleted = mine.isCompleted, unlocked = mine.unlocked)
+                        } else {
+                            achievement
+                        }
+                    }
+                    syncedAt = System.currentTimeMillis()
+                    _achievements.value = merged
+                    persist(merged)
+                }
+                true
+            } catch (e: Exception) {
+                Log.e(TAG, "Achievement sync failed", e)
+                hasCache
+            }
+        }
+    }
+
+    // Must be called with lock held
+    private fun persist(achievements: List<Achievement>) {
+        val array = JSONArray()
+        for (achievement in achievements) {
+            array.put(JSONObject().apply {
+                put("id", achievement.id)
+                put("name", achievement.title)
+                put("description", achievement.description)
+                put("category", achievement.category)
+                put("unlocked", achievement.unlocked)
+                put("progress", achievement.progress)
+                put("maxProgress", achievement.maxProgress)
+                put("isCompleted", achievement.isCompleted)
+                put("reward", achievement.reward)
+                put("metric", achievement.metric)
+            })
+        }
+        val owner = uid ?: return
+        securePrefs?.edit()
+            ?.putString(achievementsKey(owner), array.toString())
+            ?.putLong(syncedAtKey(owner), syncedAt)
+            ?.apply()
+    }
+
+    // Same shape for the worker response and the local cache
+    private fun parse(array: JSONArray): List<Achievement> {
+        val achievements = ArrayList<Achievement>(array.length())
+        for (i in 0 until array.length()) {
+            val item = array.getJSONObject(i)
+            achievements.add(
+                Achievement(
+                    id = item.optString("id", "unknown_${i}"),
+                    title = item.getString("name"),
+                    description = item.getString("description"),
+                    category = item.optString("category", "general"),
+                    icon = R.drawable.ic_achievement,
+                    unlocked = item.optBoolean("unlocked", false),
+                    progress = item.optInt("progress", if (item.optBoolean("unlocked", false)) 1 else 0),
+                    maxProgress = item.optInt("maxProgress", 1),
+                    isCompleted = item.optBoolean("isCompleted", item.optBoolean("unlocked", false)),
+                    reward = item.optInt("reward", 0),
+                    metric = item.optString("metric", "")
+                )
+            )
+        }
+        return achievements
+    }
+}
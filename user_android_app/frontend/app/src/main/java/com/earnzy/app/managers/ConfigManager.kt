@@ -87,7 +87,7 @@ class ConfigManager private constructor(private val context: Context) {
 
                 if (response.getString("success") == "true") {
                     val configJson = response.getJSONObject("config").toString()
-                    val config = gson.fromJson(configJson, AppConfig::class.java)
+                    val config = validated(gson.fromJson(configJson, AppConfig::class.java))
                     _appConfig.value = config
                     
                     // Cache config in encrypted storage
@@ -105,7 +105,7 @@ class ConfigManager private constructor(private val context: Context) {
         try {
             val cachedConfigJson = securePrefs.getString("app_config", null)
             if (cachedConfigJson != null) {
-                val config = gson.fromJson(cachedConfigJson, AppConfig::class.java)
+                val config = validated(gson.fromJson(cachedConfigJson, AppConfig::class.java))
                 _appConfig.value = config
             }
         } catch (e: Exception) {
@@ -113,6 +113,43 @@ class ConfigManager private constructor(private val context: Context) {
         }
     }
 
+    /**
+     * Gson ignores Kotlin nullability and defaults, so a config missing a section
+     * or field comes back with nulls in non-null properties. Anything missing or
+     * unusable falls back to the default for that section.
+     */
+    @Suppress("SENSELESS_COMPARISON", "USELESS_ELVIS", "UNNECESSARY_SAFE_CALL", "USELESS_CAST")
+    private fun validated(parsed: AppConfig?): AppConfig {
+        val defaults = getDefaultConfig()
+        if (parsed == null) return defaults
+
+        val spinWheel = parsed.spinWheel?.takeIf {
+            it.rewards != null && it.rewards.isNotEmpty() && it.rewards.all { reward -> (reward as Int?) != null } &&
+                    it.wheelImageUrl != null && it.backgroundImageUrl != null && it.lottieAnimationUrl != null
+        } ?: defaults.spinWheel
+        val dailyBonus = parsed.dailyBonus?.let {
+            if (it.lottieAnimationUrl == null) return@let null
+            val gradient = it.backgroundGradient
+            if (gradient == null || gradient.startColor == null || gradient.endColor == null) {
+                it.copy(backgroundGradient = defaults.dailyBonus.backgroundGradient)
+            } else {
+                it
+            }
+        } ?: defaults.dailyBonus
+        val lottie = parsed.lottieAnimations?.takeIf {
+            it.homeAnimation != null && it.dailyBonusAnimation != null && it.spinWheelAnimation != null &&
+                    it.scratchCardAnimation != null && it.successAnimation != null && it.loadingAnimation != null
+        } ?: defaults.lottieAnimations
+
+        return AppConfig(
+            features = parsed.features ?: defaults.features,
+            spinWheel = spinWheel,
+            dailyBonus = dailyBonus,
+            lottieAnimations = lottie,
+            performance = parsed.performance
+        )
+    }
+
     fun isFeatureEnabled(featureName: String): Boolean {
         return when (featureName) {
             "daily_bonus" -> _appConfig.value.features.dailyBonusEnabled
@@ -129,6 +166,10 @@ class ConfigManager private constructor(private val context: Context) {
         }
     }
 
+    fun isFrameMonitorEnabled(): Boolean {
+        return _appConfig.value.performance?.frameMonitorEnabled == true
+    }
+
     fun getSpinWheelConfig(): SpinWheelConfig {
         return _appConfig.value.spinWheel
     }
@@ -0,0 +1,210 @@
+package com.earnzy.app.managers
+
+import android.content.Context
+import android.os.Bundle
+import android.view.View
+import androidx.appcompat.app.AppCompatActivity
+import androidx.lifecycle.DefaultLifecycleObserver
+import androidx.lifecycle.LifecycleOwner
+import androidx.metrics.performance.FrameData
+import androidx.metrics.performance.JankStats
+import androidx.metrics.performance.PerformanceMetricsState
+import androidx.metrics.performance.StateInfo
+import androidx.recyclerview.widget.RecyclerView
+import androidx.viewpager2.widget.ViewPager2
+import com.earnzy.app.network.RequestTelemetry
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+
+/**
+ * Frame timing per screen, built on JankStats. Each frame is attributed to the
+ * UI states set on its view hierarchy ("screen" plus things like a pager that
+ * is settling), folded into a 1 ms histogram, and reported as p50/p90/p99 via
+ * [RequestTelemetry] when the screen pauses.
+ *
+ * Off unless remote config enables it; the flag is re-read on every resume.
+ */
+class FrameMonitor private constructor(private val context: Context) {
+
+    data class FrameSummary(
+        val screen: String,
+        val frames: Int,
+        val jankFrames: Int,
+        val p50Ms: Int,
+        val p90Ms: Int,
+        val p99Ms: Int
+    )
+
+    internal class Histogram {
+        val buckets = IntArray(MAX_FRAME_MS + 1)
+        var frames = 0
+        var jankFrames = 0
+
+        fun add(durationMs: Int, isJank: Boolean) {
+            buckets[durationMs.coerceIn(0, MAX_FRAME_MS)]++
+            frames++
+            if (isJank) jankFrames++
+        }
+
+        fun percentile(p: Double): Int {
+            val rank = ((frames - 1) * p).toInt()
+            var seen = 0
+            for (ms in buckets.indices) {
+                seen += buckets[ms]
+                if (seen > rank) return ms
+            }
+            return MAX_FRAME_MS
+        }
+    }
+
+    private val histograms = HashMap<String, Histogram>()
+
+    private val _summaries = MutableStateFlow<List<FrameSummary>>(emptyList())
+    val summaries: StateFlow<List<FrameSummary>> = _summaries
+
+    // Called on the FrameMetrics thread; FrameData is reused, so read it here and keep nothing
+    private val frameListener = JankStats.OnFrameListener { frame -> record(frame) }
+
+    companion object {
+        private const val EVENT_NAME = "frame_stats"
+        private const val STATE_SCREEN = "screen"
+        internal const val MAX_FRAME_MS = 700 // anything slower lands in the last bucket
+        private const val MIN_FRAMES = 30
+
+        @Volatile
+        private var instance: FrameMonitor? = null
+
+        fun getInstance(context: Context): FrameMonitor {
+            return instance ?: synchronized(this) {
+                instance ?: FrameMonitor(context.applicationContext).also { instance = it }
+            }
+        }
+
+        /** Marks frames drawn under [view]'s hierarchy with [key]=[value] until removed */
+        fun putState(view: View, key: String, value: String) {
+            PerformanceMetricsState.getHolderForHierarchy(view).state?.putState(key, value)
+        }
+
+        fun removeState(view: View, key: String) {
+            PerformanceMetricsState.getHolderForHierarchy(view).state?.removeState(key)
+        }
+
+        /** Attributes frames to [key] while [pager] is being dragged or settling */
+        fun trackPager(pager: ViewPager2, key: String) {
+            pager.registerOnPageChangeCallback(object : ViewPager2.OnPageChangeCallback() {
+                override fun onPageScrollStateChanged(state: Int) {
+                    when (state) {
+                        ViewPager2.SCROLL_STATE_DRAGGING -> putState(pager, key, "dragging")
+                        ViewPager2.SCROLL_STATE_SETTLING -> putState(pager, key, "settling")
+                        else -> removeState(pager, key)
+                    }
+                }
+            })
+        }
+
+        /** Attributes frames to [key] while [list] is scrolling */
+        fun trackScroll(list: RecyclerView, key: String) {
+            list.addOnScrollListener(object : RecyclerView.OnScrollListener() {
+                override fun onScrollStateChanged(recyclerView: RecyclerView, newState: Int) {
+                    if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                        removeState(recyclerView, key)
+                    } else {
+                        putState(recyclerView, key, "scrolling")
+                    }
+                }
+            })
+        }
+
+        /** "screen" alone for plain frames, "screen key=value ..." while other states are set */
+        internal fun attribution(states: List<StateInfo>): String {
+            var screen = "unknown"
+            for (state in states) {
+                if (state.key == STATE_SCREEN) screen = state.value
+            }
+            if (states.isEmpty() || (states.size == 1 && states[0].key == STATE_SCREEN)) return screen
+
+            val out = StringBuilder(screen)
+            states.filter { it.key != STATE_SCREEN }
+                .sortedBy { it.key }
+                .forEach { out.append(' ').append(it.key).append('=').append(it.value) }
+            return out.toString()
+        }
+    }
+
+    /**
+     * Starts attributing [activity]'s frames to [screen]. Call after
+     * setContentView so fragments can add their own states from onResume.
+     * Tracking runs while the activity is resumed and the flag is on.
+     */
+    fun track(activity: AppCompatActivity, screen: String) {
+        val config = ConfigManager.getInstance(context)
+        var jankStats: JankStats? = null
+
+        fun attach(): JankStats {
+            return jankStats ?: JankStats.createAndTrack(activity.window, frameListener).also {
+                jankStats = it
+                putState(activity.window.decorView, STATE_SCREEN, screen)
+            }
+        }
+
+        if (config.isFrameMonitorEnabled()) attach()
+
+        activity.lifecycle.addObserver(object : DefaultLifecycleObserver {
+            override fun onResume(owner: LifecycleOwner) {
+                if (config.isFrameMonitorEnabled()) {
+                    attach().isTrackingEnabled = true
+                } else {
+                    jankStats?.isTrackingEnabled = false
+                }
+            }
+
+            override fun onPause(owner: LifecycleOwner) {
+                val stats = jankStats ?: return
+                stats.isTrackingEnabled = false
+                flush()
+            }
+        })
+    }
+
+    private fun record(frame: FrameData) {
+        val key = attribution(frame.states)
+        val durationMs = (frame.frameDurationUiNanos / 1_000_000).toInt()
+        synchronized(histograms) {
+            histograms.getOrPut(key) { Histogram() }.add(durationMs, frame.isJank)
+        }
+    }
+
+    /** Reports and resets every screen/state bucket with enough frames */
+    fun flush() {
+        val drained = synchronized(histograms) {
+            val ready = histograms.filterValues { it.frames >= MIN_FRAMES }
+            ready.keys.forEach { histograms.remove(it) }
+            ready
+        }
+        if (drained.isEmpty()) return
+
+        val summaries = drained.map { (screen, h) ->
+            FrameSummary(
+                screen = screen,
+                frames = h.frames,
+                jankFrames = h.jankFrames,
+                p50Ms = h.percentile(0.50),
+                p90Ms = h.percentile(0.90),
+                p99Ms = h.percentile(0.99)
+            )
+        }
+        _summaries.value = summaries
+
+        val telemetry = RequestTelemetry.getInstance(context)
+        for (s in summaries) {
+            telemetry.report(EVENT_NAME, Bundle().apply {
+                putString("screen", s.screen)
+                putLong("frames", s.frames.toLong())
+                putLong("jank_frames", s.jankFrames.toLong())
+                putLong("p50_ms", s.p50Ms.toLong())
+                putLong("p90_ms", s.p90Ms.toLong())
+                putLong("p99_ms", s.p99Ms.toLong())
+            })
+        }
+    }
+}
@@ -4,7 +4,9 @@ data class AppConfig(
     val features: FeatureConfig,
     val spinWheel: SpinWheelConfig,
     val dailyBonus: DailyBonusConfig,
-    val lottieAnimations: LottieAnimationConfig
+    val lottieAnimations: LottieAnimationConfig,
+    // Nullable: Gson leaves it null for configs cached before the field existed
+    val performance: PerformanceConfig? = null
 )
 
 data class FeatureConfig(
@@ -45,6 +47,10 @@ data class LottieAnimationConfig(
     val loadingAnimation: String = ""
 )
 
+data class PerformanceConfig(
+    val frameMonitorEnabled: Boolean = false
+)
+
 data class GradientConfig(
     val startColor: String = "#F59E0B",
     val endColor: String = "#EC4899",
@@ -1,7 +1,33 @@
 package com.earnzy.app.models
 
+import java.util.UUID
+
+/**
+ * A support chat message. [seq] is the server-assigned sequence number; it is 0
+ * while a sent message is still waiting for its ack, matched by [clientId].
+ */
 data class ChatMessage(
     val text: String,
     val isSent: Boolean,
-    val timestamp: Long
-)
+    val timestamp: Long,
+    val seq: Long = 0L,
+    val clientId: String? = null
+) {
+    /**
+     * RecyclerView item id. Messages sent from this device are keyed by [clientId]
+     * (negative range) so the id survives the pending -> acknowledged transition;
+     * everything else uses [seq].
+     */
+    val stableId: Long = if (clientId == null) seq else clientIdToLong(clientId)
+
+    private companion object {
+        fun clientIdToLong(clientId: String): Long {
+            val bits = try {
+                UUID.fromString(clientId).leastSignificantBits
+            } catch (e: IllegalArgumentException) {
+                clientId.hashCode().toLong()
+            }
+            return bits or Long.MIN_VALUE
+        }
+    }
+}
@@ -52,13 +52,14 @@ data class Achievement(
     val progress: Int,
     val maxProgress: Int,
     val isCompleted: Boolean,
-    val reward: Int
+    val reward: Int,
+    // Counter this achievement tracks ("tasks_completed", "spins", ...); empty when server-only
+    val metric: String = ""
 ) {
-    val progressPercentage: Int
-        get() = if (maxProgress > 0) (progress * 100 / maxProgress) else 0
+    // Computed once per instance rather than on every bind
+    val progressPercentage: Int = if (maxProgress > 0) (progress * 100 / maxProgress).coerceAtMost(100) else 0
 
-    val progressText: String
-        get() = "$progress / $maxProgress"
+    val progressText: String = "$progress / $maxProgress"
 }
 
 
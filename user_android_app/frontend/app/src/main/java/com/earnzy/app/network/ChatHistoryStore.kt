@@ -0,0 +1,161 @@
+package com.earnzy.app.network
+
+import android.content.ContentValues
+import android.content.Context
+import android.database.sqlite.SQLiteDatabase
+import android.database.sqlite.SQLiteOpenHelper
+import android.security.keystore.KeyGenParameterSpec
+import android.security.keystore.KeyProperties
+import android.util.Log
+import com.earnzy.app.models.ChatMessage
+import java.nio.charset.StandardCharsets
+import java.security.GeneralSecurityException
+import java.security.KeyStore
+import javax.crypto.Cipher
+import javax.crypto.KeyGenerator
+import javax.crypto.SecretKey
+import javax.crypto.spec.GCMParameterSpec
+
+/** Where [SupportChatChannel] keeps acknowledged messages */
+interface ChatHistory {
+    fun insert(uid: String, message: ChatMessage)
+    fun lastSeq(uid: String): Long
+    fun pageBefore(uid: String, beforeSeq: Long, limit: Int): List<ChatMessage>
+    fun clear()
+}
+
+/**
+ * On-device support chat history, keyed by user and server sequence number.
+ * Only acknowledged messages are stored; pending sends live in memory.
+ * Message text is encrypted at rest with an AES-GCM key held in the Android
+ * Keystore, so the database file alone does not reveal the conversation.
+ */
+class ChatHistoryStore(context: Context) : SQLiteOpenHelper(context, DB_NAME, null, DB_VERSION), ChatHistory {
+
+    companion object {
+        private const val TAG = "ChatHistoryStore"
+        private const val DB_NAME = "support_chat.db"
+        // 2: per-user rows, encrypted text
+        private const val DB_VERSION = 2
+        private const val TABLE = "messages"
+
+        private const val KEYSTORE = "AndroidKeyStore"
+        private const val KEY_ALIAS = "earnzy_support_chat"
+        private const val TRANSFORMATION = "AES/GCM/NoPadding"
+        private const val IV_SIZE = 12
+        private const val TAG_BITS = 128
+    }
+
+    private val key: SecretKey by lazy { loadOrCreateKey() }
+
+    override fun onCreate(db: SQLiteDatabase) {
+        db.execSQL(
+            "CREATE TABLE $TABLE (" +
+                    "uid TEXT NOT NULL, " +
+                    "seq INTEGER NOT NULL, " +
+                    "client_id TEXT, " +
+                    "body BLOB NOT NULL, " +
+                    "is_sent INTEGER NOT NULL, " +
+                    "timestamp INTEGER NOT NULL, " +
+                    "PRIMARY KEY (uid, seq))"
+        )
+    }
+
+    override fun onUpgrade(db: SQLiteDatabase, oldVersion: Int, newVersion: Int) {
+        // Version 1 rows were plaintext and not tied to a user; the server resends them
+        db.execSQL("DROP TABLE IF EXISTS $TABLE")
+        onCreate(db)
+    }
+
+    override fun insert(uid: String, message: ChatMessage) {
+        val body = try {
+            encrypt(message.text)
+        } catch (e: Exception) {
+            Log.e(TAG, "Could not encrypt message ${message.seq}", e)
+            return
+        }
+        val values = ContentValues(6).apply {
+            put("uid", uid)
+            put("seq", message.seq)
+            put("client_id", message.clientId)
+            put("body", body)
+            put("is_sent", if (message.isSent) 1 else 0)
+            put("timestamp", message.timestamp)
+        }
+        writableDatabase.insertWithOnConflict(TABLE, null, values, SQLiteDatabase.CONFLICT_REPLACE)
+    }
+
+    override fun lastSeq(uid: String): Long {
+        readableDatabase.rawQuery("SELECT MAX(seq) FROM $TABLE WHERE uid = ?", arrayOf(uid)).use { cursor ->
+            return if (cursor.moveToFirst() && !cursor.isNull(0)) cursor.getLong(0) else 0L
+        }
+    }
+
+    /**
+     * Up to [limit] of [uid]'s messages older than [beforeSeq], in ascending order.
+     * Pass Long.MAX_VALUE to read the most recent page.
+     */
+    override fun pageBefore(uid: String, beforeSeq: Long, limit: Int): List<ChatMessage> {
+        val page = ArrayList<ChatMessage>(limit)
+        readableDatabase.rawQuery(
+            "SELECT seq, client_id, body, is_sent, timestamp FROM $TABLE " +
+                    "WHERE uid = ? AND seq < ? ORDER BY seq DESC LIMIT ?",
+            arrayOf(uid, beforeSeq.toString(), limit.toString())
+        ).use { cursor ->
+            while (cursor.moveToNext()) {
+                val text = try {
+                    decrypt(cursor.getBlob(2))
+                } catch (e: Exception) {
+                    // Key was reset (e.g. restored backup); the server can resend the history
+                    Log.w(TAG, "Skipping unreadable message ${cursor.getLong(0)}", e)
+                    continue
+                }
+                page.add(
+                    ChatMessage(
+                        text = text,
+                        isSent = cursor.getInt(3) == 1,
+                        timestamp = cursor.getLong(4),
+                        seq = cursor.getLong(0),
+                        clientId = if (cursor.isNull(1)) null else cursor.getString(1)
+                    )
+                )
+            }
+        }
+        page.reverse()
+        return page
+    }
+
+    /** Removes every stored conversation, e.g. on sign-out */
+    override fun clear() {
+        writableDatabase.delete(TABLE, null, null)
+    }
+
+    private fun encrypt(text: String): ByteArray {
+        val cipher = Cipher.getInstance(TRANSFORMATION)
+        cipher.init(Cipher.ENCRYPT_MODE, key)
+        val sealed = cipher.doFinal(text.toByteArray(StandardCharsets.UTF_8))
+        return cipher.iv + sealed
+    }
+
+    private fun decrypt(body: ByteArray): String {
+        if (body.size <= IV_SIZE) throw GeneralSecurityException("Truncated message body")
+        val cipher = Cipher.getInstance(TRANSFORMATION)
+        cipher.init(Cipher.DECRYPT_MODE, key, GCMParameterSpec(TAG_BITS, body, 0, IV_SIZE))
+        return String(cipher.doFinal(body, IV_SIZE, body.size - IV_SIZE), StandardCharsets.UTF_8)
+    }
+
+    private fun loadOrCreateKey(): SecretKey {
+        val keyStore = KeyStore.getInstance(KEYSTORE).apply { load(null) }
+        (keyStore.getKey(KEY_ALIAS, null) as? SecretKey)?.let { return it }
+
+        val generator = KeyGenerator.getInstance(KeyProperties.KEY_ALGORITHM_AES, KEYSTORE)
+        generator.init(
+            KeyGenParameterSpec.Builder(KEY_ALIAS, KeyProperties.PURPOSE_ENCRYPT or KeyProperties.PURPOSE_DECRYPT)
+                .setBlockModes(KeyProperties.BLOCK_MODE_GCM)
+                .setEncryptionPaddings(KeyProperties.ENCRYPTION_PADDING_NONE)
+                .setKeySize(256)
+                .build()
+        )
+        return generator.generateKey()
+    }
+}
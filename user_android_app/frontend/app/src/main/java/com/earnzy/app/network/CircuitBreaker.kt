@@ -0,0 +1,65 @@
+package com.earnzy.app.network
+
+import android.os.SystemClock
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Per-host circuit breaker for worker calls.
+ * After repeated transport or 5xx failures the host is short-circuited for a
+ * cool-down period, then a single probe request decides whether to close again.
+ */
+class CircuitBreaker private constructor() {
+
+    private enum class State { CLOSED, OPEN, HALF_OPEN }
+
+    private var state = State.CLOSED
+    private var consecutiveFailures = 0
+    private var openedAt = 0L
+    private var probeStartedAt = 0L
+
+    companion object {
+        private const val FAILURE_THRESHOLD = 5
+        private const val OPEN_DURATION_MS = 30_000L
+
+        private val breakers = ConcurrentHashMap<String, CircuitBreaker>()
+
+        fun forHost(host: String): CircuitBreaker {
+            return breakers.computeIfAbsent(host) { CircuitBreaker() }
+        }
+    }
+
+    @Synchronized
+    fun allowRequest(): Boolean {
+        val now = SystemClock.elapsedRealtime()
+        return when (state) {
+            State.CLOSED -> true
+            State.OPEN -> {
+                if (now - openedAt < OPEN_DURATION_MS) return false
+                state = State.HALF_OPEN
+                probeStartedAt = now
+                true
+            }
+            State.HALF_OPEN -> {
+                // Let a new probe through if the previous one never reported back
+                if (now - probeStartedAt < OPEN_DURATION_MS) return false
+                probeStartedAt = now
+                true
+            }
+        }
+    }
+
+    @Synchronized
+    fun recordSuccess() {
+        state = State.CLOSED
+        consecutiveFailures = 0
+    }
+
+    @Synchronized
+    fun recordFailure() {
+        consecutiveFailures++
+        if (state == State.HALF_OPEN || consecutiveFailures >= FAILURE_THRESHOLD) {
+            state = State.OPEN
+            openedAt = SystemClock.elapsedRealtime()
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.earnzy.app.network
+
+import android.content.Context
+import android.content.SharedPreferences
+import android.util.Log
+import androidx.security.crypto.EncryptedSharedPreferences
+import androidx.security.crypto.MasterKey
+import androidx.work.BackoffPolicy
+import androidx.work.Constraints
+import androidx.work.ExistingWorkPolicy
+import androidx.work.NetworkType
+import androidx.work.OneTimeWorkRequestBuilder
+import androidx.work.WorkManager
+import com.earnzy.app.managers.AchievementEngine
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.update
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+import org.json.JSONObject
+import java.util.UUID
+import java.util.concurrent.TimeUnit
+
+enum class OutboxState { PENDING, SENDING, ACKNOWLEDGED, REJECTED }
+
+/**
+ * A reward claim waiting for (or done with) server acknowledgement.
+ * [id] doubles as the idempotency key sent to the worker; [uid] is the user
+ * who made the claim, and only that user's session may send it.
+ */
+data class OutboxEntry(
+    val id: String,
+    val uid: String,
+    val action: String,
+    val params: String,
+    val state: OutboxState,
+    val attempts: Int,
+    val createdAt: Long,
+    val response: String? = null
+) {
+    fun toJson(): JSONObject = JSONObject().apply {
+        put("id", id)
+        put("uid", uid)
+        put("action", action)
+        put("params", params)
+        put("state", state.name)
+        put("attempts", attempts)
+        put("createdAt", createdAt)
+        put("response", response)
+    }
+
+    companion object {
+        fun fromJson(json: JSONObject) = OutboxEntry(
+            id = json.getString("id"),
+            uid = json.optString("uid", ""),
+            action = json.getString("action"),
+            params = json.optString("params", "{}"),
+            state = OutboxState.valueOf(json.getString("state")),
+            attempts = json.optInt("attempts", 0),
+            createdAt = json.optLong("createdAt", 0L),
+            response = if (json.isNull("response")) null else json.optString("response")
+        )
+    }
+}
+
+/**
+ * Durable, exactly-once submission queue for reward claims.
+ * Each claim is persisted with a UUID idempotency key before it is sent, and
+ * is retried by [OutboxWorker] until the worker acknowledges or rejects it.
+ * Re-tapping while a claim is still pending reuses the same entry.
+ */
+class ClaimOutbox private constructor(private val context: Context) {
+
+    private var securePrefs: SharedPreferences? = null
+    private val enqueueLock = Mutex()
+    private val sendLock = Mutex()
+
+    private val _entries = MutableStateFlow<List<OutboxEntry>>(emptyList())
+    val entries: StateFlow<List<OutboxEntry>> = _entries
+
+    companion object {
+        private const val TAG = "ClaimOutbox"
+        private const val WORK_NAME = "claim_outbox"
+        private const val RETENTION_MS = 24 * 60 * 60 * 1000L
+
+        @Volatile
+        private var instance: ClaimOutbox? = null
+
+        fun getInstance(context: Context): ClaimOutbox {
+            return instance ?: synchronized(this) {
+                instance ?: ClaimOutbox(context.applicationContext).also {
+                    instance = it
+                    it.initializeSecureStorage()
+                }
+            }
+        }
+    }
+
+    private fun initializeSecureStorage() {
+        try {
+            val masterKey = MasterKey.Builder(context)
+                .setKeyScheme(MasterKey.KeyScheme.AES256_GCM)
+                .build()
+
+            val prefs = EncryptedSharedPreferences.create(
+                context,
+                "SecureOutboxPrefs",
+                masterKey,
+                EncryptedSharedPreferences.PrefKeyEncryptionScheme.AES256_SIV,
+                EncryptedSharedPreferences.PrefValueEncryptionScheme.AES256_GCM
+            )
+            securePrefs = prefs
+
+            loadEntries(prefs)
+        } catch (e: Exception) {
+            Log.e(TAG, "Outbox storage setup failed", e)
+        }
+    }
+
+    private fun loadEntries(prefs: SharedPreferences) {
+        val now = System.currentTimeMillis()
+        val loaded = ArrayList<OutboxEntry>()
+        val editor = prefs.edit()
+
+        for ((key, value) in prefs.all) {
+            val entry = try {
+                OutboxEntry.fromJson(JSONObject(value as String))
+            } catch (e: Exception) {
+                editor.remove(key)
+                continue
+            }
+
+            val finished = entry.state == OutboxState.ACKNOWLEDGED || entry.state == OutboxState.REJECTED
+            when {
+                finished && now - entry.createdAt > RETENTION_MS -> editor.remove(key)
+                // Saved before claims carried a uid; there is no way to tell whose it was
+                entry.uid.isEmpty() -> editor.remove(key)
+                // The process died mid-send; the idempotency key makes a resend safe
+                entry.state == OutboxState.SENDING -> loaded.add(entry.copy(state = OutboxState.PENDING))
+                else -> loaded.add(entry)
+            }
+        }
+        editor.apply()
+
+        _entries.value = loaded.sortedBy { it.createdAt }
+        if (loaded.any { it.state == OutboxState.PENDING }) scheduleDrain()
+    }
+
+    private fun persist(entry: OutboxEntry) {
+        // commit() rather than apply(): the entry must be on disk before it is sent
+        securePrefs?.edit()?.putString(entry.id, entry.toJson().toString())?.commit()
+        _entries.update { list -> list.filter { it.id != entry.id } + entry }
+    }
+
+    /**
+     * Latest entry for [action], so screens can react when a queued claim lands.
+     */
+    fun observe(action: String): Flow<OutboxEntry?> {
+        return entries.map { list -> list.lastOrNull { it.action == action } }
+    }
+
+    /**
+     * Persists the claim and makes one immediate attempt.
+     * Returns the worker's response when it answered, or a status:pending
+     * object when the claim was queued for background delivery.
+     */
+    suspend fun submit(action: String, params: JSONObject = JSONObject()): JSONObject = withContext(Dispatchers.IO) {
+        val uid = IdTokenProvider.currentUid()
+            ?: return@withContext JSONObject()
+                .put("status", "error")
+                .put("message", "Not signed in.")
+
+        // Looked up outside the send lock so a tap during an in-flight send joins that claim
+        val entry = enqueueLock.withLock {
+            val paramsJson = params.toString()
+            _entries.value.firstOrNull {
+                it.uid == uid && it.action == action && it.params == paramsJson &&
+                        (it.state == OutboxState.PENDING || it.state == OutboxState.SENDING)
+            } ?: OutboxEntry(
+                id = UUID.randomUUID().toString(),
+                uid = uid,
+                action = action,
+                params = paramsJson,
+                state = OutboxState.PENDING,
+                attempts = 0,
+                createdAt = System.currentTimeMillis()
+            ).also { persist(it) }
+        }
+
+        val delivered = sendLock.withLock { send(entry) }
+        if (delivered.state == OutboxState.PENDING) {
+            scheduleDrain()
+            JSONObject()
+                .put("status", "pending")
+                .put("message", "Connection is unstable. Your claim is saved and will be submitted automatically.")
+        } else {
+            JSONObject(delivered.response ?: "{}")
+        }
+    }
+
+    /**
+     * Sends every pending claim of the signed-in user once. Returns true when
+     * none of theirs is left pending; other users' claims wait for their session.
+     */
+    suspend fun drain(): Boolean = withContext(Dispatchers.IO) {
+        val uid = IdTokenProvider.currentUid() ?: return@withContext true
+        sendLock.withLock {
+            for (entry in _entries.value.filter { it.uid == uid && it.state == OutboxState.PENDING }) {
+                send(entry)
+            }
+            _entries.value.none { it.uid == uid && it.state == OutboxState.PENDING }
+        }
+    }
+
+    /**
+     * Stops background delivery on sign-out. Unacknowledged claims stay on disk
+     * and are sent again once their owner is back, see [resume].
+     */
+    fun pause() {
+        WorkManager.getInstance(context).cancelUniqueWork(WORK_NAME)
+    }
+
+    /** Schedules delivery of the signed-in user's pending claims, e.g. when a session starts */
+    fun resume() {
+        val uid = IdTokenProvider.currentUid() ?: return
+        if (_entries.value.any { it.uid == uid && it.state == OutboxState.PENDING }) scheduleDrain()
+    }
+
+    private suspend fun send(entry: OutboxEntry): OutboxEntry {
+        val current = _entries.value.firstOrNull { it.id == entry.id } ?: entry
+        if (current.state != OutboxState.PENDING) return current
+        // The ID token attached below belongs to whoever is signed in now
+        if (current.uid != IdTokenProvider.currentUid()) return current
+
+        val sending = current.copy(state = OutboxState.SENDING, attempts = current.attempts + 1)
+        persist(sending)
+
+        val response = try {
+            FeaturesApiClient.sendClaim(
+                context,
+                RequestContextProvider.current(context),
+                current.action,
+                JSONObject(current.params),
+                current.id
+            )
+        } catch (e: Exception) {
+            Log.e(TAG, "Claim ${current.action} failed to send", e)
+            JSONObject().put("status", "error").put("retryable", true)
+        }
+
+        val next = when {
+            response.optString("status") == "success" -> OutboxState.ACKNOWLEDGED
+            response.optBoolean("retryable", false) -> OutboxState.PENDING
+            else -> OutboxState.REJECTED
+        }
+        val updated = sending.copy(state = next, response = response.toString())
+        persist(updated)
+        if (next == OutboxState.ACKNOWLEDGED) {
+            AchievementEngine.getInstance(context).onClaimAcknowledged(current.action, response)
+            // A status prefetched before this claim still shows it as available
+            when (current.action) {
+                "claimDailyBonus" -> RewardPrefetcher.getInstance(context).invalidate(RewardPrefetcher.DAILY_BONUS)
+                "spinWheel" -> RewardPrefetcher.getInstance(context).invalidate(RewardPrefetcher.SPIN_WHEEL)
+            }
+        }
+        return updated
+    }
+
+    private fun scheduleDrain() {
+        val request = OneTimeWorkRequestBuilder<OutboxWorker>()
+            .setConstraints(
+                Constraints.Builder()
+                    .setRequiredNetworkType(NetworkType.CONNECTED)
+                    .build()
+            )
+            .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 30, TimeUnit.SECONDS)
+            .build()
+
+        WorkManager.getInstance(context)
+            .enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.KEEP, request)
+    }
+}
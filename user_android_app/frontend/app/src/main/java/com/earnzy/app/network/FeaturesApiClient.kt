@@ -1,12 +1,12 @@
 package com.earnzy.app.network
 
 import android.content.Context
+import android.os.SystemClock
 import android.util.Base64
 import android.util.Log
 import com.earnzy.app.R
 import org.json.JSONObject
-import java.io.BufferedReader
-import java.io.InputStreamReader
+import java.io.IOException
 import java.io.OutputStreamWriter
 import java.net.HttpURLConnection
 import java.net.URL
@@ -18,6 +18,7 @@ import java.security.spec.X509EncodedKeySpec
 import javax.crypto.Cipher
 import javax.crypto.spec.IvParameterSpec
 import javax.crypto.spec.SecretKeySpec
+import kotlinx.coroutines.CancellationException
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.withContext
 
@@ -29,6 +30,7 @@ object FeaturesApiClient {
 
     // Unified backend with all features - hybrid encrypted, multiple DB connections
     private const val FEATURES_API_URL = "https://earnzy-features.earnzy.workers.dev/"
+    private const val FEATURES_API_HOST = "earnzy-features.earnzy.workers.dev"
 
     /**
      * Get RSA public key from resources
@@ -53,7 +55,7 @@ object FeaturesApiClient {
     /**
      * Encrypt data using hybrid RSA-OAEP + AES-CBC encryption
      */
-    private fun encryptHybrid(context: Context, data: String): String {
+    internal fun encryptHybrid(context: Context, data: String): String {
         return try {
             val rsaPublicKey = getRsaPublicKey(context)
                 ?: throw Exception("Failed to load RSA Public Key.")
@@ -86,66 +88,136 @@ object FeaturesApiClient {
     }
 
     /**
-     * Send encrypted POST request to the API
+     * Send encrypted POST request to the API.
+     * Attempts go through [RetryPolicy]; a final failure is returned as a
+     * status:error JSON object, as before. The idToken comes from
+     * [IdTokenProvider]; without one the request is not sent at all, since the
+     * worker would only reject it. Every call is recorded in [RequestTelemetry].
      */
     private suspend fun sendEncryptedPost(
         context: Context,
         data: JSONObject
     ): JSONObject = withContext(Dispatchers.IO) {
-        var conn: HttpURLConnection? = null
+        val telemetry = RequestTelemetry.getInstance(context)
+        val trace = RequestTelemetry.Trace(data.optString("action", "N/A"))
+
+        val idToken = IdTokenProvider.getToken()
+        if (idToken == null) {
+            trace.finish(telemetry, "no_token")
+            return@withContext JSONObject()
+                .put("status", "error")
+                .put("message", "Not signed in.")
+                .put("retryable", true)
+        }
+        data.put("idToken", idToken)
+
+        try {
+            val encryptStartedAt = SystemClock.elapsedRealtime()
+            val encrypted = encryptHybrid(context, data.toString())
+            trace.encryptMs = SystemClock.elapsedRealtime() - encryptStartedAt
+            if (encrypted.isEmpty()) {
+                throw IllegalStateException("Encryption resulted in an empty string.")
+            }
+            trace.requestBytes = encrypted.length
+
+            val response = RetryPolicy.execute(FEATURES_API_HOST, data) { attempt ->
+                trace.attempts = attempt
+                postOnce(context, encrypted, trace)
+            }
+            trace.finish(telemetry)
+            response
+
+        } catch (e: CancellationException) {
+            trace.finish(telemetry, "cancelled")
+            throw e
+        } catch (e: RetryPolicy.RequestFailure) {
+            trace.finish(telemetry, RequestTelemetry.errorClassOf(e))
+            Log.e("FeaturesApiClient", "Request failed for action ${data.optString("action")}", e)
+            if (e.httpCode == 401) IdTokenProvider.invalidate()
+            val error = e.errorResponse ?: JSONObject().put("status", "error").put("message", e.message ?: "A network error occurred.")
+            // Lets callers such as ClaimOutbox tell "try again later" from a final rejection
+            if (e.httpCode == 0 || e.httpCode >= 500 || e.httpCode == 408 || e.httpCode == 429) {
+                error.put("retryable", true)
+            }
+            error
+        } catch (e: Exception) {
+            trace.finish(telemetry, RequestTelemetry.errorClassOf(e))
+            Log.e("FeaturesApiClient", "Network/Response Error for action ${data.optString("action")}", e)
+            JSONObject().put("status", "error").put("message", e.localizedMessage ?: "A network error occurred.")
+        }
+    }
+
+    /**
+     * One POST attempt. Transport errors and HTTP errors are surfaced as
+     * [RetryPolicy.RequestFailure] so the policy can decide whether to retry.
+     * Phase timings and sizes of the attempt are written to [trace].
+     */
+    private fun postOnce(context: Context, encrypted: String, trace: RequestTelemetry.Trace): JSONObject {
+        val networkClass = NetworkMonitor.getInstance(context).networkClass
+        val latency = LatencyTracker.forHost(FEATURES_API_HOST)
+        trace.connectMs = 0
+        trace.ttfbMs = 0
+        trace.bodyMs = 0
+        trace.responseBytes = 0
+        trace.httpCode = 0
+        val conn = URL(FEATURES_API_URL).openConnection() as HttpURLConnection
         try {
-            val u = URL(FEATURES_API_URL)
-            conn = u.openConnection() as HttpURLConnection
             conn.requestMethod = "POST"
             conn.setRequestProperty("Content-Type", "text/plain; charset=utf-8")
             conn.doOutput = true
-            conn.connectTimeout = 30000
-            conn.readTimeout = 30000
+            conn.connectTimeout = networkClass.connectTimeoutMs
+            conn.readTimeout = latency.readTimeoutMs(networkClass.readTimeoutMs)
 
-            val encrypted = encryptHybrid(context, data.toString())
-            if (encrypted.isEmpty()) {
-                throw Exception("Encryption resulted in an empty string.")
+            val connectStartedAt = SystemClock.elapsedRealtime()
+            try {
+                conn.connect()
+            } catch (e: IOException) {
+                throw RetryPolicy.RequestFailure(0, false, e.localizedMessage ?: "Could not reach server.", cause = e)
             }
-            
-            Log.d("FeaturesApiClient", "Request Action: ${data.optString("action", "N/A")}")
 
-            conn.outputStream.use { os ->
-                OutputStreamWriter(os, StandardCharsets.UTF_8).use { writer ->
-                    writer.write(encrypted)
+            val startedAt = SystemClock.elapsedRealtime()
+            trace.connectMs = startedAt - connectStartedAt
+
+            val responseCode: Int
+            val responseBody: String
+            try {
+                conn.outputStream.use { os ->
+                    OutputStreamWriter(os, StandardCharsets.UTF_8).use { writer ->
+                        writer.write(encrypted)
+                    }
                 }
-            }
 
-            val responseCode = conn.responseCode
-            val inputStream = if (responseCode < 400) conn.inputStream else conn.errorStream
+                responseCode = conn.responseCode
+                val firstByteAt = SystemClock.elapsedRealtime()
+                trace.ttfbMs = firstByteAt - startedAt
+                trace.httpCode = responseCode
+                val inputStream = if (responseCode < 400) conn.inputStream else conn.errorStream
 
-            val responseBody = inputStream.use { stream ->
-                BufferedReader(InputStreamReader(stream, StandardCharsets.UTF_8)).use { br ->
-                    br.readText()
-                }
+                val bytes = inputStream?.use { it.readBytes() } ?: ByteArray(0)
+                trace.bodyMs = SystemClock.elapsedRealtime() - firstByteAt
+                trace.responseBytes = bytes.size
+                responseBody = String(bytes, StandardCharsets.UTF_8)
+            } catch (e: IOException) {
+                throw RetryPolicy.RequestFailure(0, true, e.localizedMessage ?: "A network error occurred.", cause = e)
             }
+            latency.record(SystemClock.elapsedRealtime() - startedAt)
 
             if (responseCode >= 400) {
-                 Log.e("FeaturesApiClient", "API Error ($responseCode): $responseBody")
-                 // Try to parse for a structured error message
-                 return@withContext try {
-                     val errorJson = JSONObject(responseBody)
-                     if (!errorJson.has("status")) {
-                        errorJson.put("status", "error")
-                     }
-                     errorJson
-                 } catch (_: Exception) {
-                     JSONObject().put("status", "error").put("message", "API Error ($responseCode): $responseBody")
-                 }
+                Log.e("FeaturesApiClient", "API Error ($responseCode): $responseBody")
+                // Try to parse for a structured error message
+                val errorJson = try {
+                    JSONObject(responseBody).apply {
+                        if (!has("status")) put("status", "error")
+                    }
+                } catch (_: Exception) {
+                    JSONObject().put("status", "error").put("message", "API Error ($responseCode): $responseBody")
+                }
+                throw RetryPolicy.RequestFailure(responseCode, true, "API Error ($responseCode)", errorJson)
             }
-            
-            Log.d("FeaturesApiClient", "Response: $responseBody")
-            JSONObject(responseBody)
 
-        } catch (e: Exception) {
-            Log.e("FeaturesApiClient", "Network/Response Error for action ${data.optString("action")}", e)
-            JSONObject().put("status", "error").put("message", e.localizedMessage ?: "A network error occurred.")
+            return JSONObject(responseBody)
         } finally {
-            conn?.disconnect()
+            conn.disconnect()
         }
     }
 
@@ -156,21 +228,12 @@ object FeaturesApiClient {
      */
     suspend fun getDailyBonusStatus(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "getDailyBonusStatus")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
     /**
@@ -178,21 +241,12 @@ object FeaturesApiClient {
      */
     suspend fun claimDailyBonus(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "claimDailyBonus")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
     // ==================== SPIN WHEEL ====================
@@ -202,21 +256,12 @@ object FeaturesApiClient {
      */
     suspend fun getSpinWheelStatus(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "getSpinWheelStatus")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
     /**
@@ -224,21 +269,12 @@ object FeaturesApiClient {
      */
     suspend fun spinWheel(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "spinWheel")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
     // ==================== TASKS ====================
@@ -248,21 +284,12 @@ object FeaturesApiClient {
      */
     suspend fun getTasks(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "getTasks")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
     /**
@@ -270,23 +297,34 @@ object FeaturesApiClient {
      */
     suspend fun completeTask(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        taskId: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext,
+        taskId: String
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "completeTask")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
             put("taskId", taskId)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
+    }
+    
+    // ==================== CLAIM OUTBOX ====================
+    
+    /**
+     * Send a queued reward claim from ClaimOutbox.
+     * The outbox entry id is passed as idempotencyKey so a resend is never credited twice.
+     */
+    suspend fun sendClaim(
+        context: Context,
+        request: RequestContext,
+        action: String,
+        params: JSONObject,
+        idempotencyKey: String
+    ): JSONObject {
+        val json = JSONObject(params.toString()).apply {
+            put("action", action)
+            put("idempotencyKey", idempotencyKey)
+        }
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
     // ==================== WITHDRAWALS ====================
@@ -296,21 +334,12 @@ object FeaturesApiClient {
      */
     suspend fun getWithdrawalMethods(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "getWithdrawalMethods")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
     /**
@@ -318,27 +347,18 @@ object FeaturesApiClient {
      */
     suspend fun requestWithdrawal(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
+        request: RequestContext,
         method: String,
         amount: Int,
-        accountDetails: JSONObject,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        accountDetails: JSONObject
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "requestWithdrawal")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
             put("withdrawalMethod", method)
             put("withdrawalAmount", amount)
             put("accountDetails", accountDetails)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
     /**
@@ -346,21 +366,12 @@ object FeaturesApiClient {
      */
     suspend fun getWithdrawalHistory(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "getWithdrawalHistory")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
     // ==================== PROFILE ====================
@@ -370,21 +381,12 @@ object FeaturesApiClient {
      */
     suspend fun getUserProfile(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "getUserProfile")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
     /**
@@ -392,25 +394,16 @@ object FeaturesApiClient {
      */
     suspend fun getTransactionHistory(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
+        request: RequestContext,
         limit: Int = 50,
-        offset: Int = 0,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        offset: Int = 0
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "getTransactionHistory")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
             put("limit", limit)
             put("offset", offset)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
     // ==================== OFFERWALL ====================
@@ -420,21 +413,12 @@ object FeaturesApiClient {
      */
     suspend fun getOfferwall(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "getOfferwall")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
     /**
@@ -442,23 +426,14 @@ object FeaturesApiClient {
      */
     suspend fun completeOffer(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        offerId: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext,
+        offerId: String
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "completeOffer")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
             put("offerId", offerId)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
     // ==================== EARN TASKS ====================
@@ -468,328 +443,209 @@ object FeaturesApiClient {
      */
     suspend fun getEarnTasks(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "getEarnTasks")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
 
     // ==================== PAYMENT CARDS ====================
     suspend fun getPaymentCards(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "getPaymentCards")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
 
     suspend fun addPaymentCard(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
+        request: RequestContext,
         cardType: String,
         lastFourDigits: String,
         cardHolderName: String,
         expiryMonth: Int,
         expiryYear: Int,
-        isDefault: Boolean,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        isDefault: Boolean
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "addPaymentCard")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
             put("cardType", cardType)
             put("lastFourDigits", lastFourDigits)
             put("cardHolderName", cardHolderName)
             put("expiryMonth", expiryMonth)
             put("expiryYear", expiryYear)
             put("isDefault", isDefault)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
 
     suspend fun deletePaymentCard(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        cardId: Int,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext,
+        cardId: Int
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "deletePaymentCard")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
             put("cardId", cardId)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
 
     suspend fun setDefaultCard(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        cardId: Int,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext,
+        cardId: Int
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "setDefaultCard")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
             put("cardId", cardId)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
 
     // ==================== PROFILE MANAGEMENT ====================
     suspend fun updateProfile(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
+        request: RequestContext,
         name: String?,
-        photo: String?,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        photo: String?
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "updateProfile")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
             if (name != null) put("name", name)
             if (photo != null) put("photo", photo)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
 
     suspend fun updateEmail(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        email: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext,
+        email: String
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "updateEmail")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
             put("email", email)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
 
     suspend fun cancelWithdrawal(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        transactionId: Int,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext,
+        transactionId: Int
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "cancelWithdrawal")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
             put("transactionId", transactionId)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
     // ==================== ACHIEVEMENTS ====================
     
     suspend fun getAchievements(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "getAchievements")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
     // ==================== LEADERBOARD ====================
     
+    /**
+     * Top [limit] rows plus [window] rows either side of the caller's own rank.
+     * With [sinceVersion] > 0 the worker may answer with only the ranks that
+     * changed since that version ("delta": true).
+     */
     suspend fun getLeaderboard(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
+        request: RequestContext,
         period: String = "weekly",
         limit: Int = 100,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        window: Int = 0,
+        sinceVersion: Long = 0L
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "getLeaderboard")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
             put("period", period)
             put("limit", limit)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
+            put("window", window)
+            put("sinceVersion", sinceVersion)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
     // ==================== SCRATCH CARD ====================
     
     suspend fun getScratchCardStatus(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "getScratchCardStatus")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
     suspend fun scratchCard(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "scratchCard")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
     // ==================== REFERRAL STATS ====================
     
     suspend fun getReferralStats(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "getReferralStats")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
     // ==================== SUPPORT CHAT ====================
     
     suspend fun sendSupportMessage(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
+        request: RequestContext,
         message: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        clientId: String? = null
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "sendSupportMessage")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
             put("message", message)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
+            if (clientId != null) put("clientId", clientId)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
     
+    /**
+     * Get support messages, optionally only those after [sinceSeq]
+     */
     suspend fun getSupportMessages(
         context: Context,
-        idToken: String,
-        deviceID: String,
-        deviceToken: String,
-        isVpn: Boolean,
-        isSslProxy: Boolean
+        request: RequestContext,
+        sinceSeq: Long = 0L
     ): JSONObject {
         val json = JSONObject().apply {
             put("action", "getSupportMessages")
-            put("idToken", idToken)
-            put("deviceID", deviceID)
-            put("deviceToken", deviceToken)
-            put("isVpn", isVpn)
-            put("isSslProxy", isSslProxy)
+            put("sinceSeq", sinceSeq)
         }
-        return sendEncryptedPost(context, json)
+        return sendEncryptedPost(context, request.writeTo(json))
     }
 }
\ No newline at end of file
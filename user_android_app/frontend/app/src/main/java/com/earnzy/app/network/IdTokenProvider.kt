@@ -0,0 +1,130 @@
+package com.earnzy.app.network
+
+import android.util.Log
+import com.google.firebase.auth.FirebaseAuth
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.tasks.await
+
+/**
+ * In-memory Firebase ID token cache shared by every screen and background sender.
+ * The token is refreshed in the background [REFRESH_MARGIN_MS] before it expires,
+ * so callers normally get it without waiting. Concurrent callers that do have to
+ * wait share one fetch.
+ */
+object IdTokenProvider {
+
+    private const val TAG = "IdTokenProvider"
+    private const val REFRESH_MARGIN_MS = 5 * 60 * 1000L
+
+    private class CachedToken(val uid: String, val token: String, val expiresAt: Long)
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    private val lock = Any()
+
+    @Volatile
+    private var cached: CachedToken? = null
+    @Volatile
+    private var lastUsedAt = 0L
+    private var inFlight: Deferred<CachedToken?>? = null
+    private var refreshJob: Job? = null
+
+    /**
+     * Current token for the signed-in user, or null when nobody is signed in or
+     * Firebase could not issue one. Callers should not send a request without it.
+     */
+    suspend fun getToken(): String? {
+        val user = FirebaseAuth.getInstance().currentUser ?: return null
+        lastUsedAt = System.currentTimeMillis()
+
+        val current = cached
+        if (current != null && current.uid == user.uid && lastUsedAt < current.expiresAt - REFRESH_MARGIN_MS) {
+            return current.token
+        }
+        var fetched = awaitFetch(forceRefresh = current != null)
+        // A fetch started before an account switch carries the previous user's token
+        if (fetched != null && fetched.uid != user.uid) fetched = awaitFetch(forceRefresh = false)
+        if (fetched != null && fetched.uid == user.uid) return fetched.token
+        // A refresh that failed inside the margin still leaves a usable token
+        return current?.takeIf { it.uid == user.uid && System.currentTimeMillis() < it.expiresAt }?.token
+    }
+
+    /**
+     * Firebase uid of the signed-in user, or null. Per-user local data is keyed by it
+     */
+    fun currentUid(): String? = FirebaseAuth.getInstance().currentUser?.uid
+
+    /**
+     * Starts fetching in the background, e.g. when the home screen opens, so the
+     * first request does not wait on Firebase
+     */
+    fun prefetch() {
+        if (FirebaseAuth.getInstance().currentUser == null) return
+        val current = cached
+        if (current != null && System.currentTimeMillis() < current.expiresAt - REFRESH_MARGIN_MS) return
+        fetch(forceRefresh = current != null)
+    }
+
+    /**
+     * Drops the cached token, e.g. after the worker rejected it or on sign-out
+     */
+    fun invalidate() {
+        synchronized(lock) {
+            cached = null
+            refreshJob?.cancel()
+            refreshJob = null
+        }
+    }
+
+    private suspend fun awaitFetch(forceRefresh: Boolean): CachedToken? = try {
+        fetch(forceRefresh).await()
+    } catch (e: CancellationException) {
+        throw e
+    } catch (e: Exception) {
+        null
+    }
+
+    private fun fetch(forceRefresh: Boolean): Deferred<CachedToken?> = synchronized(lock) {
+        inFlight?.takeIf { it.isActive }?.let { return it }
+
+        scope.async {
+            try {
+                val user = FirebaseAuth.getInstance().currentUser ?: return@async null
+                val result = user.getIdToken(forceRefresh).await()
+                val token = result.token ?: return@async null
+                // expirationTimestamp is in seconds
+                val fetched = CachedToken(user.uid, token, result.expirationTimestamp * 1000)
+                synchronized(lock) {
+                    cached = fetched
+                    scheduleRefresh(fetched)
+                }
+                fetched
+            } catch (e: Exception) {
+                Log.w(TAG, "ID token fetch failed", e)
+                null
+            } finally {
+                synchronized(lock) { inFlight = null }
+            }
+        }.also { inFlight = it }
+    }
+
+    // Must be called with lock held
+    private fun scheduleRefresh(token: CachedToken) {
+        refreshJob?.cancel()
+        val fetchedAt = System.currentTimeMillis()
+        refreshJob = scope.launch {
+            delay(token.expiresAt - REFRESH_MARGIN_MS - fetchedAt)
+            // Nobody asked since the last fetch; leave it to the next caller
+            if (lastUsedAt < fetchedAt) return@launch
+            if (FirebaseAuth.getInstance().currentUser?.uid != token.uid) return@launch
+            fetch(forceRefresh = true)
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.earnzy.app.network
+
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Keeps a rolling window of observed round-trip times per worker host and
+ * derives read timeouts from the tail of that distribution.
+ */
+class LatencyTracker private constructor() {
+
+    private val samples = LongArray(WINDOW_SIZE)
+    private var count = 0
+    private var next = 0
+
+    companion object {
+        private const val WINDOW_SIZE = 64
+        private const val MIN_SAMPLES = 8
+        private const val TIMEOUT_FACTOR = 3
+        private const val MIN_READ_TIMEOUT_MS = 5000
+
+        private val trackers = ConcurrentHashMap<String, LatencyTracker>()
+
+        fun forHost(host: String): LatencyTracker {
+            return trackers.computeIfAbsent(host) { LatencyTracker() }
+        }
+    }
+
+    @Synchronized
+    fun record(rttMs: Long) {
+        samples[next] = rttMs
+        next = (next + 1) % WINDOW_SIZE
+        if (count < WINDOW_SIZE) count++
+    }
+
+    @Synchronized
+    fun percentile(p: Double): Long {
+        if (count == 0) return 0
+        val sorted = samples.copyOf(count)
+        sorted.sort()
+        val index = ((count - 1) * p).toInt()
+        return sorted[index]
+    }
+
+    /**
+     * Read timeout for the next request: a multiple of the observed p95, never
+     * above the ceiling allowed for the current network class.
+     */
+    fun readTimeoutMs(ceilingMs: Int): Int {
+        val enoughSamples = synchronized(this) { count >= MIN_SAMPLES }
+        if (!enoughSamples) return ceilingMs
+        val derived = percentile(0.95) * TIMEOUT_FACTOR
+        return derived.coerceIn(MIN_READ_TIMEOUT_MS.coerceAtMost(ceilingMs).toLong(), ceilingMs.toLong()).toInt()
+    }
+}
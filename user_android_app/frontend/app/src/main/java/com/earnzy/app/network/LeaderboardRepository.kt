@@ -0,0 +1,171 @@
+package com.earnzy.app.network
+
+import android.content.Context
+import android.os.SystemClock
+import android.util.Log
+import com.earnzy.app.R
+import com.earnzy.app.models.LeaderboardEntry
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import org.json.JSONArray
+import org.json.JSONObject
+
+/**
+ * One period's leaderboard as last seen from the worker.
+ * [top] holds ranks 1..K, [around] a few rows either side of the user's rank
+ * when that falls outside the top K. [myRank] is 0 while the user is unranked.
+ */
+data class LeaderboardSnapshot(
+    val period: String,
+    val version: Long,
+    val top: List<LeaderboardEntry>,
+    val around: List<LeaderboardEntry>,
+    val myRank: Int,
+    val myCoins: Int,
+    val fetchedAt: Long
+) {
+    /** Rows to display: the top K followed by the user's window, in rank order */
+    val rows: List<LeaderboardEntry>
+        get() {
+            if (around.isEmpty()) return top
+            val lastTopRank = top.lastOrNull()?.rank ?: 0
+            return top + around.filter { it.rank > lastTopRank }
+        }
+}
+
+/**
+ * Caches the top K of each leaderboard period with a per-period TTL.
+ * A fresh cache is served without a request; a stale one is refreshed with a
+ * delta against its version, so switching back to a tab only downloads the
+ * ranks that moved. Snapshots carry the user's own rank, so they are kept per
+ * signed-in user and dropped by [clear] on sign-out.
+ */
+class LeaderboardRepository private constructor(private val context: Context) {
+
+    // Keyed by "uid/period"
+    private val cache = HashMap<String, LeaderboardSnapshot>()
+    // Per period, so a slow tab does not hold up the next one
+    private val loadLocks = HashMap<String, Mutex>()
+
+    companion object {
+        private const val TAG = "LeaderboardRepository"
+        private const val TOP_K = 50
+        private const val RANK_WINDOW = 5
+
+        private val TTL_MS = mapOf(
+            "daily" to 60_000L,
+            "weekly" to 5 * 60_000L,
+            "monthly" to 15 * 60_000L,
+            "alltime" to 30 * 60_000L,
+            "referral" to 15 * 60_000L
+        )
+
+        @Volatile
+        private var instance: LeaderboardRepository? = null
+
+        fun getInstance(context: Context): LeaderboardRepository {
+            return instance ?: synchronized(this) {
+                instance ?: LeaderboardRepository(context.applicationContext).also { instance = it }
+            }
+        }
+    }
+
+    /**
+     * Last snapshot for [period], fresh or not, for rendering before [load] returns
+     */
+    fun cached(period: String): LeaderboardSnapshot? = cachedAt(keyFor(period))
+
+    /** Forgets every snapshot, e.g. on sign-out */
+    fun clear() {
+        synchronized(cache) { cache.clear() }
+    }
+
+    private fun keyFor(period: String): String = "${IdTokenProvider.currentUid().orEmpty()}/$period"
+
+    private fun cachedAt(key: String): LeaderboardSnapshot? = synchronized(cache) { cache[key] }
+
+    /**
+     * Returns the snapshot for [period], hitting the worker only when the cache is
+     * missing or past its TTL. Falls back to the stale snapshot when the request
+     * fails; null when there is nothing to show.
+     */
+    suspend fun load(period: String, forceRefresh: Boolean = false): LeaderboardSnapshot? = lockFor(period).withLock {
+        // Fixed up front so a sign-out mid-request cannot file this user's rank under the next one
+        val key = keyFor(period)
+        val current = cachedAt(key)
+        val ttl = TTL_MS[period] ?: 60_000L
+        if (!forceRefresh && current != null && SystemClock.elapsedRealtime() - current.fetchedAt < ttl) {
+            return@withLock current
+        }
+
+        val response = try {
+            FeaturesApiClient.getLeaderboard(
+                context,
+                RequestContextProvider.current(context),
+                period,
+                TOP_K,
+                RANK_WINDOW,
+                current?.version ?: 0L
+            )
+        } catch (e: Exception) {
+            Log.e(TAG, "Leaderboard $period failed to load", e)
+            return@withLock current
+        }
+
+        if (response.optString("status") != "success") {
+            Log.w(TAG, "Leaderboard $period: ${response.optString("message")}")
+            return@withLock current
+        }
+
+        val updated = merge(period, current, response)
+        synchronized(cache) { cache[key] = updated }
+        updated
+    }
+
+    private fun lockFor(period: String): Mutex = synchronized(loadLocks) { loadLocks.getOrPut(period) { Mutex() } }
+
+    private fun merge(period: String, current: LeaderboardSnapshot?, response: JSONObject): LeaderboardSnapshot {
+        val me = response.optJSONObject("me")
+        val around = parseEntries(response.optJSONArray("around"))
+
+        val top = if (current != null && response.optBoolean("delta", false)) {
+            // Only the ranks that changed since current.version; everything else is unchanged
+            val byRank = current.top.associateByTo(LinkedHashMap()) { it.rank }
+            for (entry in parseEntries(response.optJSONArray("changes"))) {
+                if (entry.rank <= TOP_K) byRank[entry.rank] = entry
+            }
+            byRank.values.sortedBy { it.rank }
+        } else {
+            parseEntries(response.optJSONArray("top"))
+        }
+
+        return LeaderboardSnapshot(
+            period = period,
+            version = response.optLong("version", 0L),
+            top = top,
+            around = around,
+            myRank = me?.optInt("rank", 0) ?: 0,
+            myCoins = me?.optInt("coins", 0) ?: 0,
+            fetchedAt = SystemClock.elapsedRealtime()
+        )
+    }
+
+    private fun parseEntries(array: JSONArray?): List<LeaderboardEntry> {
+        if (array == null) return emptyList()
+        val entries = ArrayList<LeaderboardEntry>(array.length())
+        for (i in 0 until array.length()) {
+            val row = array.optJSONObject(i) ?: continue
+            val rank = row.optInt("rank", 0)
+            if (rank <= 0) continue
+            entries.add(
+                LeaderboardEntry(
+                    rank,
+                    row.optString("name", "Player"),
+                    row.optInt("coins", 0),
+                    if (rank <= 3) R.drawable.ic_launcher_background else 0
+                )
+            )
+        }
+        return entries
+    }
+}
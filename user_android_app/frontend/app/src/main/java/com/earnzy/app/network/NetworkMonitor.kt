@@ -0,0 +1,126 @@
+package com.earnzy.app.network
+
+import android.content.Context
+import android.net.ConnectivityManager
+import android.net.Network
+import android.net.NetworkCapabilities
+import android.util.Log
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+
+enum class NetworkTransport { NONE, WIFI, ETHERNET, CELLULAR, OTHER }
+
+/**
+ * Coarse network quality bucket used by the request pipeline to pick timeouts,
+ * decide whether background prefetching is worth it and scale remote images
+ */
+enum class NetworkClass(
+    val connectTimeoutMs: Int,
+    val readTimeoutMs: Int,
+    val allowsPrefetch: Boolean,
+    val imageSizeMultiplier: Float
+) {
+    OFFLINE(10000, 10000, false, 0.5f),
+    SLOW(30000, 45000, false, 0.5f),
+    MODERATE(20000, 30000, true, 0.75f),
+    FAST(10000, 20000, true, 1f)
+}
+
+/**
+ * Snapshot of the device's default network as reported by ConnectivityManager
+ */
+data class NetworkState(
+    val isConnected: Boolean = false,
+    val isVpn: Boolean = false,
+    val transport: NetworkTransport = NetworkTransport.NONE,
+    val isMetered: Boolean = true,
+    val downstreamKbps: Int = 0
+) {
+    val networkClass: NetworkClass
+        get() = when {
+            !isConnected -> NetworkClass.OFFLINE
+            downstreamKbps in 1 until 1000 -> NetworkClass.SLOW
+            downstreamKbps in 1000 until 10000 -> NetworkClass.MODERATE
+            // Some drivers report no estimate; fall back to the transport type
+            downstreamKbps == 0 && transport == NetworkTransport.CELLULAR -> NetworkClass.MODERATE
+            else -> NetworkClass.FAST
+        }
+}
+
+/**
+ * Process-wide connectivity and VPN monitor shared by every screen and by the
+ * request pipeline. Driven by ConnectivityManager callbacks instead of polling,
+ * so nothing runs while the network is unchanged.
+ */
+class NetworkMonitor private constructor(context: Context) {
+
+    private val connectivityManager =
+        context.getSystemService(Context.CONNECTIVITY_SERVICE) as ConnectivityManager
+
+    private val _state = MutableStateFlow(readCurrentState())
+    val state: StateFlow<NetworkState> = _state
+
+    val isConnected: Boolean
+        get() = _state.value.isConnected
+
+    val isVpn: Boolean
+        get() = _state.value.isVpn
+
+    val networkClass: NetworkClass
+        get() = _state.value.networkClass
+
+    companion object {
+        private const val TAG = "NetworkMonitor"
+
+        @Volatile
+        private var instance: NetworkMonitor? = null
+
+        fun getInstance(context: Context): NetworkMonitor {
+            return instance ?: synchronized(this) {
+                instance ?: NetworkMonitor(context.applicationContext).also {
+                    instance = it
+                    it.registerCallback()
+                }
+            }
+        }
+    }
+
+    private fun registerCallback() {
+        try {
+            connectivityManager.registerDefaultNetworkCallback(object : ConnectivityManager.NetworkCallback() {
+                override fun onCapabilitiesChanged(network: Network, capabilities: NetworkCapabilities) {
+                    _state.value = stateFrom(capabilities)
+                }
+
+                override fun onLost(network: Network) {
+                    _state.value = NetworkState()
+                }
+            })
+        } catch (e: Exception) {
+            // Without the callback the state stays at its initial reading
+            Log.e(TAG, "Could not register network callback", e)
+        }
+    }
+
+    private fun readCurrentState(): NetworkState {
+        val network = connectivityManager.activeNetwork ?: return NetworkState()
+        val capabilities = connectivityManager.getNetworkCapabilities(network) ?: return NetworkState()
+        return stateFrom(capabilities)
+    }
+
+    private fun stateFrom(capabilities: NetworkCapabilities): NetworkState {
+        return NetworkState(
+            isConnected = capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET) &&
+                    capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED),
+            isVpn = capabilities.hasTransport(NetworkCapabilities.TRANSPORT_VPN),
+            transport = when {
+                capabilities.hasTransport(NetworkCapabilities.TRANSPORT_WIFI) -> NetworkTransport.WIFI
+                capabilities.hasTransport(NetworkCapabilities.TRANSPORT_ETHERNET) -> NetworkTransport.ETHERNET
+                capabilities.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR) -> NetworkTransport.CELLULAR
+                else -> NetworkTransport.OTHER
+            },
+            isMetered = !capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED),
+            downstreamKbps = capabilities.linkDownstreamBandwidthKbps
+        )
+    }
+}
@@ -0,0 +1,20 @@
+package com.earnzy.app.network
+
+import android.content.Context
+import androidx.work.CoroutineWorker
+import androidx.work.WorkerParameters
+
+/**
+ * Background delivery for [ClaimOutbox]. Runs only with connectivity and is
+ * rescheduled with exponential backoff until every pending claim is settled.
+ */
+class OutboxWorker(
+    context: Context,
+    params: WorkerParameters
+) : CoroutineWorker(context, params) {
+
+    override suspend fun doWork(): Result {
+        val allSettled = ClaimOutbox.getInstance(applicationContext).drain()
+        return if (allSettled) Result.success() else Result.retry()
+    }
+}
@@ -0,0 +1,130 @@
+package com.earnzy.app.network
+
+import android.content.Context
+import android.content.SharedPreferences
+import android.util.Log
+import androidx.security.crypto.EncryptedSharedPreferences
+import androidx.security.crypto.MasterKey
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.launch
+import org.json.JSONObject
+
+/**
+ * Device fields every worker request carries. Immutable; a change to any of
+ * them produces a new snapshot in [RequestContextProvider]. The ID token is not
+ * part of it since it rotates hourly; FeaturesApiClient adds that per request.
+ */
+data class RequestContext(
+    val deviceID: String = "",
+    val deviceToken: String = "",
+    val isVpn: Boolean = false,
+    val isSslProxy: Boolean = false,
+    val appVersion: String = ""
+) {
+    fun writeTo(json: JSONObject): JSONObject = json.apply {
+        put("deviceID", deviceID)
+        put("deviceToken", deviceToken)
+        put("isVpn", isVpn)
+        put("isSslProxy", isSslProxy)
+        put("appVersion", appVersion)
+    }
+}
+
+/**
+ * Holds the current [RequestContext]. It is read from secure storage once and
+ * rebuilt only when a stored credential or the VPN state changes, so screens
+ * no longer decrypt preferences before each call. A VPN is reported when either
+ * the device or the worker's check at splash detected one.
+ */
+class RequestContextProvider private constructor(private val context: Context) {
+
+    private var devicePrefs: SharedPreferences? = null
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.Default)
+
+    @Volatile
+    var current: RequestContext = RequestContext()
+        private set
+
+    // Held as a field: SharedPreferences only keeps a weak reference to listeners
+    private val prefsListener = SharedPreferences.OnSharedPreferenceChangeListener { _, key ->
+        if (key == "deviceID" || key == "deviceToken" || key == "isVpn" || key == "isSslProxy") rebuild()
+    }
+
+    companion object {
+        private const val TAG = "RequestContext"
+
+        @Volatile
+        private var instance: RequestContextProvider? = null
+
+        fun getInstance(context: Context): RequestContextProvider {
+            return instance ?: synchronized(this) {
+                instance ?: RequestContextProvider(context.applicationContext).also {
+                    instance = it
+                    it.initialize()
+                }
+            }
+        }
+
+        /** Shorthand for the snapshot callers attach to a request */
+        fun current(context: Context): RequestContext = getInstance(context).current
+    }
+
+    private fun initialize() {
+        try {
+            val masterKey = MasterKey.Builder(context)
+                .setKeyScheme(MasterKey.KeyScheme.AES256_GCM)
+                .build()
+
+            devicePrefs = EncryptedSharedPreferences.create(
+                context,
+                "SecureEarnzyPrefs",
+                masterKey,
+                EncryptedSharedPreferences.PrefKeyEncryptionScheme.AES256_SIV,
+                EncryptedSharedPreferences.PrefValueEncryptionScheme.AES256_GCM
+            )
+            devicePrefs?.registerOnSharedPreferenceChangeListener(prefsListener)
+        } catch (e: Exception) {
+            Log.e(TAG, "Security setup failed", e)
+        }
+        rebuild()
+
+        scope.launch {
+            NetworkMonitor.getInstance(context).state
+                .map { it.isVpn }
+                .distinctUntilChanged()
+                .collect { deviceVpn ->
+                    synchronized(this@RequestContextProvider) {
+                        val isVpn = deviceVpn || workerVpn()
+                        if (current.isVpn != isVpn) current = current.copy(isVpn = isVpn)
+                    }
+                }
+        }
+    }
+
+    @Synchronized
+    private fun rebuild() {
+        val prefs = devicePrefs
+        current = RequestContext(
+            deviceID = prefs?.getString("deviceID", "") ?: "",
+            deviceToken = prefs?.getString("deviceToken", "") ?: "",
+            isVpn = NetworkMonitor.getInstance(context).isVpn || workerVpn(),
+            isSslProxy = prefs?.getBoolean("isSslProxy", false) ?: false,
+            appVersion = appVersion
+        )
+    }
+
+    // The worker's verdict from splash; it also sees VPNs the device does not report
+    private fun workerVpn(): Boolean = devicePrefs?.getBoolean("isVpn", false) ?: false
+
+    private val appVersion: String by lazy {
+        try {
+            context.packageManager.getPackageInfo(context.packageName, 0).versionName ?: ""
+        } catch (e: Exception) {
+            ""
+        }
+    }
+}
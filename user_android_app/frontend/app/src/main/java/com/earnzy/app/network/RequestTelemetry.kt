@@ -0,0 +1,285 @@
+package com.earnzy.app.network
+
+import android.content.Context
+import android.os.Bundle
+import android.os.SystemClock
+import android.util.Log
+import com.earnzy.app.BuildConfig
+import com.google.firebase.analytics.FirebaseAnalytics
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.launch
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicReferenceArray
+
+/**
+ * Client-side numbers for worker calls. Each finished request leaves one
+ * [Event] in a fixed-size ring buffer; recording is a single atomic increment
+ * and slot write, so the request path never blocks on telemetry. Events are
+ * drained in batches, summarised per action and sent to Firebase Analytics
+ * (logcat in debug builds). The latest summaries are also kept in [summaries]
+ * for a debug screen.
+ *
+ * When the buffer wraps before a flush the oldest events are overwritten.
+ */
+class RequestTelemetry internal constructor(
+    private val context: Context,
+    // Flushes run here; tests pass their own dispatcher
+    private val scope: CoroutineScope = CoroutineScope(SupervisorJob() + Dispatchers.Default)
+) {
+
+    /**
+     * One logical request, including its retries. Phase timings are from the
+     * last attempt; [connectMs] covers DNS, TCP and TLS together since
+     * HttpURLConnection does not report them separately.
+     */
+    class Event(
+        val action: String,
+        val totalMs: Long,
+        val encryptMs: Long,
+        val connectMs: Long,
+        val ttfbMs: Long,
+        val bodyMs: Long,
+        val requestBytes: Int,
+        val responseBytes: Int,
+        val httpCode: Int,
+        val errorClass: String?,
+        val retries: Int
+    ) {
+        internal var sequence = -1L
+    }
+
+    data class ActionSummary(
+        val action: String,
+        val count: Int,
+        val p50Ms: Long,
+        val p90Ms: Long,
+        val p99Ms: Long,
+        val connectP50Ms: Long,
+        val ttfbP50Ms: Long,
+        val bodyP50Ms: Long,
+        val encryptP50Ms: Long,
+        val avgRequestBytes: Int,
+        val avgResponseBytes: Int,
+        val errors: Int,
+        val topErrorClass: String?,
+        val retries: Int
+    )
+
+    private val slots = AtomicReferenceArray<Event?>(CAPACITY)
+    private val head = AtomicLong(0)
+    @Volatile
+    private var tail = 0L
+    private val flushArmed = AtomicBoolean(false)
+    private val batchFlushPending = AtomicBoolean(false)
+
+    private val _summaries = MutableStateFlow<List<ActionSummary>>(emptyList())
+    val summaries: StateFlow<List<ActionSummary>> = _summaries.asStateFlow()
+
+    companion object {
+        private const val TAG = "RequestTelemetry"
+        internal const val CAPACITY = 256 // power of two, see MASK
+        private const val MASK = CAPACITY - 1L
+        internal const val BATCH_SIZE = 64
+        private const val FLUSH_INTERVAL_MS = 60_000L
+        private const val EVENT_NAME = "worker_request"
+
+        @Volatile
+        private var instance: RequestTelemetry? = null
+
+        fun getInstance(context: Context): RequestTelemetry {
+            return instance ?: synchronized(this) {
+                instance ?: RequestTelemetry(context.applicationContext).also { instance = it }
+            }
+        }
+
+        /** Coarse, low-cardinality name for a failure, suitable as an analytics value */
+        fun errorClassOf(failure: Throwable): String = when (failure) {
+            is RetryPolicy.RequestFailure -> when {
+                failure.httpCode >= 500 -> "http_5xx"
+                failure.httpCode == 429 -> "http_429"
+                failure.httpCode >= 400 -> "http_4xx"
+                !failure.reachedServer && failure.cause == null -> "circuit_open"
+                else -> failure.cause?.javaClass?.simpleName ?: "transport"
+            }
+            else -> failure.javaClass.simpleName.ifEmpty { "unknown" }
+        }
+    }
+
+    fun record(event: Event) {
+        store(claim(), event)
+    }
+
+    /** Reserves the next sequence; the event is only visible to [drain] once [store]d */
+    internal fun claim(): Long = head.getAndIncrement()
+
+    internal fun store(seq: Long, event: Event) {
+        event.sequence = seq
+        slots.set((seq and MASK).toInt(), event)
+
+        // >= rather than ==: tail can stop short of head, so an exact count may never recur
+        if (seq - tail + 1 >= BATCH_SIZE && batchFlushPending.compareAndSet(false, true)) {
+            scope.launch {
+                try {
+                    flush()
+                } finally {
+                    batchFlushPending.set(false)
+                }
+            }
+        } else {
+            armFlushTimer()
+        }
+    }
+
+    private fun armFlushTimer() {
+        if (flushArmed.compareAndSet(false, true)) {
+            scope.launch {
+                delay(FLUSH_INTERVAL_MS)
+                flush()
+            }
+        }
+    }
+
+    /** Drains pending events and reports them; safe to call from any thread */
+    fun flush() {
+        val batch = drain()
+        // Events left behind an unfinished write go out with the next flush
+        if (tail < head.get()) armFlushTimer()
+        if (batch.isEmpty()) return
+
+        val summaries = batch.groupBy { it.action }.map { (action, events) -> summarise(action, events) }
+        _summaries.value = summaries
+        report(summaries)
+    }
+
+    @Synchronized
+    internal fun drain(): List<Event> {
+        flushArmed.set(false)
+        val end = head.get()
+        // Anything older than one lap has been overwritten
+        var seq = maxOf(tail, end - CAPACITY)
+        val batch = ArrayList<Event>((end - seq).toInt())
+        while (seq < end) {
+            val index = (seq and MASK).toInt()
+            val event = slots.get(index)
+            // A writer that claimed seq but has not stored yet leaves an older or null slot;
+            // stop there so the next drain picks it up instead of skipping it for good
+            if (event == null || event.sequence < seq) break
+            // A newer sequence means this one was overwritten after the buffer wrapped
+            if (event.sequence == seq && slots.compareAndSet(index, event, null)) {
+                batch.add(event)
+            }
+            seq++
+        }
+        tail = seq
+        return batch
+    }
+
+    private fun summarise(action: String, events: List<Event>): ActionSummary {
+        val total = LongArray(events.size) { events[it].totalMs }.apply { sort() }
+        val failed = events.filter { it.errorClass != null }
+        return ActionSummary(
+            action = action,
+            count = events.size,
+            p50Ms = percentile(total, 0.50),
+            p90Ms = percentile(total, 0.90),
+            p99Ms = percentile(total, 0.99),
+            connectP50Ms = median(events) { it.connectMs },
+            ttfbP50Ms = median(events) { it.ttfbMs },
+            bodyP50Ms = median(events) { it.bodyMs },
+            encryptP50Ms = median(events) { it.encryptMs },
+            avgRequestBytes = events.sumOf { it.requestBytes } / events.size,
+            avgResponseBytes = events.sumOf { it.responseBytes } / events.size,
+            errors = failed.size,
+            topErrorClass = failed.groupingBy { it.errorClass }.eachCount().maxByOrNull { it.value }?.key,
+            retries = events.sumOf { it.retries }
+        )
+    }
+
+    private inline fun median(events: List<Event>, selector: (Event) -> Long): Long {
+        val values = LongArray(events.size) { selector(events[it]) }.apply { sort() }
+        return percentile(values, 0.50)
+    }
+
+    private fun percentile(sorted: LongArray, p: Double): Long {
+        if (sorted.isEmpty()) return 0
+        return sorted[((sorted.size - 1) * p).toInt()]
+    }
+
+    private fun report(summaries: List<ActionSummary>) {
+        for (s in summaries) {
+            report(EVENT_NAME, Bundle().apply {
+                putString("action", s.action)
+                putLong("count", s.count.toLong())
+                putLong("p50_ms", s.p50Ms)
+                putLong("p90_ms", s.p90Ms)
+                putLong("p99_ms", s.p99Ms)
+                putLong("connect_ms", s.connectP50Ms)
+                putLong("ttfb_ms", s.ttfbP50Ms)
+                putLong("body_ms", s.bodyP50Ms)
+                putLong("encrypt_ms", s.encryptP50Ms)
+                putLong("req_bytes", s.avgRequestBytes.toLong())
+                putLong("resp_bytes", s.avgResponseBytes.toLong())
+                putLong("errors", s.errors.toLong())
+                putLong("retries", s.retries.toLong())
+                s.topErrorClass?.let { putString("error_class", it) }
+            })
+        }
+    }
+
+    /**
+     * Sends one already-aggregated event down the same path as the request
+     * summaries: Firebase Analytics in release builds, logcat in debug builds.
+     */
+    fun report(eventName: String, params: Bundle) {
+        if (BuildConfig.DEBUG) {
+            Log.d(TAG, "$eventName $params")
+            return
+        }
+        try {
+            FirebaseAnalytics.getInstance(context).logEvent(eventName, params)
+        } catch (e: Exception) {
+            Log.w(TAG, "Analytics report failed", e)
+        }
+    }
+
+    /**
+     * Collects the timings of one request across its attempts. Not thread-safe;
+     * a trace belongs to the coroutine that sends the request.
+     */
+    class Trace(private val action: String) {
+        private val startedAt = SystemClock.elapsedRealtime()
+        var encryptMs = 0L
+        var connectMs = 0L
+        var ttfbMs = 0L
+        var bodyMs = 0L
+        var requestBytes = 0
+        var responseBytes = 0
+        var httpCode = 0
+        var attempts = 0
+
+        fun finish(telemetry: RequestTelemetry, errorClass: String? = null) {
+            telemetry.record(
+                Event(
+                    action = action,
+                    totalMs = SystemClock.elapsedRealtime() - startedAt,
+                    encryptMs = encryptMs,
+                    connectMs = connectMs,
+                    ttfbMs = ttfbMs,
+                    bodyMs = bodyMs,
+                    requestBytes = requestBytes,
+                    responseBytes = responseBytes,
+                    httpCode = httpCode,
+                    errorClass = errorClass,
+                    retries = (attempts - 1).coerceAtLeast(0)
+                )
+            )
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.earnzy.app.network
+
+import kotlinx.coroutines.delay
+import org.json.JSONObject
+import kotlin.math.min
+import kotlin.random.Random
+
+/**
+ * Retry rules for encrypted worker calls.
+ * Reads are retried freely. Reward claims are retried only when they carry an
+ * idempotency key, so a repeated request can never be credited twice. Other
+ * writes are retried only if the request never reached the server.
+ */
+object RetryPolicy {
+
+    enum class Idempotency { READ, KEYED_WRITE, WRITE }
+
+    /**
+     * A single failed attempt.
+     * [httpCode] is 0 for transport errors; [reachedServer] is false when the
+     * connection was never established. [errorResponse] is the worker's
+     * structured error body, if it sent one.
+     */
+    class RequestFailure(
+        val httpCode: Int,
+        val reachedServer: Boolean,
+        message: String,
+        val errorResponse: JSONObject? = null,
+        cause: Throwable? = null
+    ) : Exception(message, cause)
+
+    private const val MAX_ATTEMPTS = 3
+    private const val BASE_DELAY_MS = 500L
+    private const val MAX_DELAY_MS = 8000L
+
+    private val CLAIM_ACTIONS = setOf(
+        "claimDailyBonus",
+        "spinWheel",
+        "scratchCard",
+        "completeTask",
+        "completeOffer",
+        "requestWithdrawal"
+    )
+
+    fun classify(payload: JSONObject): Idempotency {
+        val action = payload.optString("action")
+        return when {
+            action.startsWith("get") -> Idempotency.READ
+            action in CLAIM_ACTIONS && payload.has("idempotencyKey") -> Idempotency.KEYED_WRITE
+            else -> Idempotency.WRITE
+        }
+    }
+
+    fun isRetryable(idempotency: Idempotency, failure: RequestFailure): Boolean {
+        val code = failure.httpCode
+        if (code in 400..499 && code != 408 && code != 429) return false
+        return when (idempotency) {
+            Idempotency.READ, Idempotency.KEYED_WRITE -> true
+            Idempotency.WRITE -> !failure.reachedServer
+        }
+    }
+
+    /**
+     * Exponential backoff with equal jitter: half the window is fixed, the
+     * other half random, so synchronized clients spread out after an outage.
+     */
+    fun backoffDelayMs(attempt: Int): Long {
+        val window = min(MAX_DELAY_MS, BASE_DELAY_MS shl (attempt - 1).coerceIn(0, 16))
+        return window / 2 + Random.nextLong(window / 2 + 1)
+    }
+
+    /**
+     * Runs [block] under the host's circuit breaker, retrying retryable
+     * failures. The last failure is rethrown once attempts are exhausted.
+     */
+    suspend fun <T> execute(host: String, payload: JSONObject, block: suspend (attempt: Int) -> T): T {
+        val idempotency = classify(payload)
+        val breaker = CircuitBreaker.forHost(host)
+        var attempt = 1
+
+        while (true) {
+            if (!breaker.allowRequest()) {
+                throw RequestFailure(0, false, "Service temporarily unavailable. Please try again shortly.")
+            }
+
+            try {
+                val result = block(attempt)
+                breaker.recordSuccess()
+                return result
+            } catch (e: RequestFailure) {
+                // A 4xx means the host is healthy and rejected this request
+                if (e.httpCode == 0 || e.httpCode >= 500) breaker.recordFailure() else breaker.recordSuccess()
+                if (attempt >= MAX_ATTEMPTS || !isRetryable(idempotency, e)) throw e
+            }
+
+            delay(backoffDelayMs(attempt))
+            attempt++
+        }
+    }
+}
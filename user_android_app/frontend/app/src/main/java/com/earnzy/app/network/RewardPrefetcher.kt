@@ -0,0 +1,113 @@
+package com.earnzy.app.network
+
+import android.content.Context
+import android.os.SystemClock
+import android.util.Log
+import com.airbnb.lottie.LottieCompositionFactory
+import com.earnzy.app.R
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import org.json.JSONObject
+
+/**
+ * Fetches reward screen status while the home tiles are on screen, so Daily Bonus
+ * and Spin Wheel can render straight from the result when opened. Results are
+ * short-lived and handed out once; screens fall back to their own request.
+ */
+class RewardPrefetcher private constructor(private val context: Context) {
+
+    private class Prefetch(val result: Deferred<JSONObject?>, val startedAt: Long)
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    private val prefetches = HashMap<String, Prefetch>()
+
+    companion object {
+        private const val TAG = "RewardPrefetcher"
+        private const val TTL_MS = 30_000L
+
+        const val DAILY_BONUS = "OPEN_DAILY"
+        const val SPIN_WHEEL = "OPEN_SPIN"
+
+        @Volatile
+        private var instance: RewardPrefetcher? = null
+
+        fun getInstance(context: Context): RewardPrefetcher {
+            return instance ?: synchronized(this) {
+                instance ?: RewardPrefetcher(context.applicationContext).also { instance = it }
+            }
+        }
+    }
+
+    /**
+     * Starts prefetching for the given tile click actions. Skipped on slow or
+     * offline networks; an action with a fresh or in-flight prefetch is left alone.
+     */
+    fun prefetch(actions: Collection<String>) {
+        if (!NetworkMonitor.getInstance(context).networkClass.allowsPrefetch) return
+
+        val now = SystemClock.elapsedRealtime()
+        synchronized(prefetches) {
+            for (action in actions) {
+                val existing = prefetches[action]
+                if (existing != null && now - existing.startedAt < TTL_MS) continue
+                when (action) {
+                    DAILY_BONUS, SPIN_WHEEL -> prefetches[action] = Prefetch(scope.async { fetch(action) }, now)
+                }
+            }
+        }
+        warmAssets(actions)
+    }
+
+    /**
+     * Hands out the prefetched status for [action] once, waiting for it if still in
+     * flight. Null when there is none, it expired or it failed.
+     */
+    suspend fun take(action: String): JSONObject? {
+        val prefetch = synchronized(prefetches) { prefetches.remove(action) } ?: return null
+        if (SystemClock.elapsedRealtime() - prefetch.startedAt >= TTL_MS) {
+            prefetch.result.cancel()
+            return null
+        }
+        return try {
+            prefetch.result.await()?.takeIf { it.optString("status") == "success" }
+        } catch (e: Exception) {
+            null
+        }
+    }
+
+    /** Drops cached status, e.g. after a claim changed it */
+    fun invalidate(action: String) {
+        synchronized(prefetches) { prefetches.remove(action) }?.result?.cancel()
+    }
+
+    /** Drops every prefetch, e.g. on sign-out; the status belongs to the previous user */
+    fun clear() {
+        val dropped = synchronized(prefetches) {
+            prefetches.values.toList().also { prefetches.clear() }
+        }
+        dropped.forEach { it.result.cancel() }
+    }
+
+    private suspend fun fetch(action: String): JSONObject? {
+        return try {
+            val request = RequestContextProvider.current(context)
+            when (action) {
+                DAILY_BONUS -> FeaturesApiClient.getDailyBonusStatus(context, request)
+                SPIN_WHEEL -> FeaturesApiClient.getSpinWheelStatus(context, request)
+                else -> null
+            }
+        } catch (e: Exception) {
+            Log.w(TAG, "Prefetch $action failed", e)
+            null
+        }
+    }
+
+    // Lottie caches parsed compositions by resource, so the screens' views pick these up
+    private fun warmAssets(actions: Collection<String>) {
+        if (DAILY_BONUS in actions) LottieCompositionFactory.fromRawRes(context, R.raw.loader)
+        if (SPIN_WHEEL in actions) LottieCompositionFactory.fromRawRes(context, R.raw.confetti)
+    }
+}
@@ -0,0 +1,365 @@
+package com.earnzy.app.network
+
+import android.content.Context
+import android.util.Log
+import com.earnzy.app.models.ChatMessage
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.Response
+import okhttp3.WebSocket
+import okhttp3.WebSocketListener
+import org.json.JSONObject
+import java.util.UUID
+import java.util.concurrent.TimeUnit
+
+enum class ChatConnectionState { DISCONNECTED, CONNECTING, CONNECTED }
+
+/**
+ * Streaming transport for support chat.
+ * Messages arrive over a WebSocket with server sequence numbers and are written
+ * to [ChatHistoryStore], so the screen only appends what is new. On reconnect the
+ * client asks for everything after the last sequence it has seen.
+ * Only the most recent messages are held in memory; older ones are paged back in
+ * from disk with [loadOlder] while the user scrolls up.
+ * Sends fall back to the HTTP action while the socket is down.
+ */
+class SupportChatChannel internal constructor(
+    // The signed-in user this channel belongs to; a different user gets a new channel
+    private val uid: String,
+    private val transport: Transport,
+    private val history: ChatHistory,
+    private val client: OkHttpClient
+) {
+
+    /** Everything the channel needs from the rest of the app; swapped out in tests */
+    internal interface Transport {
+        val streamUrl: String
+        fun seal(frame: String): String
+        suspend fun idToken(): String
+        fun writeContext(frame: JSONObject)
+        suspend fun sendOverHttp(text: String, clientId: String): JSONObject
+        fun reconnectDelayMs(attempt: Int): Long
+    }
+
+    private class DeviceTransport(private val context: Context) : Transport {
+        override val streamUrl = STREAM_URL
+        override fun seal(frame: String) = FeaturesApiClient.encryptHybrid(context, frame)
+        override suspend fun idToken() = IdTokenProvider.getToken() ?: ""
+        override fun writeContext(frame: JSONObject) {
+            RequestContextProvider.current(context).writeTo(frame)
+        }
+        override suspend fun sendOverHttp(text: String, clientId: String) =
+            FeaturesApiClient.sendSupportMessage(context, RequestContextProvider.current(context), text, clientId)
+        override fun reconnectDelayMs(attempt: Int) = RetryPolicy.backoffDelayMs(attempt)
+    }
+
+    private constructor(context: Context, uid: String) : this(
+        uid,
+        DeviceTransport(context),
+        ChatHistoryStore(context),
+        OkHttpClient.Builder()
+            .pingInterval(30, TimeUnit.SECONDS)
+            .readTimeout(0, TimeUnit.MILLISECONDS)
+            .build()
+    )
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    private val lock = Any()
+    // Acknowledged messages in ascending seq order, a window over the on-disk history
+    private val store = ArrayList<ChatMessage>()
+    private val pending = LinkedHashMap<String, ChatMessage>()
+    private var socket: WebSocket? = null
+    private var reconnectJob: Job? = null
+    private var reconnectAttempt = 0
+    private var wanted = false
+    private var historyExpanded = false
+
+    @Volatile
+    var lastSeq = 0L
+        private set
+
+
+    private val _messages = MutableStateFlow<List<ChatMessage>>(emptyList())
+    val messages: StateFlow<List<ChatMessage>> = _messages
+
+    private val _connectionState = MutableStateFlow(ChatConnectionState.DISCONNECTED)
+    val connectionState: StateFlow<ChatConnectionState> = _connectionState
+
+    private val loadJob = scope.launch {
+        val recent = history.pageBefore(uid, Long.MAX_VALUE, RECENT_WINDOW)
+        synchronized(lock) {
+            recent.forEach { insertSorted(it) }
+            lastSeq = maxOf(lastSeq, history.lastSeq(uid))
+            publish()
+        }
+    }
+
+    companion object {
+        private const val TAG = "SupportChatChannel"
+        private const val STREAM_URL = "wss://earnzy-features.earnzy.workers.dev/support/stream"
+        private const val MAX_RECONNECT_DELAY_MS = 30_000L
+        private const val RECENT_WINDOW = 100
+        private const val PAGE_SIZE = 50
+
+        @Volatile
+        private var instance: SupportChatChannel? = null
+
+        fun getInstance(context: Context): SupportChatChannel {
+            val uid = IdTokenProvider.currentUid() ?: ""
+            instance?.takeIf { it.uid == uid }?.let { return it }
+            return synchronized(this) {
+                instance?.takeIf { it.uid == uid } ?: run {
+                    instance?.close()
+                    SupportChatChannel(context.applicationContext, uid).also { instance = it }
+                }
+            }
+        }
+
+        /**
+         * Drops the conversation of the user signing out, in memory and on disk,
+         * so the next account on the device starts with an empty chat.
+         */
+        fun clearOnLogout(context: Context) {
+            val channel = synchronized(this) { instance.also { instance = null } }
+            channel?.close()
+            val history = channel?.history ?: ChatHistoryStore(context.applicationContext)
+            Thread {
+                try {
+                    history.clear()
+                } catch (e: Exception) {
+                    Log.e(TAG, "Could not clear chat history", e)
+                }
+            }.start()
+        }
+    }
+
+    fun connect() {
+        synchronized(lock) {
+            wanted = true
+            if (socket != null) return
+            _connectionState.value = ChatConnectionState.CONNECTING
+            socket = client.newWebSocket(Request.Builder().url(transport.streamUrl).build(), listener)
+        }
+    }
+
+    fun disconnect() {
+        synchronized(lock) {
+            wanted = false
+            reconnectJob?.cancel()
+            reconnectJob = null
+            socket?.close(1000, null)
+            socket = null
+            _connectionState.value = ChatConnectionState.DISCONNECTED
+            trimToRecent()
+        }
+    }
+
+    internal fun close() {
+        disconnect()
+        scope.cancel()
+        synchronized(lock) {
+            store.clear()
+            pending.clear()
+            publish()
+        }
+    }
+
+    /**
+     * Pages the next [PAGE_SIZE] older messages in from disk.
+     * Returns false once the start of the history has been reached.
+     */
+    suspend fun loadOlder(): Boolean = withContext(Dispatchers.IO) {
+        loadJob.join()
+        val oldestSeq = synchronized(lock) { store.firstOrNull()?.seq ?: Long.MAX_VALUE }
+        val page = history.pageBefore(uid, oldestSeq, PAGE_SIZE)
+        if (page.isNotEmpty()) {
+            synchronized(lock) {
+                val firstSeq = store.firstOrNull()?.seq ?: Long.MAX_VALUE
+                store.addAll(0, page.filter { it.seq < firstSeq })
+                historyExpanded = true
+                publish()
+            }
+        }
+        page.size == PAGE_SIZE
+    }
+
+    // Must be called with lock held
+    private fun trimToRecent() {
+        historyExpanded = false
+        if (store.size <= RECENT_WINDOW) return
+        store.subList(0, store.size - RECENT_WINDOW).clear()
+        publish()
+    }
+
+    /**
+     * Shows the message immediately as pending and delivers it over the socket,
+     * or over HTTP while the socket is down. The server's ack assigns its sequence.
+     */
+    fun send(text: String) {
+        val clientId = UUID.randomUUID().toString()
+        val message = ChatMessage(text, true, System.currentTimeMillis(), clientId = clientId)
+        val ws = synchronized(lock) {
+            pending[clientId] = message
+            publish()
+            if (_connectionState.value == ChatConnectionState.CONNECTED) socket else null
+        }
+
+        scope.launch {
+            val frame = JSONObject().apply {
+                put("type", "send")
+                put("clientId", clientId)
+                put("text", text)
+            }
+            if (ws != null && ws.send(transport.seal(frame.toString()))) return@launch
+
+            val response = transport.sendOverHttp(text, clientId)
+            if (response.optString("status") == "success" && response.has("seq")) {
+                acknowledge(clientId, response.getLong("seq"), response.optLong("timestamp", message.timestamp))
+            }
+        }
+    }
+
+    private val listener = object : WebSocketListener() {
+        override fun onOpen(webSocket: WebSocket, response: Response) {
+            scope.launch {
+                // lastSeq comes from disk on a cold start
+                loadJob.join()
+                val hello = JSONObject().apply {
+                    put("type", "hello")
+                    put("idToken", transport.idToken())
+                    put("sinceSeq", lastSeq)
+                }
+                transport.writeContext(hello)
+                webSocket.send(transport.seal(hello.toString()))
+
+                val unsent = synchronized(lock) {
+                    reconnectAttempt = 0
+                    _connectionState.value = ChatConnectionState.CONNECTED
+                    pending.values.toList()
+                }
+                // Messages that never got an ack are resent; the server de-duplicates by clientId
+                for (message in unsent) {
+                    val frame = JSONObject().apply {
+                        put("type", "send")
+                        put("clientId", message.clientId)
+                        put("text", message.text)
+                    }
+                    webSocket.send(transport.seal(frame.toString()))
+                }
+            }
+        }
+
+        override fun onMessage(webSocket: WebSocket, text: String) {
+            try {
+                val frame = JSONObject(text)
+                when (frame.optString("type")) {
+                    "message" -> receive(frame)
+                    "ack" -> acknowledge(
+                        frame.getString("clientId"),
+                        frame.getLong("seq"),
+                        frame.optLong("timestamp", System.currentTimeMillis())
+                    )
+                }
+            } catch (e: Exception) {
+                Log.e(TAG, "Malformed frame", e)
+            }
+        }
+
+        override fun onClosed(webSocket: WebSocket, code: Int, reason: String) {
+            onDropped(webSocket)
+        }
+
+        override fun onFailure(webSocket: WebSocket, t: Throwable, response: Response?) {
+            Log.w(TAG, "Stream failed", t)
+            onDropped(webSocket)
+        }
+    }
+
+    private fun receive(frame: JSONObject) {
+        val seq = frame.getLong("seq")
+        val clientId = frame.optString("clientId").ifEmpty { null }
+        val message = ChatMessage(
+            text = frame.optString("text"),
+            isSent = frame.optBoolean("fromUser", false),
+            timestamp = frame.optLong("timestamp", System.currentTimeMillis()),
+            seq = seq,
+            clientId = clientId
+        )
+        synchronized(lock) {
+            if (clientId != null) pending.remove(clientId)
+            insertSorted(message)
+            publish()
+        }
+        history.insert(uid, message)
+    }
+
+    private fun acknowledge(clientId: String, seq: Long, timestamp: Long) {
+        val message = synchronized(lock) {
+            val sent = pending.remove(clientId) ?: return
+            sent.copy(seq = seq, timestamp = timestamp).also {
+                insertSorted(it)
+                publish()
+            }
+        }
+        history.insert(uid, message)
+    }
+
+    // Must be called with lock held
+    private fun insertSorted(message: ChatMessage) {
+        if (message.seq > lastSeq) lastSeq = message.seq
+        if (store.isEmpty() || message.seq > store[store.size - 1].seq) {
+            store.add(message)
+        } else {
+            var low = 0
+            var high = store.size - 1
+            while (low <= high) {
+                val mid = (low + high) ushr 1
+                val midSeq = store[mid].seq
+                when {
+                    midSeq < message.seq -> low = mid + 1
+                    midSeq > message.seq -> high = mid - 1
+                    else -> {
+                        store[mid] = message
+                        return
+                    }
+                }
+            }
+            store.add(low, message)
+        }
+        // Keep memory bounded unless the user has paged back through older history
+        if (!historyExpanded && store.size > RECENT_WINDOW) store.removeAt(0)
+    }
+
+    private fun onDropped(webSocket: WebSocket) {
+        synchronized(lock) {
+            if (socket !== webSocket) return
+            socket = null
+            _connectionState.value = ChatConnectionState.DISCONNECTED
+            if (!wanted) return
+
+            val attempt = ++reconnectAttempt
+            reconnectJob = scope.launch {
+                delay(transport.reconnectDelayMs(attempt).coerceAtMost(MAX_RECONNECT_DELAY_MS))
+                connect()
+            }
+        }
+    }
+
+    // Must be called with lock held
+    private fun publish() {
+        _messages.value = ArrayList<ChatMessage>(store.size + pending.size).apply {
+            addAll(store)
+            addAll(pending.values)
+        }
+    }
+}
@@ -27,6 +27,7 @@ import androidx.fragment.app.DialogFragment;
 import androidx.fragment.app.Fragment;
 import androidx.fragment.app.FragmentManager;
 import com.airbnb.lottie.*;
+import com.earnzy.app.network.NetworkMonitor;
 import com.google.android.material.color.MaterialColors;
 import com.google.firebase.FirebaseApp;
 import java.io.*;
@@ -64,7 +65,10 @@ public class PopupInternetActivity extends AppCompatActivity {
 		button1.setOnClickListener(new View.OnClickListener() {
 			@Override
 			public void onClick(View _view) {
-				
+				NetworkMonitor monitor = NetworkMonitor.getInstance(getApplicationContext());
+				if (monitor.isConnected()) {
+					finish();
+				}
 			}
 		});
 	}
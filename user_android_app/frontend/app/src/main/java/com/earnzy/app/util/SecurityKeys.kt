@@ -1,53 +1,58 @@
 package com.earnzy.app
 
 import android.content.Context
+import android.content.SharedPreferences
 import android.content.pm.PackageManager
 import android.os.Build
+import android.provider.Settings
+import android.util.Base64
 import android.util.Log
-import java.security.KeyStore
+import androidx.security.crypto.EncryptedSharedPreferences
+import androidx.security.crypto.MasterKey
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.launch
 import java.security.MessageDigest
-import javax.crypto.Cipher
-import javax.crypto.KeyGenerator
-import javax.crypto.SecretKey
-import javax.crypto.spec.GCMParameterSpec
-import java.util.Locale
 
+/**
+ * Device identity for the whole app. The ID is worked out once per install and
+ * kept in the Keystore-backed "SecureEarnzyPrefs" under "deviceID", the key the
+ * worker requests already read. After that it is served from memory.
+ */
 object SecurityKeys {
     private const val TAG = "SecurityKeys"
-    private const val KEYSTORE_ALIAS = "earnzy_device_id"
-    private const val KEYSTORE_PROVIDER = "AndroidKeyStore"
+    private const val PREFS_NAME = "SecureEarnzyPrefs"
+    private const val PREF_DEVICE_ID = "deviceID"
     private const val EXPECTED_SIGNATURE = "your_expected_sha256_signature" // Replace with your SHA-256 signature
 
-    @JvmStatic
-    fun getDeviceID(context: Context): String? {
-        try {
-            val storedId = getKeystoreDeviceID(context)
-            if (storedId != null && storedId.matches("[a-f0-9]{64}".toRegex())) {
-                return storedId
-            }
-        } catch (e: Exception) {
-            Log.w(TAG, "Keystore device ID retrieval failed", e)
-        }
+    private val HEX_DIGITS = "0123456789abcdef".toCharArray()
 
-        val brand = getObfuscatedBuildProp("BRAND")
-        val manufacturer = getObfuscatedBuildProp("MANUFACTURER")
-        val model = getObfuscatedBuildProp("MODEL")
-        val device = getObfuscatedBuildProp("DEVICE")
-        val product = getObfuscatedBuildProp("PRODUCT")
-        val hardware = getObfuscatedBuildProp("HARDWARE")
-        val serial = getObfuscatedBuildProp("SERIAL")
-        val pkgSig = getPackageSignatureSha256(context) ?: ""
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
 
-        return try {
-            val combined = "$brand|$manufacturer|$model|$device|$product|$hardware|$serial|$pkgSig"
-            val md = MessageDigest.getInstance("SHA-256")
-            val digest = md.digest(combined.toByteArray(Charsets.UTF_8))
-            val deviceId = bytesToHex(digest)
-            storeKeystoreDeviceID(context, deviceId)
-            deviceId
-        } catch (e: Exception) {
-            Log.e(TAG, "Fallback device ID generation failed", e)
-            null
+    @Volatile
+    private var cachedDeviceId: String? = null
+
+    /**
+     * Loads the device ID off the main thread so that later [getDeviceID] calls
+     * only read memory. Opening the encrypted prefs costs a Keystore round trip.
+     */
+    @JvmStatic
+    fun warmUp(context: Context) {
+        if (cachedDeviceId != null) return
+        val appContext = context.applicationContext
+        scope.launch { getDeviceID(appContext) }
+    }
+
+    /**
+     * The install's device ID. Returns from memory after [warmUp]; the first
+     * call without it reads or creates the stored ID on the calling thread.
+     */
+    @JvmStatic
+    fun getDeviceID(context: Context): String {
+        cachedDeviceId?.let { return it }
+        return synchronized(this) {
+            cachedDeviceId ?: loadOrCreateDeviceID(context.applicationContext).also { cachedDeviceId = it }
         }
     }
 
@@ -65,7 +70,13 @@ object SecurityKeys {
 
     @JvmStatic
     fun bytesToHex(bytes: ByteArray): String {
-        return bytes.joinToString("") { String.format(Locale.ROOT, "%02x", it) }
+        val chars = CharArray(bytes.size * 2)
+        for (i in bytes.indices) {
+            val v = bytes[i].toInt() and 0xFF
+            chars[i * 2] = HEX_DIGITS[v ushr 4]
+            chars[i * 2 + 1] = HEX_DIGITS[v and 0x0F]
+        }
+        return String(chars)
     }
 
     @JvmStatic
@@ -103,54 +114,81 @@ object SecurityKeys {
         }
     }
 
-    private fun getObfuscatedBuildProp(fieldName: String): String {
+    private fun loadOrCreateDeviceID(context: Context): String {
+        val prefs = openSecurePrefs(context)
+        prefs?.getString(PREF_DEVICE_ID, null)?.takeIf { it.isNotEmpty() }?.let { return it }
+
+        val deviceId = computeHardwareDeviceID(context)
+        prefs?.edit()?.putString(PREF_DEVICE_ID, deviceId)?.apply()
+        return deviceId
+    }
+
+    private fun openSecurePrefs(context: Context): SharedPreferences? {
         return try {
-            val buildClass = Class.forName("android.os.Build")
-            val field = buildClass.getField(fieldName)
-            field.get(null)?.toString() ?: ""
+            val masterKey = MasterKey.Builder(context)
+                .setKeyScheme(MasterKey.KeyScheme.AES256_GCM)
+                .build()
+
+            EncryptedSharedPreferences.create(
+                context,
+                PREFS_NAME,
+                masterKey,
+                EncryptedSharedPreferences.PrefKeyEncryptionScheme.AES256_SIV,
+                EncryptedSharedPreferences.PrefValueEncryptionScheme.AES256_GCM
+            )
         } catch (e: Exception) {
-            Log.w(TAG, "Failed to get Build prop: $fieldName", e)
-            ""
+            Log.w(TAG, "Secure prefs unavailable, device ID kept in memory only", e)
+            null
         }
     }
 
-    private fun getKeystoreDeviceID(context: Context): String? {
+    // Same derivation the worker has registered existing devices under; changing it
+    // would give current installs a new identity.
+    private fun computeHardwareDeviceID(context: Context): String {
         return try {
-            val keyStore = KeyStore.getInstance(KEYSTORE_PROVIDER)
-            keyStore.load(null)
-            if (!keyStore.containsAlias(KEYSTORE_ALIAS)) return null
-            val secretKey = keyStore.getKey(KEYSTORE_ALIAS, null) as SecretKey
-            val cipher = Cipher.getInstance("AES/GCM/NoPadding")
-            cipher.init(Cipher.DECRYPT_MODE, secretKey, GCMParameterSpec(128, ByteArray(12)))
-            val encryptedId = context.getSharedPreferences("earnzy_secure", Context.MODE_PRIVATE)
-                .getString("encrypted_device_id", null)?.toByteArray(Charsets.UTF_8) ?: return null
-            val decryptedId = cipher.doFinal(encryptedId)
-            String(decryptedId, Charsets.UTF_8)
+            val hardwareProperties = Build.BRAND +
+                    Build.MANUFACTURER +
+                    Build.MODEL +
+                    Build.DEVICE +
+                    Build.PRODUCT +
+                    Build.HARDWARE
+
+            val digest = MessageDigest.getInstance("SHA-256")
+            val hash = digest.digest(hardwareProperties.toByteArray(Charsets.UTF_8))
+            Base64.encodeToString(hash, Base64.NO_WRAP)
         } catch (e: Exception) {
-            Log.w(TAG, "Failed to retrieve Keystore device ID", e)
-            null
+            try {
+                val androidId = Settings.Secure.getString(
+                    context.contentResolver,
+                    Settings.Secure.ANDROID_ID
+                ) ?: "unknown_device"
+
+                Base64.encodeToString(androidId.toByteArray(), Base64.NO_WRAP)
+            } catch (inner: Exception) {
+                generateFallbackDeviceID()
+            }
         }
     }
 
-    private fun storeKeystoreDeviceID(context: Context, deviceId: String) {
-        try {
-            val keyStore = KeyStore.getInstance(KEYSTORE_PROVIDER)
-            keyStore.load(null)
-            if (!keyStore.containsAlias(KEYSTORE_ALIAS)) {
-                val keyGenerator = KeyGenerator.getInstance("AES", KEYSTORE_PROVIDER)
-                keyGenerator.init(256)
-                keyGenerator.generateKey()
+    @Suppress("DEPRECATION")
+    private fun generateFallbackDeviceID(): String {
+        val serial = try {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+                Build.getSerial()
+            } else {
+                Build.SERIAL
             }
-            val secretKey = keyStore.getKey(KEYSTORE_ALIAS, null) as SecretKey
-            val cipher = Cipher.getInstance("AES/GCM/NoPadding")
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey)
-            val encryptedId = cipher.doFinal(deviceId.toByteArray(Charsets.UTF_8))
-            context.getSharedPreferences("earnzy_secure", Context.MODE_PRIVATE)
-                .edit()
-                .putString("encrypted_device_id", String(encryptedId, Charsets.UTF_8))
-                .apply()
         } catch (e: Exception) {
-            Log.w(TAG, "Failed to store Keystore device ID", e)
+            "UNKNOWN"
         }
+
+        val deviceInfo = "${Build.MANUFACTURER}${Build.MODEL}$serial"
+        val hash = MessageDigest.getInstance("SHA-256").digest(deviceInfo.toByteArray(Charsets.UTF_8))
+
+        return "ANDROID_" + Base64.encodeToString(hash, Base64.NO_WRAP)
+            .replace("/", "_")
+            .replace("+", "-")
+            .replace("=", "")
+            .take(16)
     }
-}
\ No newline at end of file
+}
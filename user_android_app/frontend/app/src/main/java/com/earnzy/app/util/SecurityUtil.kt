@@ -1,11 +1,16 @@
 package com.earnzy.app.util
 
 import android.content.Context
+import android.os.SystemClock
 import android.util.Base64
 import android.util.Log
 import com.earnzy.app.R
+import com.earnzy.app.network.LatencyTracker
+import com.earnzy.app.network.NetworkMonitor
+import com.earnzy.app.network.RetryPolicy
 import org.json.JSONObject
 import java.io.BufferedReader
+import java.io.IOException
 import java.io.InputStreamReader
 import java.io.OutputStreamWriter
 import java.net.HttpURLConnection
@@ -101,35 +106,64 @@ object SecurityUtil {
     ): JSONObject = withContext(Dispatchers.IO) {
         try {
             val u = URL(url)
-            val conn = u.openConnection() as HttpURLConnection
-            conn.requestMethod = "POST"
-            conn.setRequestProperty("Content-Type", "text/plain")
-            conn.doOutput = true
-            conn.connectTimeout = 30000
-            conn.readTimeout = 30000
-
             val encrypted = encryptHybrid(context, data.toString())
             if (encrypted.isEmpty()) {
                 throw Exception("Encryption failed. Hybrid key exchange failed.")
             }
 
-            conn.outputStream.use { os ->
-                OutputStreamWriter(os, StandardCharsets.UTF_8).use { writer ->
-                    writer.write(encrypted)
-                }
-            }
+            RetryPolicy.execute(u.host, data) {
+                val conn = u.openConnection() as HttpURLConnection
+                try {
+                    conn.requestMethod = "POST"
+                    conn.setRequestProperty("Content-Type", "text/plain")
+                    conn.doOutput = true
+                    val networkClass = NetworkMonitor.getInstance(context).networkClass
+                    conn.connectTimeout = networkClass.connectTimeoutMs
+                    conn.readTimeout = LatencyTracker.forHost(u.host).readTimeoutMs(networkClass.readTimeoutMs)
+
+                    try {
+                        conn.connect()
+                    } catch (e: IOException) {
+                        throw RetryPolicy.RequestFailure(0, false, e.localizedMessage ?: "Could not reach server.", cause = e)
+                    }
+
+                    val startedAt = SystemClock.elapsedRealtime()
+                    val responseCode: Int
+                    val responseBody: String
+                    try {
+                        conn.outputStream.use { os ->
+                            OutputStreamWriter(os, StandardCharsets.UTF_8).use { writer ->
+                                writer.write(encrypted)
+                            }
+                        }
 
-            val responseCode = conn.responseCode
-            val inputStream = if (responseCode < 400) conn.inputStream else conn.errorStream
+                        responseCode = conn.responseCode
+                        val inputStream = if (responseCode < 400) conn.inputStream else conn.errorStream
 
-            val responseBody = inputStream.use { stream ->
-                BufferedReader(InputStreamReader(stream, StandardCharsets.UTF_8)).use { br ->
-                    br.readText()
+                        responseBody = inputStream.use { stream ->
+                            BufferedReader(InputStreamReader(stream, StandardCharsets.UTF_8)).use { br ->
+                                br.readText()
+                            }
+                        }
+                    } catch (e: IOException) {
+                        throw RetryPolicy.RequestFailure(0, true, e.localizedMessage ?: "A network error occurred.", cause = e)
+                    }
+                    LatencyTracker.forHost(u.host).record(SystemClock.elapsedRealtime() - startedAt)
+
+                    if (responseCode >= 500) {
+                        val errorJson = try { JSONObject(responseBody) } catch (_: Exception) { null }
+                        throw RetryPolicy.RequestFailure(responseCode, true, "Server Error ($responseCode)", errorJson)
+                    }
+
+                    JSONObject(responseBody)
+                } finally {
+                    conn.disconnect()
                 }
             }
 
-            JSONObject(responseBody)
-
+        } catch (e: RetryPolicy.RequestFailure) {
+            Log.e("SecurityUtil", "Network/Response Error", e)
+            e.errorResponse ?: throw e
         } catch (e: Exception) {
             Log.e("SecurityUtil", "Network/Response Error", e)
             throw e
@@ -0,0 +1,203 @@
+package com.earnzy.app.views
+
+import android.content.Context
+import android.graphics.Bitmap
+import android.graphics.Canvas
+import android.graphics.Color
+import android.graphics.Paint
+import android.graphics.Path
+import android.graphics.PorterDuff
+import android.graphics.PorterDuffXfermode
+import android.util.AttributeSet
+import android.view.MotionEvent
+import android.widget.FrameLayout
+import kotlin.math.ceil
+import kotlin.math.floor
+import kotlin.math.hypot
+import kotlin.math.max
+import kotlin.math.min
+
+/**
+ * Scratch-off overlay. The background and any children form the cover. Each new
+ * stroke segment is drawn once into an alpha mask, and the mask is cut out of
+ * the cover on a hardware layer, so a frame costs the same however long the
+ * user has been scratching. How much has been revealed is tracked on a coarse
+ * occupancy grid as points arrive, so no bitmap is ever scanned.
+ */
+class ScratchCardView @JvmOverloads constructor(
+    context: Context,
+    attrs: AttributeSet? = null,
+    defStyleAttr: Int = 0
+) : FrameLayout(context, attrs, defStyleAttr) {
+
+    companion object {
+        private const val GRID_SIZE = 20
+        private const val BRUSH_RADIUS_DP = 22f
+    }
+
+    /** Called with the revealed percentage (0-100) whenever it changes */
+    var onScratchProgress: ((Int) -> Unit)? = null
+
+    private val brushRadius = BRUSH_RADIUS_DP * resources.displayMetrics.density
+    // Segments since the last commit to the mask
+    private val stroke = Path()
+    private val strokePaint = Paint(Paint.ANTI_ALIAS_FLAG).apply {
+        style = Paint.Style.STROKE
+        strokeCap = Paint.Cap.ROUND
+        strokeJoin = Paint.Join.ROUND
+        strokeWidth = brushRadius * 2
+    }
+    // Opaque where scratched; removes those pixels from the cover
+    private val maskPaint = Paint(Paint.FILTER_BITMAP_FLAG).apply {
+        xfermode = PorterDuffXfermode(PorterDuff.Mode.DST_OUT)
+    }
+    private var mask: Bitmap? = null
+    private var maskCanvas: Canvas? = null
+    private var scratched = false
+
+    private val cells = BooleanArray(GRID_SIZE * GRID_SIZE)
+    private var revealedCells = 0
+    private var lastPercent = 0
+    private var lastX = 0f
+    private var lastY = 0f
+
+    val revealedPercent: Int
+        get() = lastPercent
+
+    init {
+        // The mask clears pixels of this view's own layer, not the window
+        setLayerType(LAYER_TYPE_HARDWARE, null)
+        isClickable = true
+    }
+
+    fun reset() {
+        stroke.reset()
+        mask?.eraseColor(Color.TRANSPARENT)
+        scratched = false
+        cells.fill(false)
+        revealedCells = 0
+        lastPercent = 0
+        invalidate()
+    }
+
+    override fun onSizeChanged(w: Int, h: Int, oldw: Int, oldh: Int) {
+        super.onSizeChanged(w, h, oldw, oldh)
+        val old = mask
+        if (w == 0 || h == 0) {
+            mask = null
+            maskCanvas = null
+        } else {
+            val resized = Bitmap.createBitmap(w, h, Bitmap.Config.ALPHA_8)
+            maskCanvas = Canvas(resized).also { if (old != null) it.drawBitmap(old, 0f, 0f, null) }
+            mask = resized
+        }
+        old?.recycle()
+    }
+
+    override fun dispatchDraw(canvas: Canvas) {
+        super.dispatchDraw(canvas)
+        val mask = mask ?: return
+        if (scratched) canvas.drawBitmap(mask, 0f, 0f, maskPaint)
+    }
+
+    override fun onInterceptTouchEvent(ev: MotionEvent): Boolean = isEnabled
+
+    override fun onTouchEvent(event: MotionEvent): Boolean {
+        if (!isEnabled) return false
+
+        when (event.actionMasked) {
+            MotionEvent.ACTION_DOWN -> {
+                parent?.requestDisallowInterceptTouchEvent(true)
+                lastX = event.x
+                lastY = event.y
+                stroke.reset()
+                stroke.moveTo(lastX, lastY)
+                // A zero-length segment draws nothing; nudge it so a tap leaves a dot
+                stroke.lineTo(lastX + 0.1f, lastY)
+                markSegment(lastX, lastY, lastX, lastY)
+            }
+            MotionEvent.ACTION_MOVE -> {
+                // Points the system batched since the last event, oldest first
+                for (i in 0 until event.historySize) {
+                    lineTo(event.getHistoricalX(i), event.getHistoricalY(i))
+                }
+                lineTo(event.x, event.y)
+            }
+            MotionEvent.ACTION_UP, MotionEvent.ACTION_CANCEL -> {
+                parent?.requestDisallowInterceptTouchEvent(false)
+                if (event.actionMasked == MotionEvent.ACTION_UP) performClick()
+            }
+            else -> return true
+        }
+
+        commitStroke()
+        // One redraw per frame however many points arrived
+        postInvalidateOnAnimation()
+        publishProgress()
+        return true
+    }
+
+    override fun performClick(): Boolean = super.performClick()
+
+    /** Rasterises the new segments into the mask and starts the next batch where they ended */
+    private fun commitStroke() {
+        if (stroke.isEmpty) return
+        maskCanvas?.let {
+            it.drawPath(stroke, strokePaint)
+            scratched = true
+        }
+        stroke.reset()
+        stroke.moveTo(lastX, lastY)
+    }
+
+    private fun lineTo(x: Float, y: Float) {
+        stroke.lineTo(x, y)
+        markSegment(lastX, lastY, x, y)
+        lastX = x
+        lastY = y
+    }
+
+    private fun markSegment(x0: Float, y0: Float, x1: Float, y1: Float) {
+        if (width == 0 || height == 0) return
+        val cellWidth = width.toFloat() / GRID_SIZE
+        val cellHeight = height.toFloat() / GRID_SIZE
+        // Sample often enough that no cell under the brush is skipped
+        val step = min(cellWidth, cellHeight) / 2
+        val length = hypot(x1 - x0, y1 - y0)
+        val samples = max(1, ceil(length / step).toInt())
+        for (s in 0..samples) {
+            val t = s.toFloat() / samples
+            markCircle(x0 + (x1 - x0) * t, y0 + (y1 - y0) * t, cellWidth, cellHeight)
+        }
+    }
+
+    private fun markCircle(cx: Float, cy: Float, cellWidth: Float, cellHeight: Float) {
+        val firstCol = max(0, floor((cx - brushRadius) / cellWidth).toInt())
+        val lastCol = min(GRID_SIZE - 1, floor((cx + brushRadius) / cellWidth).toInt())
+        val firstRow = max(0, floor((cy - brushRadius) / cellHeight).toInt())
+        val lastRow = min(GRID_SIZE - 1, floor((cy + brushRadius) / cellHeight).toInt())
+        val radiusSq = brushRadius * brushRadius
+
+        for (row in firstRow..lastRow) {
+            val dy = (row + 0.5f) * cellHeight - cy
+            for (col in firstCol..lastCol) {
+                val index = row * GRID_SIZE + col
+                if (cells[index]) continue
+                // A cell counts as revealed once the brush covers its centre
+                val dx = (col + 0.5f) * cellWidth - cx
+                if (dx * dx + dy * dy <= radiusSq) {
+                    cells[index] = true
+                    revealedCells++
+                }
+            }
+        }
+    }
+
+    private fun publishProgress() {
+        val percent = revealedCells * 100 / cells.size
+        if (percent != lastPercent) {
+            lastPercent = percent
+            onScratchProgress?.invoke(percent)
+        }
+    }
+}
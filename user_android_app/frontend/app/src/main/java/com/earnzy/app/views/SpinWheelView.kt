@@ -0,0 +1,240 @@
+package com.earnzy.app.views
+
+import android.animation.Animator
+import android.animation.AnimatorListenerAdapter
+import android.animation.ValueAnimator
+import android.content.Context
+import android.graphics.Bitmap
+import android.graphics.Canvas
+import android.graphics.Color
+import android.graphics.Paint
+import android.graphics.Path
+import android.graphics.RectF
+import android.util.AttributeSet
+import android.view.View
+import android.view.animation.LinearInterpolator
+import androidx.core.content.ContextCompat
+import com.earnzy.app.R
+import kotlin.math.min
+
+/**
+ * Prize wheel drawn from the configured segment rewards.
+ * Segment shapes and labels are rendered once per config and size into a cached
+ * bitmap; each animation frame only rotates that bitmap, with no allocation.
+ * [startSpinning] turns the wheel at a constant speed while the server decides,
+ * then [landOn] decelerates uniformly so the chosen segment stops under the pointer.
+ */
+class SpinWheelView @JvmOverloads constructor(
+    context: Context,
+    attrs: AttributeSet? = null,
+    defStyleAttr: Int = 0
+) : View(context, attrs, defStyleAttr) {
+
+    companion object {
+        // Spin speed while waiting for the result, in degrees per millisecond
+        private const val SPIN_SPEED = 0.72f
+        private const val MIN_SETTLE_TURNS = 3
+        private const val FREE_SPIN_PERIOD_MS = 60_000L
+    }
+
+    /** Whether to draw the fixed pointer at the top; off when the layout provides one */
+    var showPointer = true
+        set(value) {
+            field = value
+            invalidate()
+        }
+
+    private var segments: List<String> = emptyList()
+    private var wheelBitmap: Bitmap? = null
+    private var wheelRotation = 0f
+
+    private val palette = intArrayOf(
+        ContextCompat.getColor(context, R.color.primary),
+        ContextCompat.getColor(context, R.color.gradient_start),
+        ContextCompat.getColor(context, R.color.accent),
+        ContextCompat.getColor(context, R.color.gradient_end)
+    )
+    private val segmentPaint = Paint(Paint.ANTI_ALIAS_FLAG)
+    private val labelPaint = Paint(Paint.ANTI_ALIAS_FLAG).apply {
+        color = Color.WHITE
+        textAlign = Paint.Align.CENTER
+        isFakeBoldText = true
+    }
+    private val rimPaint = Paint(Paint.ANTI_ALIAS_FLAG).apply {
+        style = Paint.Style.STROKE
+        color = Color.WHITE
+    }
+    private val bitmapPaint = Paint(Paint.FILTER_BITMAP_FLAG)
+    private val pointerPaint = Paint(Paint.ANTI_ALIAS_FLAG).apply {
+        color = ContextCompat.getColor(context, R.color.warning)
+    }
+    private val pointerPath = Path()
+
+    // Free spin: rotation = spinStartRotation + SPIN_SPEED * playTime
+    private var spinStartRotation = 0f
+    private val spinAnimator = ValueAnimator.ofFloat(0f, 1f).apply {
+        duration = FREE_SPIN_PERIOD_MS
+        repeatCount = ValueAnimator.INFINITE
+        interpolator = LinearInterpolator()
+        addUpdateListener { animation ->
+            wheelRotation = (spinStartRotation + SPIN_SPEED * animation.currentPlayTime) % 360f
+            invalidate()
+        }
+    }
+
+    // Settle: constant deceleration from SPIN_SPEED to rest, p(f) = 1 - (1 - f)^2
+    private var settleFrom = 0f
+    private var settleDistance = 0f
+    private var onLanded: (() -> Unit)? = null
+    private val settleAnimator = ValueAnimator.ofFloat(0f, 1f).apply {
+        interpolator = LinearInterpolator()
+        addUpdateListener { animation ->
+            val remaining = 1f - animation.animatedFraction
+            wheelRotation = settleFrom + settleDistance * (1f - remaining * remaining)
+            invalidate()
+        }
+        addListener(object : AnimatorListenerAdapter() {
+            override fun onAnimationEnd(animation: Animator) {
+                wheelRotation %= 360f
+                val callback = onLanded
+                onLanded = null
+                callback?.invoke()
+            }
+        })
+    }
+
+    val isSpinning: Boolean
+        get() = spinAnimator.isRunning || settleAnimator.isRunning
+
+    /**
+     * Segment labels, clockwise from the pointer. Rebuilds the cached wheel.
+     */
+    fun setSegments(labels: List<String>) {
+        if (labels == segments) return
+        segments = labels
+        buildWheel()
+        invalidate()
+    }
+
+    fun startSpinning() {
+        onLanded = null
+        settleAnimator.cancel()
+        spinStartRotation = wheelRotation
+        spinAnimator.start()
+    }
+
+    /**
+     * Decelerates so the centre of [segmentIndex] stops under the pointer, then calls [onEnd]
+     */
+    fun landOn(segmentIndex: Int, onEnd: () -> Unit) {
+        if (segments.isEmpty()) {
+            spinAnimator.cancel()
+            onEnd()
+            return
+        }
+        spinAnimator.cancel()
+
+        val sweep = 360f / segments.size
+        // A segment centred at angle c (clockwise from the top) is under the pointer when rotation == -c
+        val target = (360f - (segmentIndex + 0.5f) * sweep) % 360f
+        val distance = (target - wheelRotation % 360f + 360f) % 360f
+        settle(distance + MIN_SETTLE_TURNS * 360f, onEnd)
+    }
+
+    /**
+     * Slows to a stop wherever the wheel happens to be, for when there is no result to show
+     */
+    fun stopSpinning(onEnd: () -> Unit) {
+        if (!spinAnimator.isRunning) {
+            onEnd()
+            return
+        }
+        spinAnimator.cancel()
+        settle(360f, onEnd)
+    }
+
+    private fun settle(distance: Float, onEnd: () -> Unit) {
+        settleFrom = wheelRotation % 360f
+        settleDistance = distance
+        onLanded = onEnd
+        // Starting slope of 1 - (1 - f)^2 is 2, so this keeps the free-spin speed seamless
+        settleAnimator.duration = (2 * distance / SPIN_SPEED).toLong()
+        settleAnimator.start()
+    }
+
+    /** Jumps back to the resting position without animating */
+    fun reset() {
+        // Cleared first: cancel() runs onAnimationEnd
+        onLanded = null
+        spinAnimator.cancel()
+        settleAnimator.cancel()
+        wheelRotation = 0f
+        invalidate()
+    }
+
+    override fun onSizeChanged(w: Int, h: Int, oldw: Int, oldh: Int) {
+        super.onSizeChanged(w, h, oldw, oldh)
+        buildWheel()
+
+        val size = min(w, h).toFloat()
+        val cx = w / 2f
+        val top = (h - size) / 2f
+        val half = size * 0.05f
+        pointerPath.reset()
+        pointerPath.moveTo(cx - half, top)
+        pointerPath.lineTo(cx + half, top)
+        pointerPath.lineTo(cx, top + half * 2.4f)
+        pointerPath.close()
+    }
+
+    override fun onDetachedFromWindow() {
+        super.onDetachedFromWindow()
+        onLanded = null
+        spinAnimator.cancel()
+        settleAnimator.cancel()
+    }
+
+    private fun buildWheel() {
+        wheelBitmap?.recycle()
+        wheelBitmap = null
+        if (width == 0 || height == 0 || segments.isEmpty()) return
+
+        val size = min(width, height)
+        val bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888)
+        val canvas = Canvas(bitmap)
+        val radius = size / 2f
+        val rimWidth = size * 0.02f
+        val bounds = RectF(rimWidth, rimWidth, size - rimWidth, size - rimWidth)
+        val sweep = 360f / segments.size
+
+        labelPaint.textSize = size * 0.06f
+        rimPaint.strokeWidth = rimWidth
+        for (i in segments.indices) {
+            // Canvas angles start at 3 o'clock; segment 0 starts at the pointer (12 o'clock)
+            val start = -90f + i * sweep
+            segmentPaint.color = palette[i % palette.size]
+            canvas.drawArc(bounds, start, sweep, true, segmentPaint)
+
+            canvas.save()
+            canvas.rotate(start + sweep / 2 + 90f, radius, radius)
+            canvas.drawText(segments[i], radius, size * 0.2f, labelPaint)
+            canvas.restore()
+        }
+        canvas.drawCircle(radius, radius, radius - rimWidth / 2, rimPaint)
+        wheelBitmap = bitmap
+    }
+
+    override fun onDraw(canvas: Canvas) {
+        super.onDraw(canvas)
+        val bitmap = wheelBitmap ?: return
+        val left = (width - bitmap.width) / 2f
+        val top = (height - bitmap.height) / 2f
+
+        canvas.save()
+        canvas.rotate(wheelRotation, width / 2f, height / 2f)
+        canvas.drawBitmap(bitmap, left, top, bitmapPaint)
+        canvas.restore()
+
+        if (showPointer) canvas.drawPath(pointerPath, pointerPaint)
+    }
+}
@@ -0,0 +1,66 @@
+package com.earnzy.app.managers
+
+import androidx.metrics.performance.StateInfo
+import org.junit.Assert.assertEquals
+import org.junit.Test
+
+class FrameMonitorTest {
+
+    @Test
+    fun percentilesPickTheBucketAtTheRank() {
+        val histogram = FrameMonitor.Histogram()
+        // One frame each of 1..100 ms, added out of order
+        for (ms in (1..100).shuffled(java.util.Random(7))) histogram.add(ms, isJank = ms > 16)
+
+        assertEquals(100, histogram.frames)
+        assertEquals(84, histogram.jankFrames)
+        assertEquals(50, histogram.percentile(0.50))
+        assertEquals(90, histogram.percentile(0.90))
+        assertEquals(99, histogram.percentile(0.99))
+    }
+
+    @Test
+    fun percentilesOfRepeatedDurations() {
+        val histogram = FrameMonitor.Histogram()
+        repeat(90) { histogram.add(8, isJank = false) }
+        repeat(10) { histogram.add(40, isJank = true) }
+
+        // Rank 89 of 0..99 is still the last 8 ms frame
+        assertEquals(8, histogram.percentile(0.50))
+        assertEquals(8, histogram.percentile(0.90))
+        assertEquals(40, histogram.percentile(0.95))
+        assertEquals(40, histogram.percentile(0.99))
+    }
+
+    @Test
+    fun outOfRangeDurationsLandInTheEdgeBuckets() {
+        val histogram = FrameMonitor.Histogram()
+        histogram.add(-3, isJank = false)
+        histogram.add(5_000, isJank = true)
+
+        assertEquals(0, histogram.percentile(0.0))
+        assertEquals(FrameMonitor.MAX_FRAME_MS, histogram.percentile(1.0))
+    }
+
+    @Test
+    fun attributionIsTheScreenAloneForPlainFrames() {
+        assertEquals("unknown", FrameMonitor.attribution(emptyList()))
+        assertEquals("home", FrameMonitor.attribution(listOf(StateInfo("screen", "home"))))
+    }
+
+    @Test
+    fun attributionAppendsOtherStatesSortedByKey() {
+        val states = listOf(
+            StateInfo("pager", "settling"),
+            StateInfo("screen", "home"),
+            StateInfo("offers", "scrolling")
+        )
+
+        assertEquals("home offers=scrolling pager=settling", FrameMonitor.attribution(states))
+    }
+
+    @Test
+    fun attributionWithoutAScreenState() {
+        assertEquals("unknown pager=dragging", FrameMonitor.attribution(listOf(StateInfo("pager", "dragging"))))
+    }
+}
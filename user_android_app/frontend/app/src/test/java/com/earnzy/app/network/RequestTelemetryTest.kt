@@ -0,0 +1,114 @@
+package com.earnzy.app.network
+
+import android.content.ContextWrapper
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import kotlin.coroutines.CoroutineContext
+
+class RequestTelemetryTest {
+
+    private val scopes = ArrayList<CoroutineScope>()
+
+    @After
+    fun tearDown() {
+        scopes.forEach { it.cancel() }
+    }
+
+    /** Flushes run inline on the recording thread, so a batch flush is done when record returns */
+    private fun inlineTelemetry(): RequestTelemetry = telemetry(Dispatchers.Unconfined)
+
+    private fun telemetry(dispatcher: CoroutineDispatcher): RequestTelemetry {
+        val scope = CoroutineScope(SupervisorJob() + dispatcher).also { scopes.add(it) }
+        return RequestTelemetry(ContextWrapper(null), scope)
+    }
+
+    @Test
+    fun drainStopsAtAClaimedSlotThatIsNotStoredYet() {
+        val telemetry = inlineTelemetry()
+        telemetry.record(event(0))
+        val slow = telemetry.claim()
+        telemetry.record(event(2))
+
+        assertEquals(listOf(0L), telemetry.drain().map { it.totalMs })
+
+        // The late write is picked up by the next drain together with what came after it
+        telemetry.store(slow, event(1))
+        assertEquals(listOf(1L, 2L), telemetry.drain().map { it.totalMs })
+        assertTrue(telemetry.drain().isEmpty())
+    }
+
+    @Test
+    fun wrapAroundKeepsOnlyTheLastLap() {
+        // The batch flush is queued but never run, so the buffer fills past one lap
+        val telemetry = telemetry(HeldDispatcher())
+        val overwritten = 10
+        repeat(RequestTelemetry.CAPACITY + overwritten) { telemetry.record(event(it.toLong())) }
+
+        val batch = telemetry.drain()
+
+        assertEquals(RequestTelemetry.CAPACITY, batch.size)
+        assertEquals(overwritten.toLong(), batch.first().totalMs)
+        assertEquals((RequestTelemetry.CAPACITY + overwritten - 1).toLong(), batch.last().totalMs)
+        assertEquals(batch.map { it.totalMs }.sorted(), batch.map { it.totalMs })
+        assertTrue(telemetry.drain().isEmpty())
+    }
+
+    @Test
+    fun batchFlushStartsAtBatchSize() {
+        val telemetry = inlineTelemetry()
+        repeat(RequestTelemetry.BATCH_SIZE - 1) { telemetry.record(event(it.toLong())) }
+        assertTrue(telemetry.summaries.value.isEmpty())
+
+        telemetry.record(event(99))
+
+        val summary = telemetry.summaries.value.single()
+        assertEquals("claim", summary.action)
+        assertEquals(RequestTelemetry.BATCH_SIZE, summary.count)
+        assertTrue(telemetry.drain().isEmpty())
+    }
+
+    @Test
+    fun batchFlushRetriesWhileAnUnstoredSlotHoldsTheTail() {
+        val telemetry = inlineTelemetry()
+        val slow = telemetry.claim()
+        // Reaches BATCH_SIZE pending, but the drain stops at the empty first slot
+        repeat(RequestTelemetry.BATCH_SIZE - 1) { telemetry.record(event(it.toLong())) }
+        assertTrue(telemetry.summaries.value.isEmpty())
+
+        // Past BATCH_SIZE now; an exact == check would never fire again
+        telemetry.store(slow, event(-1))
+        telemetry.record(event(100))
+
+        assertEquals(RequestTelemetry.BATCH_SIZE + 1, telemetry.summaries.value.single().count)
+        assertTrue(telemetry.drain().isEmpty())
+    }
+
+    private fun event(totalMs: Long) = RequestTelemetry.Event(
+        action = "claim",
+        totalMs = totalMs,
+        encryptMs = 1,
+        connectMs = 2,
+        ttfbMs = 3,
+        bodyMs = 4,
+        requestBytes = 100,
+        responseBytes = 200,
+        httpCode = 200,
+        errorClass = null,
+        retries = 0
+    )
+
+    private class HeldDispatcher : CoroutineDispatcher() {
+        private val tasks = ArrayList<Runnable>()
+
+        override fun dispatch(context: CoroutineContext, block: Runnable) {
+            tasks.add(block)
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.earnzy.app.network
+
+import com.earnzy.app.models.ChatMessage
+import okhttp3.OkHttpClient
+import okhttp3.Response
+import okhttp3.WebSocket
+import okhttp3.WebSocketListener
+import okhttp3.mockwebserver.MockResponse
+import okhttp3.mockwebserver.MockWebServer
+import org.json.JSONObject
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Assert.fail
+import org.junit.Before
+import org.junit.Test
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+class SupportChatChannelTest {
+
+    private lateinit var server: MockWebServer
+    private lateinit var transport: FakeTransport
+    private val history = FakeHistory()
+    private val serverSide = ServerSide()
+    private var channel: SupportChatChannel? = null
+
+    @Before
+    fun setUp() {
+        server = MockWebServer()
+        server.start()
+        transport = FakeTransport(server.url("/support/stream").toString())
+    }
+
+    @After
+    fun tearDown() {
+        channel?.close()
+        server.shutdown()
+    }
+
+    private fun newChannel(): SupportChatChannel =
+        SupportChatChannel(UID, transport, history, OkHttpClient()).also { channel = it }
+
+    @Test
+    fun helloIsSealedAndResumesFromTheLastStoredSeq() {
+        history.insert(UID, ChatMessage("earlier", false, 1_000L, seq = 41))
+        server.enqueue(MockResponse().withWebSocketUpgrade(serverSide))
+        val channel = newChannel()
+
+        channel.connect()
+        val frame = serverSide.nextFrame()
+
+        assertTrue("hello went out unsealed: $frame", frame.startsWith(SEALED))
+        val hello = unseal(frame)
+        assertEquals("hello", hello.getString("type"))
+        assertEquals(TOKEN, hello.getString("idToken"))
+        assertEquals(41L, hello.getLong("sinceSeq"))
+        assertEquals("test", hello.getString("appVersion"))
+        awaitUntil("connected") { channel.connectionState.value == ChatConnectionState.CONNECTED }
+    }
+
+    @Test
+    fun ackReplacesThePendingMessageWithTheSameClientId() {
+        server.enqueue(MockResponse().withWebSocketUpgrade(serverSide))
+        val channel = newChannel()
+        channel.connect()
+        serverSide.nextFrame() // hello
+        awaitUntil("connected") { channel.connectionState.value == ChatConnectionState.CONNECTED }
+
+        channel.send("where are my coins?")
+        val pending = channel.messages.value.single()
+        assertEquals(0L, pending.seq)
+
+        val sent = unseal(serverSide.nextFrame())
+        assertEquals("send", sent.getString("type"))
+        assertEquals(pending.clientId, sent.getString("clientId"))
+        assertEquals("where are my coins?", sent.getString("text"))
+
+        val socket = serverSide.socket()
+        // An ack for something this client never sent is ignored
+        socket.send(ack("someone-else", seq = 99, timestamp = 1_500L))
+        socket.send(ack(pending.clientId!!, seq = 42, timestamp = 2_000L))
+
+        awaitUntil("ack applied") { channel.messages.value.any { it.seq == 42L } }
+        val acked = channel.messages.value.single()
+        assertEquals(pending.clientId, acked.clientId)
+        assertEquals("where are my coins?", acked.text)
+        assertEquals(2_000L, acked.timestamp)
+        awaitUntil("ack stored") { history.seqs(UID) == listOf(42L) }
+    }
+
+    @Test
+    fun reconnectBacksOffAndStartsOverAfterAnOpen() {
+        server.enqueue(MockResponse().setResponseCode(503))
+        server.enqueue(MockResponse().setResponseCode(503))
+        server.enqueue(MockResponse().withWebSocketUpgrade(serverSide))
+        val channel = newChannel()
+
+        channel.connect()
+        assertEquals(1, transport.nextReconnectAttempt())
+        assertEquals(2, transport.nextReconnectAttempt())
+        assertEquals("hello", unseal(serverSide.nextFrame()).getString("type"))
+        awaitUntil("connected") { channel.connectionState.value == ChatConnectionState.CONNECTED }
+
+        server.enqueue(MockResponse().withWebSocketUpgrade(serverSide))
+        serverSide.socket().cancel()
+
+        assertEquals(1, transport.nextReconnectAttempt())
+        assertEquals("hello", unseal(serverSide.nextFrame()).getString("type"))
+        assertEquals(4, server.requestCount)
+    }
+
+    @Test
+    fun sendFallsBackToHttpWhileTheSocketIsDown() {
+        transport.httpResponse = { _ ->
+            JSONObject().put("status", "success").put("seq", 7L).put("timestamp", 500L)
+        }
+        val channel = newChannel()
+
+        channel.send("offline hello")
+        val (text, clientId) = transport.nextHttpSend()
+
+        assertEquals("offline hello", text)
+        awaitUntil("http ack applied") { channel.messages.value.any { it.seq == 7L } }
+        val acked = channel.messages.value.single()
+        assertEquals(clientId, acked.clientId)
+        assertEquals(500L, acked.timestamp)
+        assertEquals(0, server.requestCount)
+    }
+
+    private fun unseal(frame: String): JSONObject {
+        assertTrue("frame is not sealed: $frame", frame.startsWith(SEALED))
+        return JSONObject(frame.removePrefix(SEALED))
+    }
+
+    private fun ack(clientId: String, seq: Long, timestamp: Long): String =
+        JSONObject()
+            .put("type", "ack")
+            .put("clientId", clientId)
+            .put("seq", seq)
+            .put("timestamp", timestamp)
+            .toString()
+
+    private fun awaitUntil(what: String, condition: () -> Boolean) {
+        val deadline = System.currentTimeMillis() + TIMEOUT_MS
+        while (!condition()) {
+            if (System.currentTimeMillis() > deadline) fail("Timed out waiting for $what")
+            Thread.sleep(10)
+        }
+    }
+
+    /** Marks sealed frames with a prefix so the test can tell them apart and read them back */
+    private class FakeTransport(override val streamUrl: String) : SupportChatChannel.Transport {
+        private val reconnectAttempts = LinkedBlockingQueue<Int>()
+        private val httpSends = LinkedBlockingQueue<Pair<String, String>>()
+        var httpResponse: (clientId: String) -> JSONObject = { JSONObject().put("status", "error") }
+
+        override fun seal(frame: String) = SEALED + frame
+
+        override suspend fun idToken() = TOKEN
+
+        override fun writeContext(frame: JSONObject) {
+            frame.put("appVersion", "test")
+        }
+
+        override suspend fun sendOverHttp(text: String, clientId: String): JSONObject {
+            httpSends.add(text to clientId)
+            return httpResponse(clientId)
+        }
+
+        override fun reconnectDelayMs(attempt: Int): Long {
+            reconnectAttempts.add(attempt)
+            return 10
+        }
+
+        fun nextReconnectAttempt(): Int =
+            reconnectAttempts.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS) ?: throw AssertionError("No reconnect scheduled")
+
+        fun nextHttpSend(): Pair<String, String> =
+            httpSends.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS) ?: throw AssertionError("Nothing sent over HTTP")
+    }
+
+    private class ServerSide : WebSocketListener() {
+        private val frames = LinkedBlockingQueue<String>()
+        @Volatile
+        private var current: WebSocket? = null
+
+        override fun onOpen(webSocket: WebSocket, response: Response) {
+            current = webSocket
+        }
+
+        override fun onMessage(webSocket: WebSocket, text: String) {
+            frames.add(text)
+        }
+
+        fun nextFrame(): String =
+            frames.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS) ?: throw AssertionError("No frame from the client")
+
+        // The socket that delivered the latest frame
+        fun socket(): WebSocket = current ?: throw AssertionError("No client connected")
+    }
+
+    private class FakeHistory : ChatHistory {
+        private val rows = ArrayList<Pair<String, ChatMessage>>()
+
+        @Synchronized
+        override fun insert(uid: String, message: ChatMessage) {
+            rows.removeAll { it.first == uid && it.second.seq == message.seq }
+            rows.add(uid to message)
+        }
+
+        @Synchronized
+        override fun lastSeq(uid: String): Long =
+            rows.filter { it.first == uid }.maxOfOrNull { it.second.seq } ?: 0L
+
+        @Synchronized
+        override fun pageBefore(uid: String, beforeSeq: Long, limit: Int): List<ChatMessage> =
+            rows.filter { it.first == uid && it.second.seq < beforeSeq }
+                .map { it.second }
+                .sortedBy { it.seq }
+                .takeLast(limit)
+
+        @Synchronized
+        override fun clear() {
+            rows.clear()
+        }
+
+        @Synchronized
+        fun seqs(uid: String): List<Long> = rows.filter { it.first == uid }.map { it.second.seq }.sorted()
+    }
+
+    companion object {
+        private const val UID = "user-1"
+        private const val TOKEN = "id-token"
+        private const val SEALED = "sealed:"
+        private const val TIMEOUT_MS = 5_000L
+    }
+}
@@ -0,0 +1,149 @@
+package com.earnzy.app
+
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.io.File
+import java.io.FileInputStream
+import java.io.FileOutputStream
+import java.security.MessageDigest
+import kotlin.random.Random
+
+/**
+ * Copy and move throughput for 1 MB and 100 MB files: the channel based FileUtil
+ * against the 1 KB stream loop it replaced (copied below). Run with
+ * ./gradlew :app:testDebugUnitTest --tests '*FileUtilBenchmark*' -i
+ * to see the numbers; only the copied bytes are asserted, timings vary by machine.
+ */
+class FileUtilBenchmark {
+
+    @get:Rule
+    val temp = TemporaryFolder()
+
+    @Test
+    fun copyOneMegabyte() = compareCopy(1 * MB, iterations = 20)
+
+    @Test
+    fun copyHundredMegabytes() = compareCopy(100 * MB, iterations = 5)
+
+    @Test
+    fun moveOneMegabyte() = compareMove(1 * MB, iterations = 20)
+
+    @Test
+    fun moveHundredMegabytes() = compareMove(100 * MB, iterations = 5)
+
+    private fun compareCopy(size: Int, iterations: Int) {
+        val source = sourceFile(size)
+        val legacyDest = File(temp.root, "legacy.bin").path
+        val channelDest = File(temp.root, "channel.bin").path
+
+        val legacy = measure(iterations) { Legacy.copyFile(source.path, legacyDest) }
+        val channel = measure(iterations) {
+            assertTrue(FileUtil.copyFile(source.path, channelDest, null, null))
+        }
+
+        assertArrayEquals(digest(source), digest(File(legacyDest)))
+        assertArrayEquals(digest(source), digest(File(channelDest)))
+        report("copy", size, iterations, legacy, channel)
+    }
+
+    private fun compareMove(size: Int, iterations: Int) {
+        val expected = digest(sourceFile(size))
+        val a = File(temp.root, "source.bin").path
+        val b = File(temp.root, "moved.bin").path
+
+        // Each run moves the file back to where the previous one took it from
+        var forward = true
+        val legacy = measure(iterations) {
+            if (forward) Legacy.moveFile(a, b) else Legacy.moveFile(b, a)
+            forward = !forward
+        }
+        val channel = measure(iterations) {
+            assertTrue(if (forward) FileUtil.moveFile(a, b, null, null) else FileUtil.moveFile(b, a, null, null))
+            forward = !forward
+        }
+
+        val (present, gone) = if (forward) a to b else b to a
+        assertFalse(File(gone).exists())
+        assertArrayEquals(expected, digest(File(present)))
+        report("move", size, iterations, legacy, channel)
+    }
+
+    private fun sourceFile(size: Int): File {
+        val file = File(temp.root, "source.bin")
+        val chunk = Random(size).nextBytes(MB)
+        FileOutputStream(file).use { out ->
+            var written = 0
+            while (written < size) {
+                val n = minOf(chunk.size, size - written)
+                out.write(chunk, 0, n)
+                written += n
+            }
+        }
+        assertEquals(size.toLong(), file.length())
+        return file
+    }
+
+    private fun digest(file: File): ByteArray {
+        val sha = MessageDigest.getInstance("SHA-256")
+        FileInputStream(file).use { input ->
+            val buffer = ByteArray(64 * 1024)
+            while (true) {
+                val n = input.read(buffer)
+                if (n < 0) break
+                sha.update(buffer, 0, n)
+            }
+        }
+        return sha.digest()
+    }
+
+    private fun measure(iterations: Int, run: () -> Unit): Double {
+        repeat(WARMUP) { run() }
+
+        val times = DoubleArray(iterations)
+        for (i in 0 until iterations) {
+            val start = System.nanoTime()
+            run()
+            times[i] = (System.nanoTime() - start) / 1_000_000.0
+        }
+        times.sort()
+        return times[iterations / 2]
+    }
+
+    private fun report(what: String, size: Int, iterations: Int, legacyMs: Double, channelMs: Double) {
+        val megabytes = size.toDouble() / MB
+        println("$what ${size / MB} MB, median of $iterations runs")
+        println("stream loop: $legacyMs ms, ${"%.1f".format(megabytes * 1000 / legacyMs)} MB/s")
+        println("FileUtil:    $channelMs ms, ${"%.1f".format(megabytes * 1000 / channelMs)} MB/s")
+    }
+
+    /** copyFile and moveFile as they were before the channel based versions */
+    private object Legacy {
+        fun copyFile(sourcePath: String, destPath: String) {
+            FileInputStream(sourcePath).use { fis ->
+                FileOutputStream(destPath, false).use { fos ->
+                    val buff = ByteArray(1024)
+                    while (true) {
+                        val length = fis.read(buff)
+                        if (length <= 0) break
+                        fos.write(buff, 0, length)
+                    }
+                }
+            }
+        }
+
+        fun moveFile(sourcePath: String, destPath: String) {
+            copyFile(sourcePath, destPath)
+            File(sourcePath).delete()
+        }
+    }
+
+    companion object {
+        private const val MB = 1024 * 1024
+        private const val WARMUP = 2
+    }
+}